@@ -1,5 +1,6 @@
 package banking.core.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.Customizer;
@@ -8,15 +9,25 @@ import org.springframework.security.config.annotation.web.configurers.AbstractHt
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.web.SecurityFilterChain;
 
+/**
+ * Every request needs a valid JWT. Actuator endpoints other than health and the {@code /ops} surface additionally
+ * require the operations authority ({@code banking.security.ops-authority}, a {@code SCOPE_} authority taken from the
+ * token's scope claim), so customer tokens cannot read metrics or outbox state or tune accounts.
+ */
 @Configuration
 public class SecurityConfig {
+    @Value("${banking.security.ops-authority:SCOPE_banking.ops}")
+    private String opsAuthority;
+
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
         http.csrf(AbstractHttpConfigurer::disable)
                 .sessionManagement(session ->
                         session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
-                .authorizeHttpRequests(auth ->
-                        auth.anyRequest().authenticated())
+                .authorizeHttpRequests(auth -> auth
+                        .requestMatchers("/actuator/health", "/actuator/health/**").authenticated()
+                        .requestMatchers("/actuator/**", "/ops/**").hasAuthority(opsAuthority)
+                        .anyRequest().authenticated())
                 .oauth2ResourceServer(oauth -> oauth.jwt(Customizer.withDefaults()));
         return http.build();
     }
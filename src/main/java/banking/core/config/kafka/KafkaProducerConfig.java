@@ -2,6 +2,7 @@ package banking.core.config.kafka;
 
 import lombok.Setter;
 import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
 import org.apache.kafka.common.serialization.StringSerializer;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
@@ -12,6 +13,7 @@ import org.springframework.kafka.core.ProducerFactory;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.UUID;
 
 @Setter
 @Configuration
@@ -19,25 +21,49 @@ public class KafkaProducerConfig {
     @Value("${spring.kafka.bootstrap-servers}")
     private String bootstrap;
 
+    @Value("${banking.kafka.producer.batch-size:65536}")
+    private int batchSize;
+
+    @Value("${banking.kafka.producer.linger-ms:5}")
+    private int lingerMs;
+
+    @Value("${banking.kafka.producer.compression-type:lz4}")
+    private String compressionType;
+
+    @Value("${banking.kafka.producer.transactional:false}")
+    private boolean transactional;
+
+    @Value("${banking.kafka.producer.transaction-id-prefix:core-outbox-}")
+    private String transactionIdPrefix;
+
     private Map<String, Object> baseConfig() {
         Map<String, Object> configs = new HashMap<>();
         configs.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrap);
         configs.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
-        configs.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+        configs.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, ByteArraySerializer.class);
         return configs;
     }
 
     @Bean
-    public ProducerFactory<String, String> producerFactory() {
+    public ProducerFactory<String, byte[]> producerFactory() {
         Map<String, Object> configs = baseConfig();
         configs.put(ProducerConfig.ACKS_CONFIG, "all");
         configs.put(ProducerConfig.RETRIES_CONFIG, 3);
         configs.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true);
-        return new DefaultKafkaProducerFactory<>(configs);
+        configs.put(ProducerConfig.BATCH_SIZE_CONFIG, batchSize);
+        configs.put(ProducerConfig.LINGER_MS_CONFIG, lingerMs);
+        configs.put(ProducerConfig.COMPRESSION_TYPE_CONFIG, compressionType);
+
+        DefaultKafkaProducerFactory<String, byte[]> factory = new DefaultKafkaProducerFactory<>(configs);
+        if (transactional) {
+            // transactional.id must be unique per instance, otherwise instances fence each other's producers
+            factory.setTransactionIdPrefix(transactionIdPrefix + UUID.randomUUID() + "-");
+        }
+        return factory;
     }
 
     @Bean
-    public KafkaTemplate<String, String> kafkaTemplate(final ProducerFactory<String, String> producerFactory) {
+    public KafkaTemplate<String, byte[]> kafkaTemplate(final ProducerFactory<String, byte[]> producerFactory) {
         return new KafkaTemplate<>(producerFactory);
     }
 }
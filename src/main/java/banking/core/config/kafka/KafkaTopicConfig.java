@@ -2,6 +2,8 @@ package banking.core.config.kafka;
 
 import lombok.Getter;
 import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.admin.AdminClient;
 import org.apache.kafka.clients.admin.AdminClientConfig;
 import org.apache.kafka.clients.admin.NewTopic;
 import org.springframework.beans.factory.annotation.Value;
@@ -14,7 +16,19 @@ import org.springframework.kafka.core.KafkaAdmin;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
 
+/**
+ * Topics of the service. {@code default-partitions} applies only to topics that do not exist yet: an existing topic
+ * keeps its partition count, because adding partitions remaps every key and breaks per-aggregate ordering while
+ * old and new partitions are both being consumed. A topic is grown only when its {@code partitions} is set
+ * explicitly, as the last step of a drain-and-switch migration (see README).
+ */
+@Slf4j
 @Setter
 @Getter
 @Configuration
@@ -25,6 +39,8 @@ public class KafkaTopicConfig {
 
     private List<TopicConfig> topics;
 
+    private int defaultPartitions = 1;
+
     @Bean
     public KafkaAdmin kafkaAdmin() {
         Map<String, Object> configs = new HashMap<>();
@@ -36,19 +52,45 @@ public class KafkaTopicConfig {
     }
 
     @Bean
-    public List<NewTopic> createTopic() {
+    public List<NewTopic> createTopic(KafkaAdmin kafkaAdmin) {
+        Map<String, Integer> existing = existingPartitions(kafkaAdmin);
         return topics.stream().map(topic -> TopicBuilder.name(topic.getName())
                         .replicas(topic.getReplicationFactor())
-                        .partitions(topic.getPartitions())
+                        .partitions(partitions(topic, existing))
                         .build())
                 .toList();
     }
 
+    private int partitions(TopicConfig topic, Map<String, Integer> existing) {
+        if (topic.getPartitions() != null) {
+            return topic.getPartitions();
+        }
+        return existing.getOrDefault(topic.getName(), defaultPartitions);
+    }
+
+    private Map<String, Integer> existingPartitions(KafkaAdmin kafkaAdmin) {
+        Set<String> names = topics.stream().map(TopicConfig::getName).collect(Collectors.toSet());
+        try (AdminClient admin = AdminClient.create(kafkaAdmin.getConfigurationProperties())) {
+            Set<String> present = admin.listTopics().names().get(10, TimeUnit.SECONDS).stream()
+                    .filter(names::contains)
+                    .collect(Collectors.toSet());
+            return admin.describeTopics(present).allTopicNames().get(10, TimeUnit.SECONDS).values().stream()
+                    .collect(Collectors.toMap(d -> d.name(), d -> d.partitions().size()));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return Map.of();
+        } catch (ExecutionException | TimeoutException e) {
+            // KafkaAdmin cannot reach the broker either, so nothing will be created or grown on this start
+            log.warn("Could not read existing topics, err={}", e.getMessage());
+            return Map.of();
+        }
+    }
+
     @Getter
     @Setter
     public static class TopicConfig {
         private String name;
-        private int partitions;
+        private Integer partitions;
         private short replicationFactor;
     }
 }
@@ -7,6 +7,7 @@ import banking.core.dto.responses.BalanceResponse;
 import banking.core.dto.responses.BankAccountResponse;
 import banking.core.dto.responses.TransferResponse;
 import banking.core.service.BankAccountService;
+import banking.core.service.idempotency.IdempotencyService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
@@ -22,6 +23,7 @@ import java.util.UUID;
 @RequestMapping("/accounts")
 public class BankAccountController {
     private final BankAccountService bankAccountService;
+    private final IdempotencyService idempotencyService;
 
     @PostMapping
     public ResponseEntity<BankAccountResponse> create(@AuthenticationPrincipal Jwt jwt,
@@ -70,18 +72,26 @@ public class BankAccountController {
     @PostMapping("/{id}/deposit")
     public ResponseEntity<TransferResponse> deposit(@AuthenticationPrincipal Jwt jwt,
                                                     @PathVariable("id") UUID accountId,
+                                                    @RequestHeader(value = "Idempotency-Key", required = false)
+                                                    String idempotencyKey,
                                                     @Valid @RequestBody BalanceOperationRequest request) {
         var userId = UUID.fromString(jwt.getSubject());
-        var result = bankAccountService.deposit(userId, accountId, request);
+        var result = idempotencyService.execute(userId, idempotencyKey, "DEPOSIT",
+                List.of(accountId, request.getAmount()),
+                () -> bankAccountService.deposit(userId, accountId, request));
         return ResponseEntity.ok(result);
     }
 
     @PostMapping("/{id}/withdraw")
     public ResponseEntity<TransferResponse> withdraw(@AuthenticationPrincipal Jwt jwt,
                                                      @PathVariable("id") UUID accountId,
+                                                     @RequestHeader(value = "Idempotency-Key", required = false)
+                                                     String idempotencyKey,
                                                      @Valid @RequestBody BalanceOperationRequest request) {
         var userId = UUID.fromString(jwt.getSubject());
-        var result = bankAccountService.withdraw(userId, accountId, request);
+        var result = idempotencyService.execute(userId, idempotencyKey, "WITHDRAW",
+                List.of(accountId, request.getAmount()),
+                () -> bankAccountService.withdraw(userId, accountId, request));
         return ResponseEntity.ok(result);
     }
 }
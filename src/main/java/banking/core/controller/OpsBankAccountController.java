@@ -0,0 +1,28 @@
+package banking.core.controller;
+
+import banking.core.dto.requests.UpdateBalanceStripesRequest;
+import banking.core.dto.responses.BankAccountResponse;
+import banking.core.service.BankAccountService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.UUID;
+
+/**
+ * Operations surface for account tuning. Requires the operations authority (see {@code SecurityConfig}); account
+ * owners cannot reach it.
+ */
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/ops/accounts")
+public class OpsBankAccountController {
+    private final BankAccountService bankAccountService;
+
+    @PatchMapping("/{id}/stripes")
+    public ResponseEntity<BankAccountResponse> updateBalanceStripes(@PathVariable("id") UUID accountId,
+                                                                    @Valid @RequestBody UpdateBalanceStripesRequest request) {
+        return ResponseEntity.ok(bankAccountService.updateBalanceStripes(accountId, request));
+    }
+}
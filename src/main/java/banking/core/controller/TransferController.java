@@ -1,18 +1,30 @@
 package banking.core.controller;
 
+import banking.core.dto.requests.BatchTransferRequest;
 import banking.core.dto.requests.TransferRequest;
+import banking.core.dto.responses.AsyncTransferResponse;
+import banking.core.dto.responses.BatchTransferResponse;
 import banking.core.dto.responses.TransferResponse;
+import banking.core.service.AsyncTransferService;
+import banking.core.service.BatchTransferService;
 import banking.core.service.TransferService;
+import banking.core.service.idempotency.IdempotencyService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.UUID;
 
 @RestController
@@ -20,12 +32,55 @@ import java.util.UUID;
 @RequestMapping("/transfers")
 public class TransferController {
     private final TransferService transferService;
+    private final BatchTransferService batchTransferService;
+    private final IdempotencyService idempotencyService;
+    private final AsyncTransferService asyncTransferService;
 
     @PostMapping
     public ResponseEntity<TransferResponse> transfer(@AuthenticationPrincipal Jwt jwt,
+                                                     @RequestHeader(value = "Idempotency-Key", required = false)
+                                                     String idempotencyKey,
                                                      @Valid @RequestBody TransferRequest request) {
         var userId = UUID.fromString(jwt.getSubject());
-        var result = transferService.transfer(userId, request);
+        var result = idempotencyService.execute(userId, idempotencyKey, "TRANSFER",
+                List.of(request.getFromAccountId(), request.getToAccountId(), request.getAmount()),
+                () -> transferService.transfer(userId, request));
         return ResponseEntity.ok(result);
     }
+
+    @PostMapping("/batch")
+    public ResponseEntity<BatchTransferResponse> transferBatch(@AuthenticationPrincipal Jwt jwt,
+                                                               @RequestHeader(value = "Idempotency-Key", required = false)
+                                                               String idempotencyKey,
+                                                               @Valid @RequestBody BatchTransferRequest request) {
+        var userId = UUID.fromString(jwt.getSubject());
+        List<Object> fingerprint = new ArrayList<>();
+        fingerprint.add(request.getMode());
+        for (TransferRequest transfer : request.getTransfers()) {
+            fingerprint.addAll(Arrays.asList(transfer.getFromAccountId(), transfer.getToAccountId(),
+                    transfer.getAmount()));
+        }
+        var result = idempotencyService.execute(userId, idempotencyKey, "TRANSFER_BATCH", fingerprint,
+                BatchTransferResponse.class, () -> batchTransferService.transferBatch(userId, request));
+        return ResponseEntity.ok(result);
+    }
+
+    @PostMapping("/async")
+    public ResponseEntity<AsyncTransferResponse> transferAsync(@AuthenticationPrincipal Jwt jwt,
+                                                               @RequestHeader(value = "Idempotency-Key", required = false)
+                                                               String idempotencyKey,
+                                                               @Valid @RequestBody TransferRequest request) {
+        var userId = UUID.fromString(jwt.getSubject());
+        var result = idempotencyService.execute(userId, idempotencyKey, "TRANSFER_ASYNC",
+                List.of(request.getFromAccountId(), request.getToAccountId(), request.getAmount()),
+                AsyncTransferResponse.class, () -> asyncTransferService.submit(userId, request));
+        return ResponseEntity.accepted().body(result);
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<AsyncTransferResponse> getTransfer(@AuthenticationPrincipal Jwt jwt,
+                                                             @PathVariable("id") UUID transferId) {
+        var userId = UUID.fromString(jwt.getSubject());
+        return ResponseEntity.ok(asyncTransferService.getStatus(userId, transferId));
+    }
 }
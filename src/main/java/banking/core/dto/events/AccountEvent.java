@@ -0,0 +1,13 @@
+package banking.core.dto.events;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+public record AccountEvent(UUID accountId,
+                           UUID userId,
+                           String accountNumber,
+                           String currency,
+                           String status,
+                           BigDecimal balance,
+                           String occurredAt) {
+}
@@ -0,0 +1,7 @@
+package banking.core.dto.events;
+
+/**
+ * Wire format of every outbox message: {@code {"eventType": ..., "data": {...}}}.
+ */
+public record OutboxEnvelope<T>(String eventType, T data) {
+}
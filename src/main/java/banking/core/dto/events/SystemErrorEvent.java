@@ -0,0 +1,12 @@
+package banking.core.dto.events;
+
+import java.util.UUID;
+
+public record SystemErrorEvent(UUID errorId,
+                               String service,
+                               String operation,
+                               String message,
+                               String exceptionClass,
+                               String exceptionMessage,
+                               String occurredAt) {
+}
@@ -0,0 +1,15 @@
+package banking.core.dto.events;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+public record TransactionEvent(UUID transactionId,
+                               UUID userId,
+                               String type,
+                               String status,
+                               UUID fromAccountId,
+                               UUID toAccountId,
+                               BigDecimal amount,
+                               String currency,
+                               String occurredAt) {
+}
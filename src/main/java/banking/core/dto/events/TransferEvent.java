@@ -0,0 +1,13 @@
+package banking.core.dto.events;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+public record TransferEvent(UUID transactionId,
+                            UUID userId,
+                            UUID fromAccountId,
+                            UUID toAccountId,
+                            BigDecimal amount,
+                            String currency,
+                            String occurredAt) {
+}
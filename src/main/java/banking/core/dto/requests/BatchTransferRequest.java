@@ -0,0 +1,25 @@
+package banking.core.dto.requests;
+
+import banking.core.model.enums.BatchTransferMode;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchTransferRequest {
+    @NotNull
+    private BatchTransferMode mode;
+
+    @NotEmpty
+    @Size(max = 1000)
+    private List<TransferRequest> transfers;
+}
@@ -0,0 +1,20 @@
+package banking.core.dto.requests;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class UpdateBalanceStripesRequest {
+    @NotNull
+    @Min(0)
+    @Max(64)
+    private Integer stripes;
+}
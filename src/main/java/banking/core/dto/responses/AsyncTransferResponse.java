@@ -0,0 +1,23 @@
+package banking.core.dto.responses;
+
+import banking.core.model.enums.AsyncTransferStatus;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class AsyncTransferResponse {
+    private UUID transferId;
+    private AsyncTransferStatus status;
+    private UUID transactionId;
+    private String error;
+    private LocalDateTime createdAt;
+    private LocalDateTime processedAt;
+}
@@ -16,5 +16,6 @@ import java.util.UUID;
 public class BalanceResponse {
     private UUID accountId;
     private BigDecimal balance;
+    private BigDecimal accruedInterest;
     private Currency currency;
 }
@@ -20,6 +20,7 @@ public class BankAccountResponse {
     private UUID userId;
     private String accountNumber;
     private BigDecimal balance;
+    private BigDecimal accruedInterest;
     private Currency currency;
     private AccountStatus status;
     private LocalDateTime createdAt;
@@ -0,0 +1,20 @@
+package banking.core.dto.responses;
+
+import banking.core.model.enums.BatchTransferItemStatus;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.UUID;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchTransferItemResponse {
+    private int index;
+    private BatchTransferItemStatus status;
+    private UUID transactionId;
+    private String error;
+}
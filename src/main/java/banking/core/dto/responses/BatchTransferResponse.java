@@ -0,0 +1,20 @@
+package banking.core.dto.responses;
+
+import banking.core.model.enums.BatchTransferMode;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchTransferResponse {
+    private BatchTransferMode mode;
+    private int completed;
+    private int failed;
+    private List<BatchTransferItemResponse> results;
+}
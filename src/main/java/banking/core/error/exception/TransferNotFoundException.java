@@ -0,0 +1,9 @@
+package banking.core.error.exception;
+
+import java.util.UUID;
+
+public class TransferNotFoundException extends RuntimeException {
+    public TransferNotFoundException(UUID transferId) {
+        super("Transfer not found: " + transferId);
+    }
+}
@@ -1,11 +1,14 @@
 package banking.core.error.handler;
 
 import banking.core.error.exception.BankAccountNotFoundException;
+import banking.core.error.exception.IdempotencyKeyMismatchException;
 import banking.core.error.exception.TransferBusinessException;
+import banking.core.error.exception.TransferNotFoundException;
 import banking.core.error.exception.ValidationException;
 import banking.core.service.publisher.SystemErrorPublisher;
 import jakarta.validation.ConstraintViolationException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.ConcurrencyFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
@@ -45,16 +48,33 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(buildBody(HttpStatus.NOT_FOUND, e.getMessage()));
     }
 
+    @ExceptionHandler(TransferNotFoundException.class)
+    public ResponseEntity<Map<String, Object>> handleTransferNotFound(TransferNotFoundException e) {
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(buildBody(HttpStatus.NOT_FOUND, e.getMessage()));
+    }
+
     @ExceptionHandler(TransferBusinessException.class)
     public ResponseEntity<Map<String, Object>> handleBusiness(TransferBusinessException e) {
         return ResponseEntity.status(HttpStatus.CONFLICT).body(buildBody(HttpStatus.CONFLICT, e.getMessage()));
     }
 
+    @ExceptionHandler(IdempotencyKeyMismatchException.class)
+    public ResponseEntity<Map<String, Object>> handleIdempotencyKeyMismatch(IdempotencyKeyMismatchException e) {
+        return ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY).body(buildBody(HttpStatus.UNPROCESSABLE_ENTITY,
+                e.getMessage()));
+    }
+
     @ExceptionHandler(ObjectOptimisticLockingFailureException.class)
     public ResponseEntity<Map<String, Object>> handleOptimisticLock(ObjectOptimisticLockingFailureException e) {
         return ResponseEntity.status(HttpStatus.CONFLICT).body(buildBody(HttpStatus.CONFLICT, e.getMessage()));
     }
 
+    @ExceptionHandler(ConcurrencyFailureException.class)
+    public ResponseEntity<Map<String, Object>> handleConcurrencyFailure(ConcurrencyFailureException e) {
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(buildBody(HttpStatus.CONFLICT,
+                "Concurrent update conflict, please retry"));
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<Map<String, Object>> handleBodyValidation(MethodArgumentNotValidException e) {
         List<String> errors = e.getBindingResult().getFieldErrors().stream()
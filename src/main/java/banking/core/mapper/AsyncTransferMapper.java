@@ -0,0 +1,13 @@
+package banking.core.mapper;
+
+import banking.core.dto.responses.AsyncTransferResponse;
+import banking.core.model.entity.AsyncTransfer;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+@Mapper(componentModel = "spring")
+public interface AsyncTransferMapper {
+    @Mapping(target = "transferId", source = "id")
+    @Mapping(target = "error", source = "errorReason")
+    AsyncTransferResponse toResponse(AsyncTransfer asyncTransfer);
+}
@@ -0,0 +1,60 @@
+package banking.core.model.entity;
+
+import banking.core.model.enums.AsyncTransferStatus;
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Entity
+@Table(name = "transfer_requests")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AsyncTransfer {
+    @Id
+    @Column(name = "id", updatable = false, nullable = false)
+    private UUID id;
+
+    @Column(name = "user_id", updatable = false, nullable = false)
+    private UUID userId;
+
+    @Column(name = "from_account_id", updatable = false, nullable = false)
+    private UUID fromAccountId;
+
+    @Column(name = "to_account_id", updatable = false, nullable = false)
+    private UUID toAccountId;
+
+    @Column(name = "amount", updatable = false, nullable = false)
+    private BigDecimal amount;
+
+    @Builder.Default
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    private AsyncTransferStatus status = AsyncTransferStatus.PENDING;
+
+    @Column(name = "transaction_id")
+    private UUID transactionId;
+
+    @Column(name = "error_reason", length = 1000)
+    private String errorReason;
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "processed_at")
+    private LocalDateTime processedAt;
+
+    @PrePersist
+    private void generateId() {
+        if (id == null) {
+            id = UUID.randomUUID();
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package banking.core.model.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+@Entity
+@Table(name = "balance_stripes")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BalanceStripe {
+    @Id
+    @Column(name = "id", updatable = false, nullable = false)
+    private UUID id;
+
+    @Column(name = "account_id", updatable = false, nullable = false)
+    private UUID accountId;
+
+    @Column(name = "stripe_no", updatable = false, nullable = false)
+    private int stripeNo;
+
+    @Builder.Default
+    @Column(name = "balance", nullable = false)
+    private BigDecimal balance = BigDecimal.ZERO;
+
+    @PrePersist
+    private void generateId() {
+        if (id == null) {
+            id = UUID.randomUUID();
+        }
+    }
+}
@@ -33,6 +33,14 @@ public class BankAccount {
     @Column(name = "balance", nullable = false)
     private BigDecimal balance = BigDecimal.ZERO;
 
+    @Builder.Default
+    @Column(name = "accrued_interest", nullable = false, insertable = false, updatable = false)
+    private BigDecimal accruedInterest = BigDecimal.ZERO;
+
+    @Builder.Default
+    @Column(name = "balance_stripes", nullable = false)
+    private int balanceStripes = 0;
+
     @Enumerated(EnumType.STRING)
     @Column(name = "currency", updatable = false, nullable = false, length = 20)
     private Currency currency;
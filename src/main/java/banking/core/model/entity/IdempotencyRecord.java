@@ -0,0 +1,41 @@
+package banking.core.model.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Entity
+@Table(name = "idempotency_keys")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class IdempotencyRecord {
+    @Id
+    @Column(name = "id", updatable = false, nullable = false)
+    private UUID id;
+
+    @Column(name = "user_id", updatable = false, nullable = false)
+    private UUID userId;
+
+    @Column(name = "idempotency_key", updatable = false, nullable = false, length = 100)
+    private String idempotencyKey;
+
+    @Column(name = "operation", updatable = false, nullable = false, length = 50)
+    private String operation;
+
+    @Column(name = "request_hash", updatable = false, nullable = false, length = 64)
+    private String requestHash;
+
+    @Column(name = "transaction_id")
+    private UUID transactionId;
+
+    @Column(name = "response_body")
+    private String responseBody;
+
+    @Column(name = "created_at", updatable = false, nullable = false)
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,42 @@
+package banking.core.model.entity;
+
+import banking.core.model.enums.InterestRunStatus;
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "interest_runs")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class InterestRun {
+    @Id
+    @Column(name = "business_date", updatable = false, nullable = false)
+    private LocalDate businessDate;
+
+    @Column(name = "annual_rate", updatable = false, nullable = false)
+    private BigDecimal annualRate;
+
+    @Builder.Default
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    private InterestRunStatus status = InterestRunStatus.IN_PROGRESS;
+
+    @Builder.Default
+    @Column(name = "credited_accounts", nullable = false)
+    private long creditedAccounts = 0;
+
+    @CreationTimestamp
+    @Column(name = "started_at", nullable = false, updatable = false)
+    private LocalDateTime startedAt;
+
+    @Column(name = "finished_at")
+    private LocalDateTime finishedAt;
+}
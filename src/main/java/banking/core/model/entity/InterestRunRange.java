@@ -0,0 +1,62 @@
+package banking.core.model.entity;
+
+import banking.core.model.enums.InterestRunStatus;
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * One slice {@code [rangeStart, rangeEnd)} of the account keyspace for a business date. {@code lastId} is the
+ * checkpoint: every account up to it has been credited, in the same transaction that moved the checkpoint.
+ */
+@Entity
+@Table(name = "interest_run_ranges")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class InterestRunRange {
+    @Id
+    @Column(name = "id", updatable = false, nullable = false)
+    private UUID id;
+
+    @Column(name = "business_date", updatable = false, nullable = false)
+    private LocalDate businessDate;
+
+    @Column(name = "range_no", updatable = false, nullable = false)
+    private int rangeNo;
+
+    @Column(name = "range_start", updatable = false, nullable = false)
+    private UUID rangeStart;
+
+    @Column(name = "range_end", updatable = false)
+    private UUID rangeEnd;
+
+    @Column(name = "last_id")
+    private UUID lastId;
+
+    @Builder.Default
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    private InterestRunStatus status = InterestRunStatus.PENDING;
+
+    @Builder.Default
+    @Column(name = "credited_accounts", nullable = false)
+    private long creditedAccounts = 0;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    private void generateId() {
+        if (id == null) {
+            id = UUID.randomUUID();
+        }
+    }
+}
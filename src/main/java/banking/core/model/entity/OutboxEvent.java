@@ -1,12 +1,8 @@
 package banking.core.model.entity;
 
 import banking.core.model.enums.EventStatus;
-import com.fasterxml.jackson.databind.JsonNode;
 import jakarta.persistence.*;
 import lombok.*;
-import org.hibernate.annotations.CreationTimestamp;
-import org.hibernate.annotations.JdbcTypeCode;
-import org.hibernate.type.SqlTypes;
 
 import java.time.LocalDateTime;
 import java.util.UUID;
@@ -20,7 +16,8 @@ import java.util.UUID;
 @Builder
 public class OutboxEvent {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "outbox_events_id_seq")
+    @SequenceGenerator(name = "outbox_events_id_seq", sequenceName = "outbox_events_id_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "aggregate_type", nullable = false, length = 100)
@@ -32,9 +29,8 @@ public class OutboxEvent {
     @Column(name = "topic", nullable = false, length = 100)
     private String topic;
 
-    @JdbcTypeCode(SqlTypes.JSON)
-    @Column(name = "payload", nullable = false, columnDefinition = "jsonb")
-    private JsonNode payload;
+    @Column(name = "payload", nullable = false)
+    private byte[] payload;
 
     @Builder.Default
     @Enumerated(EnumType.STRING)
@@ -48,10 +44,18 @@ public class OutboxEvent {
     @Column(name = "error_reason", length = 1000)
     private String errorReason;
 
-    @CreationTimestamp
-    @Column(name = "created_at", nullable = false, updatable = false)
+    @Column(name = "created_at", nullable = false, insertable = false, updatable = false)
     private LocalDateTime createdAt;
 
     @Column(name = "processed_at")
     private LocalDateTime processedAt;
+
+    @Column(name = "next_attempt_at", nullable = false, insertable = false, updatable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @Column(name = "claimed_by", length = 100)
+    private String claimedBy;
+
+    @Column(name = "claimed_until")
+    private LocalDateTime claimedUntil;
 }
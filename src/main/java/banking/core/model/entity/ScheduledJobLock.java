@@ -0,0 +1,28 @@
+package banking.core.model.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "scheduled_job_locks")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ScheduledJobLock {
+    @Id
+    @Column(name = "name", updatable = false, nullable = false, length = 200)
+    private String name;
+
+    @Column(name = "locked_by", nullable = false, length = 100)
+    private String lockedBy;
+
+    @Column(name = "locked_at", nullable = false)
+    private LocalDateTime lockedAt;
+
+    @Column(name = "locked_until", nullable = false)
+    private LocalDateTime lockedUntil;
+}
@@ -0,0 +1,7 @@
+package banking.core.model.enums;
+
+public enum AsyncTransferStatus {
+    PENDING,
+    COMPLETED,
+    FAILED
+}
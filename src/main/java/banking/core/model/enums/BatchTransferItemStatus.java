@@ -0,0 +1,7 @@
+package banking.core.model.enums;
+
+public enum BatchTransferItemStatus {
+    COMPLETED,
+    FAILED,
+    NOT_EXECUTED
+}
@@ -0,0 +1,6 @@
+package banking.core.model.enums;
+
+public enum BatchTransferMode {
+    ALL_OR_NOTHING,
+    BEST_EFFORT
+}
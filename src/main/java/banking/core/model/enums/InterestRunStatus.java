@@ -0,0 +1,7 @@
+package banking.core.model.enums;
+
+public enum InterestRunStatus {
+    PENDING,
+    IN_PROGRESS,
+    COMPLETED
+}
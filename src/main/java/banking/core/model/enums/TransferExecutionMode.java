@@ -0,0 +1,6 @@
+package banking.core.model.enums;
+
+public enum TransferExecutionMode {
+    JPA,
+    STORED_PROCEDURE
+}
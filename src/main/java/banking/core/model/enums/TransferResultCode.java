@@ -0,0 +1,22 @@
+package banking.core.model.enums;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor
+public enum TransferResultCode {
+    COMPLETED("Transfer completed"),
+    SOURCE_NOT_FOUND("Source Bank Account not found"),
+    DESTINATION_NOT_FOUND("Destination Bank Account not found"),
+    SOURCE_NOT_OWNED("Source Bank Account does not belong to the current user"),
+    SOURCE_CLOSED("Source Bank Account is closed"),
+    SOURCE_BLOCKED("Source Bank Account is blocked"),
+    DESTINATION_CLOSED("Destination Bank Account is closed"),
+    DESTINATION_BLOCKED("Destination Bank Account is blocked"),
+    CURRENCY_MISMATCH("Bank Accounts must have same currency"),
+    INSUFFICIENT_FUNDS("Insufficient funds"),
+    BALANCE_LAYOUT_CHANGED("Destination Bank Account balance layout changed, please retry");
+
+    private final String message;
+}
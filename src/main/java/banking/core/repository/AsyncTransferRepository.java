@@ -0,0 +1,34 @@
+package banking.core.repository;
+
+import banking.core.model.entity.AsyncTransfer;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+public interface AsyncTransferRepository extends JpaRepository<AsyncTransfer, UUID> {
+    Optional<AsyncTransfer> findByIdAndUserId(UUID id, UUID userId);
+
+    /**
+     * Claims the oldest pending transfers, whatever their accounts, and returns them sorted by source account so the
+     * batch locks accounts in a stable order. Sorting before the limit would keep serving low account ids first.
+     */
+    @Query(value = "WITH oldest AS MATERIALIZED (SELECT id FROM transfer_requests WHERE status = 'PENDING' " +
+            "ORDER BY created_at LIMIT :limit FOR UPDATE SKIP LOCKED) " +
+            "SELECT t.* FROM transfer_requests t JOIN oldest o ON o.id = t.id " +
+            "ORDER BY t.from_account_id, t.created_at", nativeQuery = true)
+    List<AsyncTransfer> claimPending(@Param("limit") int limit);
+
+    @Query(value = "SELECT * FROM transfer_requests WHERE id = :id AND status = 'PENDING' " +
+            "FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    Optional<AsyncTransfer> claimPendingById(@Param("id") UUID id);
+
+    @Modifying
+    @Query(value = "UPDATE transfer_requests SET status = 'FAILED', error_reason = :reason, " +
+            "processed_at = localtimestamp WHERE id = :id AND status = 'PENDING'", nativeQuery = true)
+    int markFailed(@Param("id") UUID id, @Param("reason") String reason);
+}
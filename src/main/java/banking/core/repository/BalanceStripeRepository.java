@@ -0,0 +1,33 @@
+package banking.core.repository;
+
+import banking.core.model.entity.BalanceStripe;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+public interface BalanceStripeRepository extends JpaRepository<BalanceStripe, UUID> {
+    @Modifying
+    @Query("UPDATE BalanceStripe bs SET bs.balance = bs.balance + :amount " +
+            "WHERE bs.accountId = :accountId AND bs.stripeNo = :stripeNo")
+    int credit(@Param("accountId") UUID accountId,
+               @Param("stripeNo") int stripeNo,
+               @Param("amount") BigDecimal amount);
+
+    @Query("SELECT COALESCE(SUM(bs.balance), 0) FROM BalanceStripe bs WHERE bs.accountId = :accountId")
+    BigDecimal sumBalanceByAccountId(@Param("accountId") UUID accountId);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT bs FROM BalanceStripe bs WHERE bs.accountId = :accountId ORDER BY bs.stripeNo ASC")
+    List<BalanceStripe> findByAccountIdForUpdate(@Param("accountId") UUID accountId);
+
+    @Modifying
+    @Query("DELETE FROM BalanceStripe bs WHERE bs.accountId = :accountId")
+    int deleteByAccountId(@Param("accountId") UUID accountId);
+}
@@ -2,14 +2,19 @@ package banking.core.repository;
 
 import banking.core.model.entity.BankAccount;
 import banking.core.model.enums.AccountStatus;
+import banking.core.repository.projection.AccountMetadata;
+import banking.core.repository.projection.InterestCandidate;
+import banking.core.repository.projection.InterestChunkResult;
 import jakarta.persistence.LockModeType;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -22,14 +27,168 @@ public interface BankAccountRepository extends JpaRepository<BankAccount, UUID>
     @Lock(LockModeType.PESSIMISTIC_WRITE)
     Optional<BankAccount> findLockedByIdAndUserId(UUID accountId, UUID userId);
 
+    @Lock(LockModeType.PESSIMISTIC_READ)
+    Optional<BankAccount> findSharedByIdAndUserId(UUID accountId, UUID userId);
+
     @Lock(LockModeType.PESSIMISTIC_WRITE)
     @Query("SELECT ba FROM BankAccount ba WHERE ba.id = :id")
     Optional<BankAccount> findByIdForUpdate(@Param("id") UUID id);
 
+    @Lock(LockModeType.PESSIMISTIC_READ)
+    @Query("SELECT ba FROM BankAccount ba WHERE ba.id = :id")
+    Optional<BankAccount> findByIdForShare(@Param("id") UUID id);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT ba FROM BankAccount ba WHERE ba.id IN :ids ORDER BY ba.id ASC")
+    List<BankAccount> findAllByIdInForUpdate(@Param("ids") Collection<UUID> ids);
+
+    @Query("SELECT ba.balanceStripes FROM BankAccount ba WHERE ba.id = :id")
+    Optional<Integer> findBalanceStripesById(@Param("id") UUID id);
+
+    @Query("SELECT new banking.core.repository.projection.AccountMetadata(ba.id, ba.userId, ba.currency) " +
+            "FROM BankAccount ba WHERE ba.id = :id")
+    Optional<AccountMetadata> findMetadataById(@Param("id") UUID id);
+
+    @Query("SELECT ba.id FROM BankAccount ba WHERE ba.balanceStripes > 0")
+    List<UUID> findStripedAccountIds();
+
+    @Query(value = "UPDATE bank_accounts SET balance = balance + :amount, version = version + 1, " +
+            "updated_at = localtimestamp WHERE id = :id AND user_id = :userId AND status = 'ACTIVE' " +
+            "AND balance_stripes = 0 RETURNING currency", nativeQuery = true)
+    Optional<String> creditActiveAccount(@Param("id") UUID accountId,
+                                         @Param("userId") UUID userId,
+                                         @Param("amount") BigDecimal amount);
+
+    @Query(value = "UPDATE bank_accounts SET balance = balance - :amount, version = version + 1, " +
+            "updated_at = localtimestamp WHERE id = :id AND user_id = :userId AND status = 'ACTIVE' " +
+            "AND balance >= :amount RETURNING currency", nativeQuery = true)
+    Optional<String> debitActiveAccount(@Param("id") UUID accountId,
+                                        @Param("userId") UUID userId,
+                                        @Param("amount") BigDecimal amount);
+
     @Query("SELECT ba FROM BankAccount ba WHERE ba.status = :status AND ba.balance > :minBalance " +
+            "AND ba.id >= :fromId AND (:toId IS NULL OR ba.id < :toId) " +
             "AND (:lastId IS NULL OR ba.id > :lastId) ORDER BY ba.id ASC")
     List<BankAccount> findForInterestBatch(@Param("status") AccountStatus status,
                                            @Param("minBalance") BigDecimal minBalance,
+                                           @Param("fromId") UUID fromId,
+                                           @Param("toId") UUID toId,
                                            @Param("lastId") UUID lastId,
                                            Pageable pageable);
+
+    /**
+     * Locks the next {@code chunkSize} active accounts with a positive balance of {@code [fromId, toId)} after
+     * {@code lastId} and reads only what interest needs, without loading the entities.
+     */
+    @Query(value = "SELECT id, user_id AS userId, balance, currency FROM bank_accounts " +
+            "WHERE status = 'ACTIVE' AND balance > 0 " +
+            "AND id >= CAST(:fromId AS uuid) AND (CAST(:toId AS uuid) IS NULL OR id < CAST(:toId AS uuid)) " +
+            "AND (CAST(:lastId AS uuid) IS NULL OR id > CAST(:lastId AS uuid)) " +
+            "ORDER BY id LIMIT :chunkSize FOR UPDATE", nativeQuery = true)
+    List<InterestCandidate> lockInterestCandidates(@Param("fromId") UUID fromId,
+                                                   @Param("toId") UUID toId,
+                                                   @Param("lastId") UUID lastId,
+                                                   @Param("chunkSize") int chunkSize);
+
+    /**
+     * Credits daily interest to the next {@code chunkSize} active accounts of {@code [fromId, toId)} after
+     * {@code lastId} in one statement: the balance update feeds the {@code INTEREST} transactions and their
+     * {@code INTEREST_APPLIED} outbox events. Interest is {@code round(balance * dailyRate, 2)}, which equals
+     * {@code setScale(2, HALF_UP)} for the positive balances selected here; accounts whose interest rounds to zero are
+     * skipped.
+     */
+    @Query(value = "WITH chunk AS (" +
+            "SELECT id, round(balance * :dailyRate, 2) AS interest FROM bank_accounts " +
+            "WHERE status = 'ACTIVE' AND balance > 0 " +
+            "AND id >= CAST(:fromId AS uuid) AND (CAST(:toId AS uuid) IS NULL OR id < CAST(:toId AS uuid)) " +
+            "AND (CAST(:lastId AS uuid) IS NULL OR id > CAST(:lastId AS uuid)) " +
+            "ORDER BY id LIMIT :chunkSize FOR UPDATE), " +
+            "credited AS (" +
+            "UPDATE bank_accounts ba SET balance = ba.balance + c.interest, version = ba.version + 1, " +
+            "updated_at = localtimestamp FROM chunk c WHERE ba.id = c.id AND c.interest > 0 " +
+            "RETURNING ba.id AS account_id, ba.user_id, ba.currency, c.interest, " +
+            "gen_random_uuid() AS transaction_id), " +
+            "inserted_transactions AS (" +
+            "INSERT INTO transactions (id, from_account_id, to_account_id, amount, type, status, created_at) " +
+            "SELECT transaction_id, NULL, account_id, interest, 'INTEREST', 'COMPLETED', localtimestamp " +
+            "FROM credited), " +
+            "inserted_events AS (" +
+            "INSERT INTO outbox_events (aggregate_type, aggregate_id, topic, payload, status, retry_count) " +
+            "SELECT 'TRANSACTION', transaction_id, :topic, convert_to(jsonb_build_object(" +
+            "'eventType', 'INTEREST_APPLIED', " +
+            "'data', jsonb_build_object('transactionId', transaction_id, 'userId', user_id, " +
+            "'type', 'INTEREST', 'status', 'COMPLETED', 'fromAccountId', NULL, 'toAccountId', account_id, " +
+            "'amount', interest, 'currency', currency, " +
+            "'occurredAt', replace(clock_timestamp()::timestamp::text, ' ', 'T')))::text, 'UTF8'), " +
+            "'PENDING', 0 FROM credited) " +
+            "SELECT (SELECT id FROM chunk ORDER BY id DESC LIMIT 1) AS lastId, " +
+            "(SELECT count(*) FROM credited)::int AS credited", nativeQuery = true)
+    InterestChunkResult applyInterestChunk(@Param("dailyRate") BigDecimal dailyRate,
+                                           @Param("fromId") UUID fromId,
+                                           @Param("toId") UUID toId,
+                                           @Param("lastId") UUID lastId,
+                                           @Param("chunkSize") int chunkSize,
+                                           @Param("topic") String topic);
+
+    /**
+     * Adds one day of interest to {@code accrued_interest} for the next chunk of active accounts of
+     * {@code [fromId, toId)} after {@code lastId}. Only the accrual column changes, so the row's version is kept and
+     * no transaction or event is written until {@link #capitalizeInterestChunk capitalization}.
+     */
+    @Query(value = "WITH chunk AS (" +
+            "SELECT id FROM bank_accounts " +
+            "WHERE status = 'ACTIVE' AND balance > 0 " +
+            "AND id >= CAST(:fromId AS uuid) AND (CAST(:toId AS uuid) IS NULL OR id < CAST(:toId AS uuid)) " +
+            "AND (CAST(:lastId AS uuid) IS NULL OR id > CAST(:lastId AS uuid)) " +
+            "ORDER BY id LIMIT :chunkSize FOR UPDATE), " +
+            "accrued AS (" +
+            "UPDATE bank_accounts ba SET accrued_interest = ba.accrued_interest + round(ba.balance * :dailyRate, 8) " +
+            "FROM chunk c WHERE ba.id = c.id RETURNING ba.id) " +
+            "SELECT (SELECT id FROM chunk ORDER BY id DESC LIMIT 1) AS lastId, " +
+            "(SELECT count(*) FROM accrued)::int AS credited", nativeQuery = true)
+    InterestChunkResult accrueInterestChunk(@Param("dailyRate") BigDecimal dailyRate,
+                                            @Param("fromId") UUID fromId,
+                                            @Param("toId") UUID toId,
+                                            @Param("lastId") UUID lastId,
+                                            @Param("chunkSize") int chunkSize);
+
+    /**
+     * Moves the whole cents of accrued interest into the balance for the next chunk of active accounts after
+     * {@code lastId}, booking one {@code INTEREST} transaction and {@code INTEREST_APPLIED} event per account. The
+     * sub-cent remainder stays accrued for the next period, so nothing is lost to rounding. A blocked account keeps
+     * its accrual until it is active again; a closed one was settled when it was closed.
+     */
+    @Query(value = "WITH chunk AS (" +
+            "SELECT id, trunc(accrued_interest, 2) AS interest FROM bank_accounts " +
+            "WHERE status = 'ACTIVE' AND accrued_interest >= 0.01 " +
+            "AND (CAST(:lastId AS uuid) IS NULL OR id > CAST(:lastId AS uuid)) " +
+            "ORDER BY id LIMIT :chunkSize FOR UPDATE), " +
+            "credited AS (" +
+            "UPDATE bank_accounts ba SET balance = ba.balance + c.interest, " +
+            "accrued_interest = ba.accrued_interest - c.interest, version = ba.version + 1, " +
+            "updated_at = localtimestamp FROM chunk c WHERE ba.id = c.id " +
+            "RETURNING ba.id AS account_id, ba.user_id, ba.currency, c.interest, " +
+            "gen_random_uuid() AS transaction_id), " +
+            "inserted_transactions AS (" +
+            "INSERT INTO transactions (id, from_account_id, to_account_id, amount, type, status, created_at) " +
+            "SELECT transaction_id, NULL, account_id, interest, 'INTEREST', 'COMPLETED', localtimestamp " +
+            "FROM credited), " +
+            "inserted_events AS (" +
+            "INSERT INTO outbox_events (aggregate_type, aggregate_id, topic, payload, status, retry_count) " +
+            "SELECT 'TRANSACTION', transaction_id, :topic, convert_to(jsonb_build_object(" +
+            "'eventType', 'INTEREST_APPLIED', " +
+            "'data', jsonb_build_object('transactionId', transaction_id, 'userId', user_id, " +
+            "'type', 'INTEREST', 'status', 'COMPLETED', 'fromAccountId', NULL, 'toAccountId', account_id, " +
+            "'amount', interest, 'currency', currency, " +
+            "'occurredAt', replace(clock_timestamp()::timestamp::text, ' ', 'T')))::text, 'UTF8'), " +
+            "'PENDING', 0 FROM credited) " +
+            "SELECT (SELECT id FROM chunk ORDER BY id DESC LIMIT 1) AS lastId, " +
+            "(SELECT count(*) FROM credited)::int AS credited", nativeQuery = true)
+    InterestChunkResult capitalizeInterestChunk(@Param("lastId") UUID lastId,
+                                                @Param("chunkSize") int chunkSize,
+                                                @Param("topic") String topic);
+
+    @Modifying
+    @Query(value = "UPDATE bank_accounts SET accrued_interest = 0 WHERE id = :id", nativeQuery = true)
+    int clearAccruedInterest(@Param("id") UUID id);
 }
@@ -0,0 +1,36 @@
+package banking.core.repository;
+
+import banking.core.model.entity.IdempotencyRecord;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, UUID> {
+    Optional<IdempotencyRecord> findByUserIdAndIdempotencyKey(UUID userId, String idempotencyKey);
+
+    @Modifying
+    @Query(value = "INSERT INTO idempotency_keys (id, user_id, idempotency_key, operation, request_hash, created_at) " +
+            "VALUES (gen_random_uuid(), :userId, :idempotencyKey, :operation, :requestHash, localtimestamp) " +
+            "ON CONFLICT (user_id, idempotency_key) DO NOTHING", nativeQuery = true)
+    int claim(@Param("userId") UUID userId,
+              @Param("idempotencyKey") String idempotencyKey,
+              @Param("operation") String operation,
+              @Param("requestHash") String requestHash);
+
+    @Modifying
+    @Query("UPDATE IdempotencyRecord r SET r.transactionId = :transactionId, r.responseBody = :responseBody " +
+            "WHERE r.userId = :userId AND r.idempotencyKey = :idempotencyKey")
+    int complete(@Param("userId") UUID userId,
+                 @Param("idempotencyKey") String idempotencyKey,
+                 @Param("transactionId") UUID transactionId,
+                 @Param("responseBody") String responseBody);
+
+    @Modifying
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.createdAt < :threshold")
+    int deleteOlderThan(@Param("threshold") LocalDateTime threshold);
+}
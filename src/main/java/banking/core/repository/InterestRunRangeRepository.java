@@ -0,0 +1,28 @@
+package banking.core.repository;
+
+import banking.core.model.entity.InterestRunRange;
+import banking.core.model.enums.InterestRunStatus;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+public interface InterestRunRangeRepository extends JpaRepository<InterestRunRange, UUID> {
+    List<InterestRunRange> findByBusinessDateAndStatusNotOrderByRangeNo(LocalDate businessDate,
+                                                                         InterestRunStatus status);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r FROM InterestRunRange r WHERE r.id = :id")
+    Optional<InterestRunRange> findByIdForUpdate(@Param("id") UUID id);
+
+    @Query("SELECT COALESCE(SUM(r.creditedAccounts), 0) FROM InterestRunRange r WHERE r.businessDate = :businessDate")
+    long sumCreditedAccounts(@Param("businessDate") LocalDate businessDate);
+
+    long countByBusinessDateAndStatusNot(LocalDate businessDate, InterestRunStatus status);
+}
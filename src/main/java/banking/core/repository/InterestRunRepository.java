@@ -0,0 +1,30 @@
+package banking.core.repository;
+
+import banking.core.model.entity.InterestRun;
+import banking.core.model.enums.InterestRunStatus;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+public interface InterestRunRepository extends JpaRepository<InterestRun, LocalDate> {
+    @Modifying
+    @Query(value = "INSERT INTO interest_runs (business_date, annual_rate, status, credited_accounts, started_at) " +
+            "VALUES (:businessDate, :annualRate, 'IN_PROGRESS', 0, localtimestamp) " +
+            "ON CONFLICT (business_date) DO NOTHING", nativeQuery = true)
+    int insertIfAbsent(@Param("businessDate") LocalDate businessDate, @Param("annualRate") BigDecimal annualRate);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r FROM InterestRun r WHERE r.businessDate = :businessDate")
+    Optional<InterestRun> findByIdForUpdate(@Param("businessDate") LocalDate businessDate);
+
+    List<InterestRun> findByStatusAndBusinessDateBeforeOrderByBusinessDate(InterestRunStatus status,
+                                                                           LocalDate businessDate);
+}
@@ -2,46 +2,133 @@ package banking.core.repository;
 
 import banking.core.model.entity.OutboxEvent;
 import banking.core.model.enums.EventStatus;
+import banking.core.repository.projection.OutboxBacklog;
+import banking.core.repository.projection.OutboxLaneBacklog;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
-    List<OutboxEvent> findTop100ByStatusAndRetryCountLessThanOrderByCreatedAtAsc(EventStatus status, int maxRetries);
+    @Query(value = "SELECT pg_try_advisory_xact_lock(hashtext('outbox_events'), :lane)", nativeQuery = true)
+    boolean tryLockLane(@Param("lane") int lane);
 
-    @Modifying
-    @Query("DELETE FROM OutboxEvent oe WHERE oe.status = :status AND oe.createdAt < :cutoff")
-    int deleteOldEvents(@Param("status") EventStatus status, @Param("cutoff") LocalDateTime cutoff);
+    /**
+     * Claims the oldest due events of one lane. A lane is a contiguous range of the aggregate id hash, lane {@code n}
+     * of {@code lanes} covering {@code [ceil(n * 2^31 / lanes), ceil((n + 1) * 2^31 / lanes))}, so the lane filter is a
+     * range scan on {@code ix_outbox_events_pending_lane} whatever the number of lanes.
+     * <p>
+     * Events of one aggregate are ordered by {@code created_at} alone, which the database sets from
+     * {@code clock_timestamp()} at insert. Ids come from a pooled sequence and are not monotonic across instances, so
+     * the id only breaks ties between events written in the same transaction.
+     */
+    @Query(value = "WITH claimed AS MATERIALIZED (" +
+            "SELECT e.id FROM outbox_events e WHERE e.status = 'PENDING' AND e.retry_count < :maxRetries " +
+            "AND e.next_attempt_at <= now() " +
+            "AND (hashtext(e.aggregate_id::text) & 2147483647) >= (:lane * 2147483648 + :lanes - 1) / :lanes " +
+            "AND (hashtext(e.aggregate_id::text) & 2147483647) < ((:lane + 1) * 2147483648 + :lanes - 1) / :lanes " +
+            "AND NOT EXISTS (SELECT 1 FROM outbox_events p WHERE p.aggregate_id = e.aggregate_id " +
+            "AND (p.status = 'IN_PROGRESS' OR (p.status = 'PENDING' AND p.next_attempt_at > now() " +
+            "AND (p.created_at, p.id) < (e.created_at, e.id)))) " +
+            "ORDER BY e.created_at, e.id LIMIT :limit FOR UPDATE SKIP LOCKED) " +
+            "UPDATE outbox_events o SET status = 'IN_PROGRESS', claimed_by = :owner, " +
+            "claimed_until = now() + :leaseMs * interval '1 millisecond' " +
+            "FROM claimed WHERE o.id = claimed.id RETURNING o.*",
+            nativeQuery = true)
+    List<OutboxEvent> claimPending(@Param("lane") int lane,
+                                   @Param("lanes") int lanes,
+                                   @Param("limit") int limit,
+                                   @Param("maxRetries") int maxRetries,
+                                   @Param("owner") String owner,
+                                   @Param("leaseMs") long leaseMs);
 
-    @Modifying
-    @Query("UPDATE OutboxEvent oe SET oe.status = :inProgress WHERE oe.id = :id AND oe.status = :pending")
-    int markInProgress(@Param("id") Long id,
-                       @Param("pending") EventStatus pending,
-                       @Param("inProgress") EventStatus inProgress);
+    @Query(value = "SELECT DISTINCT " +
+            "((hashtext(aggregate_id::text) & 2147483647)::bigint * :lanes / 2147483648)::int AS lane " +
+            "FROM outbox_events WHERE id IN (:ids) ORDER BY lane", nativeQuery = true)
+    List<Integer> findLanes(@Param("ids") Collection<Long> ids, @Param("lanes") int lanes);
+
+    @Query(value = "WITH claimed AS MATERIALIZED (" +
+            "SELECT e.id FROM outbox_events e WHERE e.id IN (:ids) AND e.status = 'PENDING' " +
+            "AND e.retry_count < :maxRetries AND e.next_attempt_at <= now() " +
+            "AND ((hashtext(e.aggregate_id::text) & 2147483647)::bigint * :lanes / 2147483648)::int " +
+            "IN (:ownedLanes) " +
+            "AND NOT EXISTS (SELECT 1 FROM outbox_events p WHERE p.aggregate_id = e.aggregate_id " +
+            "AND (p.status = 'IN_PROGRESS' OR (p.status = 'PENDING' AND p.id NOT IN (:ids) " +
+            "AND (p.created_at, p.id) < (e.created_at, e.id)))) " +
+            "FOR UPDATE SKIP LOCKED) " +
+            "UPDATE outbox_events o SET status = 'IN_PROGRESS', claimed_by = :owner, " +
+            "claimed_until = now() + :leaseMs * interval '1 millisecond' " +
+            "FROM claimed WHERE o.id = claimed.id RETURNING o.*",
+            nativeQuery = true)
+    List<OutboxEvent> claimByIds(@Param("ids") Collection<Long> ids,
+                                 @Param("lanes") int lanes,
+                                 @Param("ownedLanes") Collection<Integer> ownedLanes,
+                                 @Param("maxRetries") int maxRetries,
+                                 @Param("owner") String owner,
+                                 @Param("leaseMs") long leaseMs);
+
+    @Query(value = "SELECT topic AS topic, status AS status, count(*) AS events, min(created_at) AS oldestCreatedAt " +
+            "FROM outbox_events WHERE status IN ('PENDING', 'IN_PROGRESS', 'FAILED') GROUP BY topic, status",
+            nativeQuery = true)
+    List<OutboxBacklog> countBacklog();
+
+    @Query(value = "SELECT ((hashtext(aggregate_id::text) & 2147483647)::bigint * :lanes / 2147483648)::int AS lane, " +
+            "status AS status, count(*) AS events, min(created_at) AS oldestCreatedAt " +
+            "FROM outbox_events WHERE status IN ('PENDING', 'IN_PROGRESS') GROUP BY 1, 2", nativeQuery = true)
+    List<OutboxLaneBacklog> countBacklogByLane(@Param("lanes") int lanes);
+
+    /**
+     * Makes sure daily partitions exist from yesterday to {@code daysAhead} days ahead, by the database's own date so
+     * a clock difference between the JVM and PostgreSQL cannot leave a day uncovered.
+     */
+    @Query(value = "SELECT outbox_events_create_partitions(current_date - 1, current_date + :daysAhead)",
+            nativeQuery = true)
+    int createPartitions(@Param("daysAhead") int daysAhead);
+
+    @Query(value = "SELECT to_regclass('outbox_events_p' || to_char(current_date + 1, 'YYYYMMDD')) IS NOT NULL",
+            nativeQuery = true)
+    boolean existsPartitionForTomorrow();
 
     @Modifying
-    @Query("UPDATE OutboxEvent oe SET oe.status = :sent, oe.processedAt = :processedAt" +
-            " WHERE oe.id = :id AND oe.status = :inProgress")
-    int markSent(@Param("id") Long id,
+    @Query("UPDATE OutboxEvent oe SET oe.status = :sent, oe.processedAt = :processedAt, oe.claimedBy = NULL," +
+            " oe.claimedUntil = NULL WHERE oe.id IN :ids AND oe.status = :inProgress AND oe.claimedBy = :owner")
+    int markSent(@Param("ids") Collection<Long> ids,
                  @Param("inProgress") EventStatus inProgress,
                  @Param("sent") EventStatus sent,
-                 @Param("processedAt") LocalDateTime processedAt);
+                 @Param("processedAt") LocalDateTime processedAt,
+                 @Param("owner") String owner);
+
+    @Modifying
+    @Query(value = "UPDATE outbox_events SET status = :status, retry_count = retry_count + 1, error_reason = :error, " +
+            "next_attempt_at = now() + LEAST(:maxBackoffMs, :initialBackoffMs * power(2, LEAST(retry_count, 20))) " +
+            "* (0.5 + random() * 0.5) * interval '1 millisecond', claimed_by = NULL, claimed_until = NULL " +
+            "WHERE id IN (:ids) AND status = 'IN_PROGRESS' AND claimed_by = :owner", nativeQuery = true)
+    int markFailedOrRetry(@Param("ids") Collection<Long> ids,
+                          @Param("status") String status,
+                          @Param("error") String error,
+                          @Param("initialBackoffMs") long initialBackoffMs,
+                          @Param("maxBackoffMs") long maxBackoffMs,
+                          @Param("owner") String owner);
+
+    @Modifying
+    @Query("UPDATE OutboxEvent oe SET oe.status = :pending, oe.claimedBy = NULL, oe.claimedUntil = NULL" +
+            " WHERE oe.id IN :ids AND oe.status = :inProgress AND oe.claimedBy = :owner")
+    int release(@Param("ids") Collection<Long> ids,
+                @Param("inProgress") EventStatus inProgress,
+                @Param("pending") EventStatus pending,
+                @Param("owner") String owner);
 
     @Modifying
-    @Query("UPDATE OutboxEvent oe SET oe.status = :status, oe.retryCount = oe.retryCount + 1, " +
-            "oe.errorReason = :error WHERE oe.id = :id AND oe.status = :inProgress")
-    void markFailedOrRetry(@Param("id") Long id,
-                          @Param("inProgress") EventStatus inProgress,
-                          @Param("status") EventStatus status,
-                          @Param("error") String error);
+    @Query(value = "UPDATE outbox_events SET claimed_until = now() + :leaseMs * interval '1 millisecond' " +
+            "WHERE id IN (:ids) AND status = 'IN_PROGRESS' AND claimed_by = :owner", nativeQuery = true)
+    int renewLeases(@Param("ids") Collection<Long> ids, @Param("owner") String owner, @Param("leaseMs") long leaseMs);
 
     @Modifying
-    @Query("UPDATE OutboxEvent oe SET oe.status = :pending WHERE oe.status = :inProgress AND oe.createdAt < :time")
-    int rollbackInCaseOfUnexpectedFailure(@Param("pending") EventStatus pending,
-                                          @Param("inProgress") EventStatus inProgress,
-                                          @Param("time") LocalDateTime time);
+    @Query(value = "UPDATE outbox_events SET status = 'PENDING', claimed_by = NULL, claimed_until = NULL " +
+            "WHERE status = 'IN_PROGRESS' AND claimed_until < now()", nativeQuery = true)
+    int reapExpiredLeases();
 }
@@ -0,0 +1,32 @@
+package banking.core.repository;
+
+import banking.core.model.entity.ScheduledJobLock;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface ScheduledJobLockRepository extends JpaRepository<ScheduledJobLock, String> {
+    @Modifying
+    @Query(value = "INSERT INTO scheduled_job_locks (name, locked_by, locked_at, locked_until) " +
+            "VALUES (:name, :owner, now(), now() + :leaseMs * interval '1 millisecond') " +
+            "ON CONFLICT (name) DO UPDATE SET locked_by = EXCLUDED.locked_by, locked_at = EXCLUDED.locked_at, " +
+            "locked_until = EXCLUDED.locked_until " +
+            "WHERE scheduled_job_locks.locked_until < now()", nativeQuery = true)
+    int tryAcquire(@Param("name") String name, @Param("owner") String owner, @Param("leaseMs") long leaseMs);
+
+    @Modifying
+    @Query(value = "UPDATE scheduled_job_locks SET locked_until = now() + :leaseMs * interval '1 millisecond' " +
+            "WHERE name = :name AND locked_by = :owner", nativeQuery = true)
+    int renew(@Param("name") String name, @Param("owner") String owner, @Param("leaseMs") long leaseMs);
+
+    @Modifying
+    @Query(value = "UPDATE scheduled_job_locks " +
+            "SET locked_until = GREATEST(now(), locked_at + :minHoldMs * interval '1 millisecond') " +
+            "WHERE name = :name AND locked_by = :owner", nativeQuery = true)
+    int release(@Param("name") String name, @Param("owner") String owner, @Param("minHoldMs") long minHoldMs);
+
+    @Modifying
+    @Query(value = "DELETE FROM scheduled_job_locks WHERE name = :name AND locked_by = :owner", nativeQuery = true)
+    int delete(@Param("name") String name, @Param("owner") String owner);
+}
@@ -1,12 +1,24 @@
 package banking.core.repository;
 
 import banking.core.model.entity.Transaction;
+import banking.core.repository.projection.TransferProcedureResult;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.math.BigDecimal;
 import java.util.UUID;
 
 public interface TransactionRepository extends JpaRepository<Transaction, UUID> {
     Page<Transaction> findByFromAccount_IdOrToAccount_Id(UUID fromId, UUID toId, Pageable pageable);
+
+    @Query(value = "SELECT result_code AS resultCode, transaction_id AS transactionId " +
+            "FROM core_transfer(:userId, :fromAccountId, :toAccountId, :amount, :topic)", nativeQuery = true)
+    TransferProcedureResult executeTransferProcedure(@Param("userId") UUID userId,
+                                                     @Param("fromAccountId") UUID fromAccountId,
+                                                     @Param("toAccountId") UUID toAccountId,
+                                                     @Param("amount") BigDecimal amount,
+                                                     @Param("topic") String topic);
 }
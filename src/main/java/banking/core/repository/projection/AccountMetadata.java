@@ -0,0 +1,23 @@
+package banking.core.repository.projection;
+
+import banking.core.model.entity.BankAccount;
+import banking.core.model.enums.Currency;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.UUID;
+
+/**
+ * Attributes an account never changes after it is opened.
+ */
+@Getter
+@AllArgsConstructor
+public class AccountMetadata {
+    private final UUID id;
+    private final UUID userId;
+    private final Currency currency;
+
+    public static AccountMetadata from(BankAccount bankAccount) {
+        return new AccountMetadata(bankAccount.getId(), bankAccount.getUserId(), bankAccount.getCurrency());
+    }
+}
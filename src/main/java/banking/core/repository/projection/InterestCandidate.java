@@ -0,0 +1,14 @@
+package banking.core.repository.projection;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+public interface InterestCandidate {
+    UUID getId();
+
+    UUID getUserId();
+
+    BigDecimal getBalance();
+
+    String getCurrency();
+}
@@ -0,0 +1,9 @@
+package banking.core.repository.projection;
+
+import java.util.UUID;
+
+public interface InterestChunkResult {
+    UUID getLastId();
+
+    int getCredited();
+}
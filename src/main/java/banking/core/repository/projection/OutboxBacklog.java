@@ -0,0 +1,13 @@
+package banking.core.repository.projection;
+
+import java.time.LocalDateTime;
+
+public interface OutboxBacklog {
+    String getTopic();
+
+    String getStatus();
+
+    long getEvents();
+
+    LocalDateTime getOldestCreatedAt();
+}
@@ -0,0 +1,13 @@
+package banking.core.repository.projection;
+
+import java.time.LocalDateTime;
+
+public interface OutboxLaneBacklog {
+    int getLane();
+
+    String getStatus();
+
+    long getEvents();
+
+    LocalDateTime getOldestCreatedAt();
+}
@@ -0,0 +1,126 @@
+package banking.core.service;
+
+import banking.core.dto.requests.TransferRequest;
+import banking.core.dto.responses.AsyncTransferResponse;
+import banking.core.dto.responses.BatchTransferItemResponse;
+import banking.core.error.exception.TransferNotFoundException;
+import banking.core.mapper.AsyncTransferMapper;
+import banking.core.model.entity.AsyncTransfer;
+import banking.core.model.enums.AsyncTransferStatus;
+import banking.core.model.enums.BatchTransferItemStatus;
+import banking.core.model.enums.BatchTransferMode;
+import banking.core.repository.AsyncTransferRepository;
+import banking.core.service.BatchTransferService.TransferLeg;
+import banking.core.service.concurrency.RetryingTransactionExecutor;
+import banking.core.service.validator.TransferValidator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AsyncTransferService {
+    private final AsyncTransferRepository asyncTransferRepository;
+    private final AsyncTransferMapper asyncTransferMapper;
+    private final TransferValidator transferValidator;
+    private final BatchTransferService batchTransferService;
+    private final RetryingTransactionExecutor retryingTransactionExecutor;
+
+    @Value("${banking.transfer.async.batch-size:100}")
+    private int batchSize;
+
+    public AsyncTransferResponse submit(UUID userId, TransferRequest request) {
+        transferValidator.validatedRequest(request);
+
+        AsyncTransfer saved = asyncTransferRepository.save(AsyncTransfer.builder()
+                .userId(userId)
+                .fromAccountId(request.getFromAccountId())
+                .toAccountId(request.getToAccountId())
+                .amount(request.getAmount())
+                .build());
+
+        log.info("Transfer accepted: transferId={}, from={}, to={}, amount={}", saved.getId(),
+                saved.getFromAccountId(), saved.getToAccountId(), saved.getAmount());
+
+        return asyncTransferMapper.toResponse(saved);
+    }
+
+    public AsyncTransferResponse getStatus(UUID userId, UUID transferId) {
+        return asyncTransferRepository.findByIdAndUserId(transferId, userId)
+                .map(asyncTransferMapper::toResponse)
+                .orElseThrow(() -> new TransferNotFoundException(transferId));
+    }
+
+    /**
+     * Applies the oldest pending transfers as one batch. If the batch transaction fails for a reason other than a
+     * per-transfer business error, its transfers are retried one per transaction, and a transfer that still fails is
+     * marked {@code FAILED} on its own, so one bad row cannot block the queue.
+     */
+    public int processPending() {
+        List<UUID> claimedIds = new ArrayList<>();
+        try {
+            return retryingTransactionExecutor.execute("async-transfer", () -> {
+                claimedIds.clear();
+                List<AsyncTransfer> claimed = asyncTransferRepository.claimPending(batchSize);
+                claimed.forEach(transfer -> claimedIds.add(transfer.getId()));
+                return apply(claimed);
+            });
+        } catch (RuntimeException e) {
+            if (claimedIds.isEmpty()) {
+                throw e;
+            }
+            log.warn("Async transfer batch failed, isolating transfers: claimed={}, err={}", claimedIds.size(),
+                    e.getMessage());
+            claimedIds.forEach(this::processIsolated);
+            return claimedIds.size();
+        }
+    }
+
+    private void processIsolated(UUID transferId) {
+        try {
+            retryingTransactionExecutor.execute("async-transfer",
+                    () -> apply(asyncTransferRepository.claimPendingById(transferId).stream().toList()));
+        } catch (RuntimeException e) {
+            log.error("Async transfer failed: transferId={}", transferId, e);
+            String reason = e.getMessage() == null ? e.getClass().getSimpleName() : e.getMessage();
+            retryingTransactionExecutor.execute("async-transfer", () -> asyncTransferRepository.markFailed(
+                    transferId, reason.length() > 1000 ? reason.substring(0, 1000) : reason));
+        }
+    }
+
+    private int apply(List<AsyncTransfer> claimed) {
+        if (claimed.isEmpty()) {
+            return 0;
+        }
+
+        List<TransferLeg> legs = claimed.stream()
+                .map(transfer -> new TransferLeg(transfer.getUserId(), new TransferRequest(
+                        transfer.getFromAccountId(), transfer.getToAccountId(), transfer.getAmount())))
+                .toList();
+        List<BatchTransferItemResponse> results = batchTransferService.executeLegs(legs,
+                BatchTransferMode.BEST_EFFORT);
+
+        LocalDateTime processedAt = LocalDateTime.now();
+        for (BatchTransferItemResponse result : results) {
+            AsyncTransfer transfer = claimed.get(result.getIndex());
+            if (result.getStatus() == BatchTransferItemStatus.COMPLETED) {
+                transfer.setStatus(AsyncTransferStatus.COMPLETED);
+                transfer.setTransactionId(result.getTransactionId());
+            } else {
+                transfer.setStatus(AsyncTransferStatus.FAILED);
+                transfer.setErrorReason(result.getError());
+            }
+            transfer.setProcessedAt(processedAt);
+        }
+
+        log.info("Async transfers processed: claimed={}", claimed.size());
+        return claimed.size();
+    }
+}
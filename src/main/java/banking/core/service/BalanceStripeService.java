@@ -0,0 +1,100 @@
+package banking.core.service;
+
+import banking.core.error.exception.BankAccountNotFoundException;
+import banking.core.model.entity.BalanceStripe;
+import banking.core.model.entity.BankAccount;
+import banking.core.repository.BalanceStripeRepository;
+import banking.core.repository.BankAccountRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.IntStream;
+
+/**
+ * Striped balances for hot accounts. Credits go to a random stripe row while the account row is only share-locked,
+ * so concurrent credits do not serialize on {@code bank_accounts}. The account balance plus the stripes is the
+ * account total. Stripes are swept into the account balance under the account write lock whenever an exact
+ * balance is needed (debits, status changes, interest).
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BalanceStripeService {
+    private final BalanceStripeRepository balanceStripeRepository;
+    private final BankAccountRepository bankAccountRepository;
+
+    public boolean isStriped(BankAccount account) {
+        return account.getBalanceStripes() > 0;
+    }
+
+    public BigDecimal totalBalance(BankAccount account) {
+        if (!isStriped(account)) {
+            return account.getBalance();
+        }
+        return account.getBalance().add(balanceStripeRepository.sumBalanceByAccountId(account.getId()));
+    }
+
+    public void credit(BankAccount account, BigDecimal amount) {
+        int stripeNo = ThreadLocalRandom.current().nextInt(account.getBalanceStripes());
+        int updated = balanceStripeRepository.credit(account.getId(), stripeNo, amount);
+        if (updated == 0) {
+            throw new IllegalStateException("Balance stripe is missing: accountId=" + account.getId()
+                    + ", stripeNo=" + stripeNo);
+        }
+    }
+
+    public BigDecimal sweepStripes(BankAccount account) {
+        if (!isStriped(account)) {
+            return BigDecimal.ZERO;
+        }
+
+        BigDecimal swept = BigDecimal.ZERO;
+        for (BalanceStripe stripe : balanceStripeRepository.findByAccountIdForUpdate(account.getId())) {
+            if (stripe.getBalance().signum() != 0) {
+                swept = swept.add(stripe.getBalance());
+                stripe.setBalance(BigDecimal.ZERO);
+            }
+        }
+
+        if (swept.signum() != 0) {
+            account.setBalance(account.getBalance().add(swept));
+        }
+        return swept;
+    }
+
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public BigDecimal sweepAccount(UUID accountId) {
+        BankAccount account = bankAccountRepository.findByIdForUpdate(accountId)
+                .orElseThrow(() -> new BankAccountNotFoundException(accountId));
+
+        BigDecimal swept = sweepStripes(account);
+        if (swept.signum() != 0) {
+            bankAccountRepository.save(account);
+        }
+        return swept;
+    }
+
+    public void restripe(BankAccount account, int stripes) {
+        sweepStripes(account);
+        balanceStripeRepository.deleteByAccountId(account.getId());
+
+        List<BalanceStripe> newStripes = IntStream.range(0, stripes)
+                .mapToObj(stripeNo -> BalanceStripe.builder()
+                        .accountId(account.getId())
+                        .stripeNo(stripeNo)
+                        .build())
+                .toList();
+        balanceStripeRepository.saveAll(newStripes);
+
+        account.setBalanceStripes(stripes);
+
+        log.info("Bank Account balance restriped: accountId={}, stripes={}", account.getId(), stripes);
+    }
+}
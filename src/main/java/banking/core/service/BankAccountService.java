@@ -3,6 +3,7 @@ package banking.core.service;
 import banking.core.dto.requests.BalanceOperationRequest;
 import banking.core.dto.requests.CreateBankAccountRequest;
 import banking.core.dto.requests.UpdateAccountStatusRequest;
+import banking.core.dto.requests.UpdateBalanceStripesRequest;
 import banking.core.dto.responses.BalanceResponse;
 import banking.core.dto.responses.BankAccountResponse;
 import banking.core.dto.responses.TransferResponse;
@@ -12,19 +13,28 @@ import banking.core.mapper.BankAccountMapper;
 import banking.core.model.entity.BankAccount;
 import banking.core.model.entity.Transaction;
 import banking.core.model.enums.AccountStatus;
+import banking.core.model.enums.Currency;
 import banking.core.model.enums.TransactionStatus;
 import banking.core.model.enums.TransactionType;
 import banking.core.repository.BankAccountRepository;
 import banking.core.repository.TransactionRepository;
+import banking.core.service.concurrency.AccountGroupCommitExecutor;
+import banking.core.service.concurrency.BalanceOperation;
+import banking.core.service.concurrency.RetryingTransactionExecutor;
 import banking.core.service.publisher.BankAccountOutboxPublisher;
 import banking.core.service.publisher.TransactionOutboxPublisher;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 @Slf4j
@@ -36,6 +46,12 @@ public class BankAccountService {
     private final TransactionRepository transactionRepository;
     private final TransactionOutboxPublisher transactionOutboxPublisher;
     private final BankAccountOutboxPublisher bankAccountOutboxPublisher;
+    private final BalanceStripeService balanceStripeService;
+    private final RetryingTransactionExecutor retryingTransactionExecutor;
+    private final AccountGroupCommitExecutor accountGroupCommitExecutor;
+
+    @Value("${banking.accounts.conditional-updates:true}")
+    private boolean conditionalUpdates;
 
     @Transactional
     public BankAccountResponse createBankAccount(UUID userId, CreateBankAccountRequest request) {
@@ -57,26 +73,28 @@ public class BankAccountService {
     public List<BankAccountResponse> listOfBankAccounts(UUID userId) {
         return bankAccountRepository.findByUserId(userId)
                 .stream()
-                .map(bankAccountMapper::toResponse)
+                .map(this::toResponse)
                 .toList();
     }
 
     public BalanceResponse getBalance(UUID userId, UUID accountId) {
         BankAccount bankAccount = bankAccountRepository.findByIdAndUserId(accountId, userId)
                 .orElseThrow(() -> new BankAccountNotFoundException(accountId));
-        return new BalanceResponse(bankAccount.getId(), bankAccount.getBalance(), bankAccount.getCurrency());
+        return new BalanceResponse(bankAccount.getId(), balanceStripeService.totalBalance(bankAccount),
+                bankAccount.getAccruedInterest(), bankAccount.getCurrency());
     }
 
     public BankAccountResponse getBankAccount(UUID userId, UUID accountId) {
         BankAccount bankAccount = bankAccountRepository.findByIdAndUserId(accountId, userId)
                 .orElseThrow(() -> new BankAccountNotFoundException(accountId));
-        return bankAccountMapper.toResponse(bankAccount);
+        return toResponse(bankAccount);
     }
 
     @Transactional
     public BankAccountResponse updateStatus(UUID userId, UUID accountId, UpdateAccountStatusRequest request) {
         BankAccount bankAccount = bankAccountRepository.findLockedByIdAndUserId(accountId, userId)
                 .orElseThrow(() -> new BankAccountNotFoundException(accountId));
+        balanceStripeService.sweepStripes(bankAccount);
         bankAccount.setStatus(request.getStatus());
 
         BankAccount savedBankAccount = bankAccountRepository.save(bankAccount);
@@ -93,6 +111,8 @@ public class BankAccountService {
     public void closeBankAccount(UUID userId, UUID accountId) {
         BankAccount bankAccount = bankAccountRepository.findLockedByIdAndUserId(accountId, userId)
                 .orElseThrow(() -> new BankAccountNotFoundException(accountId));
+        balanceStripeService.sweepStripes(bankAccount);
+        capitalizeAccruedInterest(bankAccount);
         bankAccount.setStatus(AccountStatus.CLOSED);
 
         BankAccount savedBankAccount = bankAccountRepository.save(bankAccount);
@@ -102,46 +122,117 @@ public class BankAccountService {
         log.info("Bank Account closed: accountId={}, userId={}", accountId, userId);
     }
 
+    /**
+     * Pays the whole cents of accrued interest into the balance of an account that is being closed, since capitalization
+     * only credits active accounts. The sub-cent remainder is forfeited, so nothing stays accrued on a closed account.
+     */
+    private void capitalizeAccruedInterest(BankAccount bankAccount) {
+        BigDecimal interest = bankAccount.getAccruedInterest().setScale(2, RoundingMode.DOWN);
+        if (bankAccount.getAccruedInterest().signum() != 0) {
+            bankAccountRepository.clearAccruedInterest(bankAccount.getId());
+        }
+        if (interest.signum() <= 0) {
+            return;
+        }
+        bankAccount.setBalance(bankAccount.getBalance().add(interest));
+
+        Transaction savedTransaction = transactionRepository.save(Transaction.builder()
+                .toAccount(bankAccount)
+                .amount(interest)
+                .type(TransactionType.INTEREST)
+                .status(TransactionStatus.COMPLETED)
+                .build());
+        transactionOutboxPublisher.saveTransactionEvent("INTEREST_APPLIED", bankAccount.getUserId(),
+                savedTransaction, null, bankAccount, interest);
+    }
+
+    /**
+     * Operations-only: changes the number of balance stripes of an active account. Closed and blocked accounts are
+     * rejected; their stripes are already swept into the balance when the status changes.
+     */
     @Transactional
+    public BankAccountResponse updateBalanceStripes(UUID accountId, UpdateBalanceStripesRequest request) {
+        BankAccount bankAccount = bankAccountRepository.findByIdForUpdate(accountId)
+                .orElseThrow(() -> new BankAccountNotFoundException(accountId));
+        ensureBankAccountIsActive(bankAccount, "Restripe");
+
+        balanceStripeService.restripe(bankAccount, request.getStripes());
+
+        BankAccount savedBankAccount = bankAccountRepository.save(bankAccount);
+
+        log.info("Bank Account balance stripes changed: accountId={}, stripes={}", accountId, request.getStripes());
+
+        return bankAccountMapper.toResponse(savedBankAccount);
+    }
+
     public TransferResponse deposit(UUID userId, UUID accountId, BalanceOperationRequest request) {
-        BigDecimal amount = request.getAmount();
+        if (useGroupCommit()) {
+            return accountGroupCommitExecutor.submit(new BalanceOperation(userId, accountId, TransactionType.DEPOSIT,
+                    request.getAmount()), this::applyBalanceOperations);
+        }
+        return retryingTransactionExecutor.execute("deposit", () -> executeDeposit(userId, accountId, request));
+    }
 
-        BankAccount account = bankAccountRepository.findLockedByIdAndUserId(accountId, userId)
-                .orElseThrow(() -> new BankAccountNotFoundException(accountId));
+    public TransferResponse withdraw(UUID userId, UUID accountId, BalanceOperationRequest request) {
+        if (useGroupCommit()) {
+            return accountGroupCommitExecutor.submit(new BalanceOperation(userId, accountId,
+                    TransactionType.WITHDRAWAL, request.getAmount()), this::applyBalanceOperations);
+        }
+        return retryingTransactionExecutor.execute("withdraw", () -> executeWithdraw(userId, accountId, request));
+    }
 
-        ensureBankAccountIsActive(account, "Deposit");
+    private TransferResponse executeDeposit(UUID userId, UUID accountId, BalanceOperationRequest request) {
+        BigDecimal amount = request.getAmount();
 
-        account.setBalance(account.getBalance().add(amount));
-        bankAccountRepository.save(account);
+        if (conditionalUpdates) {
+            Optional<String> currency = bankAccountRepository.creditActiveAccount(accountId, userId, amount);
+            if (currency.isPresent()) {
+                return recordDeposit(userId, bankAccountRepository.getReferenceById(accountId),
+                        Currency.valueOf(currency.get()), amount);
+            }
+        }
 
-        Transaction transaction = Transaction.builder()
-                .fromAccount(null)
-                .toAccount(account)
-                .amount(amount)
-                .type(TransactionType.DEPOSIT)
-                .status(TransactionStatus.COMPLETED)
-                .build();
+        int balanceStripes = bankAccountRepository.findBalanceStripesById(accountId)
+                .orElseThrow(() -> new BankAccountNotFoundException(accountId));
 
-        Transaction savedTransaction = transactionRepository.save(transaction);
+        BankAccount account = (balanceStripes > 0
+                ? bankAccountRepository.findSharedByIdAndUserId(accountId, userId)
+                : bankAccountRepository.findLockedByIdAndUserId(accountId, userId))
+                .orElseThrow(() -> new BankAccountNotFoundException(accountId));
 
-        transactionOutboxPublisher.saveTransactionEvent("DEPOSIT_COMPLETED", userId, savedTransaction,
-                null, account, amount);
+        ensureBankAccountIsActive(account, "Deposit");
 
-        log.info("Deposit completed: txId={}, accountId={}, userId={}, amount={}", savedTransaction.getId(), accountId,
-                userId, amount);
+        if (balanceStripes > 0 && balanceStripeService.isStriped(account)) {
+            balanceStripeService.credit(account, amount);
+        } else if (balanceStripes > 0) {
+            throw new TransferBusinessException("Deposit failed: Account balance layout changed, please retry");
+        } else {
+            account.setBalance(account.getBalance().add(amount));
+            bankAccountRepository.save(account);
+        }
 
-        return new TransferResponse(savedTransaction.getId());
+        return recordDeposit(userId, account, account.getCurrency(), amount);
     }
 
-    @Transactional
-    public TransferResponse withdraw(UUID userId, UUID accountId, BalanceOperationRequest request) {
+    private TransferResponse executeWithdraw(UUID userId, UUID accountId, BalanceOperationRequest request) {
         BigDecimal amount = request.getAmount();
 
+        if (conditionalUpdates) {
+            Optional<String> currency = bankAccountRepository.debitActiveAccount(accountId, userId, amount);
+            if (currency.isPresent()) {
+                return recordWithdrawal(userId, bankAccountRepository.getReferenceById(accountId),
+                        Currency.valueOf(currency.get()), amount);
+            }
+        }
+
         BankAccount account = bankAccountRepository.findLockedByIdAndUserId(accountId, userId)
                 .orElseThrow(() -> new BankAccountNotFoundException(accountId));
 
         ensureBankAccountIsActive(account, "Withdraw");
 
+        if (account.getBalance().compareTo(amount) < 0) {
+            balanceStripeService.sweepStripes(account);
+        }
         if (account.getBalance().compareTo(amount) < 0) {
             throw new TransferBusinessException("Insufficient funds");
         }
@@ -149,6 +240,83 @@ public class BankAccountService {
         account.setBalance(account.getBalance().subtract(amount));
         bankAccountRepository.save(account);
 
+        return recordWithdrawal(userId, account, account.getCurrency(), amount);
+    }
+
+    private boolean useGroupCommit() {
+        return accountGroupCommitExecutor.isEnabled() && !TransactionSynchronizationManager.isActualTransactionActive();
+    }
+
+    private void applyBalanceOperations(List<BalanceOperation> operations) {
+        UUID accountId = operations.get(0).getAccountId();
+        Optional<BankAccount> lockedAccount = bankAccountRepository.findByIdForUpdate(accountId);
+        if (lockedAccount.isEmpty()) {
+            operations.forEach(operation -> operation.fail(new BankAccountNotFoundException(accountId)));
+            return;
+        }
+
+        BankAccount account = lockedAccount.get();
+        List<BalanceOperation> applied = new ArrayList<>();
+        boolean swept = false;
+        for (BalanceOperation operation : operations) {
+            try {
+                if (!account.getUserId().equals(operation.getUserId())) {
+                    throw new BankAccountNotFoundException(accountId);
+                }
+                BigDecimal amount = operation.getAmount();
+                if (operation.getType() == TransactionType.DEPOSIT) {
+                    ensureBankAccountIsActive(account, "Deposit");
+                    account.setBalance(account.getBalance().add(amount));
+                } else {
+                    ensureBankAccountIsActive(account, "Withdraw");
+                    if (account.getBalance().compareTo(amount) < 0 && !swept) {
+                        balanceStripeService.sweepStripes(account);
+                        swept = true;
+                    }
+                    if (account.getBalance().compareTo(amount) < 0) {
+                        throw new TransferBusinessException("Insufficient funds");
+                    }
+                    account.setBalance(account.getBalance().subtract(amount));
+                }
+                applied.add(operation);
+            } catch (TransferBusinessException | BankAccountNotFoundException e) {
+                operation.fail(e);
+            }
+        }
+
+        if (applied.isEmpty()) {
+            return;
+        }
+        bankAccountRepository.save(account);
+
+        for (BalanceOperation operation : applied) {
+            operation.succeed(operation.getType() == TransactionType.DEPOSIT
+                    ? recordDeposit(operation.getUserId(), account, account.getCurrency(), operation.getAmount())
+                    : recordWithdrawal(operation.getUserId(), account, account.getCurrency(), operation.getAmount()));
+        }
+    }
+
+    private TransferResponse recordDeposit(UUID userId, BankAccount account, Currency currency, BigDecimal amount) {
+        Transaction transaction = Transaction.builder()
+                .fromAccount(null)
+                .toAccount(account)
+                .amount(amount)
+                .type(TransactionType.DEPOSIT)
+                .status(TransactionStatus.COMPLETED)
+                .build();
+
+        Transaction savedTransaction = transactionRepository.save(transaction);
+
+        transactionOutboxPublisher.saveTransactionEvent("DEPOSIT_COMPLETED", userId, savedTransaction,
+                null, account.getId(), currency, amount);
+
+        log.info("Deposit completed: txId={}, accountId={}, userId={}, amount={}", savedTransaction.getId(),
+                account.getId(), userId, amount);
+
+        return new TransferResponse(savedTransaction.getId());
+    }
+
+    private TransferResponse recordWithdrawal(UUID userId, BankAccount account, Currency currency, BigDecimal amount) {
         Transaction transaction = Transaction.builder()
                 .fromAccount(account)
                 .toAccount(null)
@@ -160,14 +328,20 @@ public class BankAccountService {
         Transaction savedTransaction = transactionRepository.save(transaction);
 
         transactionOutboxPublisher.saveTransactionEvent("WITHDRAWAL_COMPLETED", userId, savedTransaction,
-                account, null, amount);
+                account.getId(), null, currency, amount);
 
         log.info("Withdrawal completed: txId={}, accountId={}, userId={}, amount={}", savedTransaction.getId(),
-                accountId, userId, amount);
+                account.getId(), userId, amount);
 
         return new TransferResponse(savedTransaction.getId());
     }
 
+    private BankAccountResponse toResponse(BankAccount bankAccount) {
+        BankAccountResponse response = bankAccountMapper.toResponse(bankAccount);
+        response.setBalance(balanceStripeService.totalBalance(bankAccount));
+        return response;
+    }
+
     private String generateAccountNumber() {
         return "ACC-" + System.currentTimeMillis() + "-" + UUID.randomUUID().toString().substring(0, 4);
     }
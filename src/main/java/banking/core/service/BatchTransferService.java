@@ -0,0 +1,202 @@
+package banking.core.service;
+
+import banking.core.dto.requests.BatchTransferRequest;
+import banking.core.dto.requests.TransferRequest;
+import banking.core.dto.responses.BatchTransferItemResponse;
+import banking.core.dto.responses.BatchTransferResponse;
+import banking.core.error.exception.BankAccountNotFoundException;
+import banking.core.error.exception.TransferBusinessException;
+import banking.core.error.exception.ValidationException;
+import banking.core.model.entity.BankAccount;
+import banking.core.model.entity.Transaction;
+import banking.core.model.enums.BatchTransferItemStatus;
+import banking.core.model.enums.BatchTransferMode;
+import banking.core.model.enums.TransactionStatus;
+import banking.core.model.enums.TransactionType;
+import banking.core.repository.BankAccountRepository;
+import banking.core.repository.TransactionRepository;
+import banking.core.service.concurrency.RetryingTransactionExecutor;
+import banking.core.service.publisher.TransferOutboxPublisher;
+import banking.core.service.validator.TransferValidator;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Executes many transfer legs in one transaction. All involved accounts are locked with a single
+ * {@code ORDER BY id FOR UPDATE} query, legs are applied to in-memory balances in request order, and the resulting
+ * account updates, transactions and outbox events are flushed together with JDBC batching.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BatchTransferService {
+    private final BankAccountRepository bankAccountRepository;
+    private final TransactionRepository transactionRepository;
+    private final TransferValidator transferValidator;
+    private final TransferOutboxPublisher transferOutboxPublisher;
+    private final BalanceStripeService balanceStripeService;
+    private final RetryingTransactionExecutor retryingTransactionExecutor;
+
+    public BatchTransferResponse transferBatch(UUID userId, BatchTransferRequest request) {
+        List<TransferLeg> legs = request.getTransfers().stream()
+                .map(transfer -> new TransferLeg(userId, transfer))
+                .toList();
+
+        List<BatchTransferItemResponse> results = retryingTransactionExecutor.execute("transfer-batch",
+                () -> executeLegs(legs, request.getMode()));
+
+        int completed = countByStatus(results, BatchTransferItemStatus.COMPLETED);
+        int failed = countByStatus(results, BatchTransferItemStatus.FAILED);
+
+        log.info("Batch transfer finished: userId={}, mode={}, size={}, completed={}, failed={}", userId,
+                request.getMode(), legs.size(), completed, failed);
+
+        return new BatchTransferResponse(request.getMode(), completed, failed, results);
+    }
+
+    public List<BatchTransferItemResponse> executeLegs(List<TransferLeg> legs, BatchTransferMode mode) {
+        String[] errors = new String[legs.size()];
+        boolean anyFailed = false;
+
+        Set<UUID> accountIds = new HashSet<>();
+        for (int i = 0; i < legs.size(); i++) {
+            TransferRequest request = legs.get(i).getRequest();
+            try {
+                transferValidator.validatedRequest(request);
+                accountIds.add(request.getFromAccountId());
+                accountIds.add(request.getToAccountId());
+            } catch (ValidationException e) {
+                errors[i] = String.join("; ", e.getErrors());
+                anyFailed = true;
+            }
+        }
+
+        if (anyFailed && mode == BatchTransferMode.ALL_OR_NOTHING) {
+            return notExecuted(errors);
+        }
+
+        Map<UUID, BankAccount> accounts = accountIds.isEmpty()
+                ? Map.of()
+                : bankAccountRepository.findAllByIdInForUpdate(accountIds).stream()
+                .collect(Collectors.toMap(BankAccount::getId, Function.identity()));
+
+        Map<UUID, BigDecimal> balances = new HashMap<>();
+        accounts.values().forEach(account -> balances.put(account.getId(), account.getBalance()));
+
+        boolean[] applied = new boolean[legs.size()];
+        for (int i = 0; i < legs.size(); i++) {
+            if (errors[i] != null) {
+                continue;
+            }
+            try {
+                applyLeg(legs.get(i), accounts, balances);
+                applied[i] = true;
+            } catch (TransferBusinessException | BankAccountNotFoundException e) {
+                errors[i] = e.getMessage();
+                if (mode == BatchTransferMode.ALL_OR_NOTHING) {
+                    return notExecuted(errors);
+                }
+            }
+        }
+
+        for (BankAccount account : accounts.values()) {
+            BigDecimal balance = balances.get(account.getId());
+            if (account.getBalance().compareTo(balance) != 0) {
+                account.setBalance(balance);
+            }
+        }
+
+        List<Transaction> transactions = new ArrayList<>();
+        for (int i = 0; i < legs.size(); i++) {
+            if (applied[i]) {
+                TransferRequest request = legs.get(i).getRequest();
+                transactions.add(Transaction.builder()
+                        .fromAccount(accounts.get(request.getFromAccountId()))
+                        .toAccount(accounts.get(request.getToAccountId()))
+                        .amount(request.getAmount())
+                        .type(TransactionType.TRANSFER)
+                        .status(TransactionStatus.COMPLETED)
+                        .build());
+            }
+        }
+        List<Transaction> savedTransactions = transactionRepository.saveAll(transactions);
+
+        List<BatchTransferItemResponse> results = new ArrayList<>(legs.size());
+        int saved = 0;
+        for (int i = 0; i < legs.size(); i++) {
+            if (!applied[i]) {
+                results.add(new BatchTransferItemResponse(i, BatchTransferItemStatus.FAILED, null, errors[i]));
+                continue;
+            }
+            TransferLeg leg = legs.get(i);
+            Transaction transaction = savedTransactions.get(saved++);
+            transferOutboxPublisher.saveTransferEvent(leg.getUserId(), transaction.getFromAccount(),
+                    transaction.getToAccount(), transaction.getAmount(), transaction);
+            results.add(new BatchTransferItemResponse(i, BatchTransferItemStatus.COMPLETED, transaction.getId(),
+                    null));
+        }
+        return results;
+    }
+
+    private void applyLeg(TransferLeg leg, Map<UUID, BankAccount> accounts, Map<UUID, BigDecimal> balances) {
+        TransferRequest request = leg.getRequest();
+        BankAccount sourceBankAccount = accounts.get(request.getFromAccountId());
+        if (sourceBankAccount == null) {
+            throw new BankAccountNotFoundException(request.getFromAccountId());
+        }
+        BankAccount destinationBankAccount = accounts.get(request.getToAccountId());
+        if (destinationBankAccount == null) {
+            throw new BankAccountNotFoundException(request.getToAccountId());
+        }
+
+        transferValidator.validateAccounts(leg.getUserId(), sourceBankAccount, destinationBankAccount);
+
+        BigDecimal amount = request.getAmount();
+        BigDecimal sourceBalance = balances.get(sourceBankAccount.getId());
+        if (sourceBalance.compareTo(amount) < 0) {
+            sourceBalance = sourceBalance.add(balanceStripeService.sweepStripes(sourceBankAccount));
+            balances.put(sourceBankAccount.getId(), sourceBalance);
+        }
+        if (sourceBalance.compareTo(amount) < 0) {
+            throw new TransferBusinessException("Insufficient funds");
+        }
+
+        balances.put(sourceBankAccount.getId(), sourceBalance.subtract(amount));
+        balances.merge(destinationBankAccount.getId(), amount, BigDecimal::add);
+    }
+
+    private List<BatchTransferItemResponse> notExecuted(String[] errors) {
+        List<BatchTransferItemResponse> results = new ArrayList<>(errors.length);
+        for (int i = 0; i < errors.length; i++) {
+            results.add(errors[i] == null
+                    ? new BatchTransferItemResponse(i, BatchTransferItemStatus.NOT_EXECUTED, null, null)
+                    : new BatchTransferItemResponse(i, BatchTransferItemStatus.FAILED, null, errors[i]));
+        }
+        return results;
+    }
+
+    private int countByStatus(List<BatchTransferItemResponse> results, BatchTransferItemStatus status) {
+        return (int) results.stream().filter(result -> result.getStatus() == status).count();
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class TransferLeg {
+        private final UUID userId;
+        private final TransferRequest request;
+    }
+}
@@ -1,75 +1,409 @@
 package banking.core.service;
 
+import banking.core.dto.events.TransactionEvent;
 import banking.core.model.entity.BankAccount;
+import banking.core.model.entity.InterestRun;
+import banking.core.model.entity.InterestRunRange;
 import banking.core.model.entity.Transaction;
 import banking.core.model.enums.AccountStatus;
+import banking.core.model.enums.InterestExecutionMode;
+import banking.core.model.enums.InterestRunStatus;
 import banking.core.model.enums.TransactionStatus;
 import banking.core.model.enums.TransactionType;
 import banking.core.repository.BankAccountRepository;
+import banking.core.repository.InterestRunRangeRepository;
+import banking.core.repository.InterestRunRepository;
 import banking.core.repository.TransactionRepository;
+import banking.core.repository.projection.InterestCandidate;
+import banking.core.repository.projection.InterestChunkResult;
+import banking.core.service.bulk.JdbcBulkWriter;
+import banking.core.service.concurrency.RetryingTransactionExecutor;
 import banking.core.service.publisher.TransactionOutboxPublisher;
+import banking.core.service.publisher.util.OutboxJsonUtil;
+import banking.core.service.scheduler.ScheduledJobLockService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.math.BigInteger;
 import java.math.RoundingMode;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 
+/**
+ * Daily interest, run once per business date. The account keyspace is split into {@code ranges} slices that a pool
+ * of {@code workers} credits in parallel, one chunk per transaction. Each chunk moves its range's checkpoint in the
+ * same transaction, so a rerun after a failure resumes where every range stopped and never credits an account twice
+ * for the same day. Every replica runs the job; each range is leased as a shard, so replicas split the ranges between
+ * them and whichever finishes the last one closes the run. In accrual mode the daily run only grows {@code accrued_interest}, and
+ * {@link #capitalizeInterest()} posts it to the balance once per period.
+ */
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class InterestService {
+    private static final BigInteger KEYSPACE = BigInteger.ONE.shiftLeft(128);
+
+    private static final String CREDIT_BALANCE_SQL = "UPDATE bank_accounts SET balance = balance + ?, " +
+            "version = version + 1, updated_at = localtimestamp WHERE id = ?";
+    private static final String INSERT_TRANSACTION_SQL = "INSERT INTO transactions (id, from_account_id, " +
+            "to_account_id, amount, type, status, created_at) " +
+            "VALUES (?, NULL, ?, ?, 'INTEREST', 'COMPLETED', localtimestamp)";
+    private static final String INSERT_EVENT_SQL = "INSERT INTO outbox_events (aggregate_type, aggregate_id, topic, " +
+            "payload, status, retry_count) VALUES ('TRANSACTION', ?, ?, ?, 'PENDING', 0)";
+
     private final BankAccountRepository bankAccountRepository;
     private final TransactionRepository transactionRepository;
+    private final InterestRunRepository interestRunRepository;
+    private final InterestRunRangeRepository interestRunRangeRepository;
     private final TransactionOutboxPublisher transactionOutboxPublisher;
+    private final BalanceStripeService balanceStripeService;
+    private final RetryingTransactionExecutor retryingTransactionExecutor;
+    private final ScheduledJobLockService scheduledJobLockService;
+    private final JdbcBulkWriter jdbcBulkWriter;
+    private final OutboxJsonUtil outboxJsonUtil;
 
     @Value("${banking.interest.annual-rate}")
     private BigDecimal annualRate;
 
-    @Transactional
+    @Value("${banking.interest.execution-mode:JPA}")
+    private InterestExecutionMode executionMode;
+
+    @Value("${banking.interest.chunk-size:10000}")
+    private int chunkSize;
+
+    @Value("${banking.interest.accrual.enabled:false}")
+    private boolean accrualEnabled;
+
+    @Value("${banking.interest.ranges:64}")
+    private int ranges;
+
+    @Value("${banking.interest.workers:4}")
+    private int workers;
+
+    @Value("${banking.kafka.topics.transactions}")
+    private String topicTransactions;
+
+    private ExecutorService rangeExecutor;
+
+    @PostConstruct
+    void start() {
+        AtomicInteger threadNumber = new AtomicInteger();
+        rangeExecutor = Executors.newFixedThreadPool(workers, runnable -> {
+            Thread thread = new Thread(runnable, "interest-range-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    void stop() {
+        rangeExecutor.shutdown();
+    }
+
+    /**
+     * Credits interest for today. Runs left unfinished on earlier dates (a replica stopped mid-run, or a range failed)
+     * are resumed first, oldest first; if one of them still fails, today's run is not started.
+     *
+     * @return accounts credited by this call, over all resumed runs and today's
+     */
     public int applyDailyInterest() {
-        BigDecimal dailyRate = annualRate.divide(BigDecimal.valueOf(365), 12, RoundingMode.HALF_UP);
+        LocalDate today = LocalDate.now();
         int numberOfProcessedBankAccounts = 0;
-        UUID lastId = null;
+        for (InterestRun unfinished : interestRunRepository.findByStatusAndBusinessDateBeforeOrderByBusinessDate(
+                InterestRunStatus.IN_PROGRESS, today)) {
+            log.warn("Resuming unfinished daily interest run. businessDate={}", unfinished.getBusinessDate());
+            numberOfProcessedBankAccounts += applyDailyInterest(unfinished.getBusinessDate());
+        }
+        return numberOfProcessedBankAccounts + applyDailyInterest(today);
+    }
 
+    /**
+     * Credits interest for {@code businessDate}, resuming an unfinished run for that date if there is one.
+     *
+     * @return accounts credited by this call
+     */
+    public int applyDailyInterest(LocalDate businessDate) {
+        InterestRun run = retryingTransactionExecutor.execute("interest-run", () -> startRun(businessDate));
+        if (run.getStatus() == InterestRunStatus.COMPLETED) {
+            log.info("Daily interest already applied. businessDate={}, creditedAccounts={}", businessDate,
+                    run.getCreditedAccounts());
+            return 0;
+        }
+        BigDecimal dailyRate = run.getAnnualRate().divide(BigDecimal.valueOf(365), 12, RoundingMode.HALF_UP);
+
+        for (UUID stripedAccountId : bankAccountRepository.findStripedAccountIds()) {
+            balanceStripeService.sweepAccount(stripedAccountId);
+        }
+
+        List<InterestRunRange> openRanges = interestRunRangeRepository
+                .findByBusinessDateAndStatusNotOrderByRangeNo(businessDate, InterestRunStatus.COMPLETED);
+        List<Future<Optional<Integer>>> futures = new ArrayList<>(openRanges.size());
+        for (InterestRunRange range : openRanges) {
+            String shard = "interest:" + businessDate + ":" + range.getRangeNo();
+            futures.add(rangeExecutor.submit(() -> scheduledJobLockService.callShard(shard,
+                    () -> applyRange(range.getId(), dailyRate))));
+        }
+
+        int numberOfProcessedBankAccounts = 0;
+        int failedRanges = 0;
+        int rangesHeldElsewhere = 0;
+        for (Future<Optional<Integer>> future : futures) {
+            try {
+                Optional<Integer> processed = future.get();
+                if (processed.isPresent()) {
+                    numberOfProcessedBankAccounts += processed.get();
+                } else {
+                    rangesHeldElsewhere++;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while applying daily interest", e);
+            } catch (ExecutionException e) {
+                failedRanges++;
+                log.error("Interest range failed. businessDate={}", businessDate, e.getCause());
+            }
+        }
+        if (failedRanges > 0) {
+            throw new IllegalStateException("Daily interest incomplete, rerun to resume: businessDate=" +
+                    businessDate + ", failedRanges=" + failedRanges);
+        }
+
+        Long creditedAccounts = retryingTransactionExecutor.execute("interest-run", () -> finishRun(businessDate));
+        if (creditedAccounts == null) {
+            log.info("Daily interest ranges done here, others still open. businessDate={}, processedAccounts={}, " +
+                    "rangesHeldElsewhere={}", businessDate, numberOfProcessedBankAccounts, rangesHeldElsewhere);
+            return numberOfProcessedBankAccounts;
+        }
+        log.info("Daily interest applied. businessDate={}, annualRate={}, mode={}, processedAccounts={}, " +
+                        "creditedAccounts={}, at={}", businessDate, run.getAnnualRate(),
+                accrualEnabled ? "ACCRUAL" : executionMode,
+                numberOfProcessedBankAccounts, creditedAccounts, LocalDateTime.now());
+        return numberOfProcessedBankAccounts;
+    }
+
+    /**
+     * Posts the whole cents of accrued interest to every account that has any, one chunk per transaction. Each chunk
+     * moves the amount out of {@code accrued_interest} in the same statement, so a rerun only picks up what is left.
+     *
+     * @return accounts credited
+     */
+    public int capitalizeInterest() {
+        int numberOfProcessedBankAccounts = 0;
+        UUID lastId = null;
         while (true) {
-            List<BankAccount> bankAccounts = bankAccountRepository.findForInterestBatch(AccountStatus.ACTIVE,
-                    BigDecimal.ZERO, lastId, PageRequest.of(0, 200));
-            if (bankAccounts.isEmpty()) {
+            UUID chunkLastId = lastId;
+            InterestChunkResult chunk = retryingTransactionExecutor.execute("interest-capitalization",
+                    () -> bankAccountRepository.capitalizeInterestChunk(chunkLastId, chunkSize, topicTransactions));
+            if (chunk.getLastId() == null) {
                 break;
             }
+            numberOfProcessedBankAccounts += chunk.getCredited();
+            lastId = chunk.getLastId();
+        }
+        log.info("Accrued interest capitalized. processedAccounts={}, at={}", numberOfProcessedBankAccounts,
+                LocalDateTime.now());
+        return numberOfProcessedBankAccounts;
+    }
 
-            for (BankAccount bankAccount : bankAccounts) {
-                var balance = bankAccount.getBalance();
-                var interest = balance.multiply(dailyRate).setScale(2, RoundingMode.HALF_UP);
+    private InterestRun startRun(LocalDate businessDate) {
+        if (interestRunRepository.insertIfAbsent(businessDate, annualRate) > 0) {
+            List<InterestRunRange> slices = new ArrayList<>(ranges);
+            for (int rangeNo = 0; rangeNo < ranges; rangeNo++) {
+                slices.add(InterestRunRange.builder()
+                        .businessDate(businessDate)
+                        .rangeNo(rangeNo)
+                        .rangeStart(rangeBoundary(rangeNo, ranges))
+                        .rangeEnd(rangeNo == ranges - 1 ? null : rangeBoundary(rangeNo + 1, ranges))
+                        .build());
+            }
+            interestRunRangeRepository.saveAll(slices);
+        }
+        return interestRunRepository.findById(businessDate).orElseThrow();
+    }
 
+    /**
+     * Closes the run once every range is completed.
+     *
+     * @return accounts credited over the whole run, or {@code null} while ranges are still open on other replicas
+     */
+    private Long finishRun(LocalDate businessDate) {
+        InterestRun run = interestRunRepository.findByIdForUpdate(businessDate).orElseThrow();
+        if (run.getStatus() == InterestRunStatus.COMPLETED) {
+            return run.getCreditedAccounts();
+        }
+        if (interestRunRangeRepository.countByBusinessDateAndStatusNot(businessDate,
+                InterestRunStatus.COMPLETED) > 0) {
+            return null;
+        }
+        run.setCreditedAccounts(interestRunRangeRepository.sumCreditedAccounts(businessDate));
+        run.setStatus(InterestRunStatus.COMPLETED);
+        run.setFinishedAt(LocalDateTime.now());
+        return run.getCreditedAccounts();
+    }
+
+    private int applyRange(UUID rangeId, BigDecimal dailyRate) {
+        int numberOfProcessedBankAccounts = 0;
+        while (true) {
+            Integer credited = retryingTransactionExecutor.execute("interest", () -> applyNextChunk(rangeId,
+                    dailyRate));
+            if (credited == null) {
+                return numberOfProcessedBankAccounts;
+            }
+            numberOfProcessedBankAccounts += credited;
+        }
+    }
+
+    /**
+     * Credits the next chunk of the range and moves its checkpoint, under the range's row lock.
+     *
+     * @return accounts credited, or {@code null} once the range is exhausted
+     */
+    private Integer applyNextChunk(UUID rangeId, BigDecimal dailyRate) {
+        InterestRunRange range = interestRunRangeRepository.findByIdForUpdate(rangeId).orElseThrow();
+        if (range.getStatus() == InterestRunStatus.COMPLETED) {
+            return null;
+        }
+
+        ChunkOutcome chunk;
+        if (accrualEnabled) {
+            chunk = accrue(range, dailyRate);
+        } else if (executionMode == InterestExecutionMode.SET_BASED) {
+            chunk = applySetBased(range, dailyRate);
+        } else if (executionMode == InterestExecutionMode.BULK) {
+            chunk = applyBulk(range, dailyRate);
+        } else {
+            chunk = applyRowByRow(range, dailyRate);
+        }
+        if (chunk.lastId() == null) {
+            range.setStatus(InterestRunStatus.COMPLETED);
+            return null;
+        }
+        range.setLastId(chunk.lastId());
+        range.setCreditedAccounts(range.getCreditedAccounts() + chunk.credited());
+        range.setStatus(InterestRunStatus.IN_PROGRESS);
+        return chunk.credited();
+    }
+
+    private ChunkOutcome accrue(InterestRunRange range, BigDecimal dailyRate) {
+        InterestChunkResult chunk = bankAccountRepository.accrueInterestChunk(dailyRate, range.getRangeStart(),
+                range.getRangeEnd(), range.getLastId(), chunkSize);
+        return new ChunkOutcome(chunk.getLastId(), chunk.getCredited());
+    }
+
+    private ChunkOutcome applySetBased(InterestRunRange range, BigDecimal dailyRate) {
+        InterestChunkResult chunk = bankAccountRepository.applyInterestChunk(dailyRate, range.getRangeStart(),
+                range.getRangeEnd(), range.getLastId(), chunkSize, topicTransactions);
+        return new ChunkOutcome(chunk.getLastId(), chunk.getCredited());
+    }
+
+    /**
+     * Same arithmetic and events as {@link #applyRowByRow}, but the chunk is read as a projection and written through
+     * {@link JdbcBulkWriter}, so no account is managed by the persistence context and each statement goes out in
+     * JDBC batches instead of one round trip per row.
+     */
+    private ChunkOutcome applyBulk(InterestRunRange range, BigDecimal dailyRate) {
+        List<InterestCandidate> candidates = bankAccountRepository.lockInterestCandidates(range.getRangeStart(),
+                range.getRangeEnd(), range.getLastId(), chunkSize);
+        if (candidates.isEmpty()) {
+            return new ChunkOutcome(null, 0);
+        }
+
+        int numberOfProcessedBankAccounts = 0;
+        try (JdbcBulkWriter.Session session = jdbcBulkWriter.open()) {
+            var balances = session.<InterestCredit>statement(CREDIT_BALANCE_SQL, (ps, credit) -> {
+                ps.setBigDecimal(1, credit.interest());
+                ps.setObject(2, credit.accountId());
+            });
+            var transactions = session.<InterestCredit>statement(INSERT_TRANSACTION_SQL, (ps, credit) -> {
+                ps.setObject(1, credit.transactionId());
+                ps.setObject(2, credit.accountId());
+                ps.setBigDecimal(3, credit.interest());
+            });
+            var events = session.<InterestCredit>statement(INSERT_EVENT_SQL, (ps, credit) -> {
+                ps.setObject(1, credit.transactionId());
+                ps.setString(2, topicTransactions);
+                ps.setBytes(3, credit.payload());
+            });
+
+            for (InterestCandidate candidate : candidates) {
+                var interest = candidate.getBalance().multiply(dailyRate).setScale(2, RoundingMode.HALF_UP);
                 if (interest.compareTo(BigDecimal.ZERO) > 0) {
-                    bankAccount.setBalance(balance.add(interest));
-                    bankAccountRepository.save(bankAccount);
-
-                    Transaction transaction = Transaction.builder()
-                            .toAccount(bankAccount)
-                            .amount(interest)
-                            .type(TransactionType.INTEREST)
-                            .status(TransactionStatus.COMPLETED)
-                            .build();
-                    Transaction savedTransaction = transactionRepository.save(transaction);
-
-                    transactionOutboxPublisher.saveTransactionEvent("INTEREST_APPLIED",
-                            bankAccount.getUserId(), savedTransaction, null, bankAccount, interest);
+                    UUID transactionId = UUID.randomUUID();
+                    byte[] payload = outboxJsonUtil.toBytes(new TransactionEvent(transactionId,
+                            candidate.getUserId(), TransactionType.INTEREST.name(),
+                            TransactionStatus.COMPLETED.name(), null, candidate.getId(), interest,
+                            candidate.getCurrency(), LocalDateTime.now().toString()), "INTEREST_APPLIED");
+                    InterestCredit credit = new InterestCredit(candidate.getId(), transactionId, interest, payload);
+                    balances.add(credit);
+                    transactions.add(credit);
+                    events.add(credit);
                     numberOfProcessedBankAccounts++;
                 }
             }
-            lastId = bankAccounts.get(bankAccounts.size() - 1).getId();
         }
-        log.info("Daily interest applied. annualRate={}, processedAccounts={}, at={}", annualRate,
-                numberOfProcessedBankAccounts, LocalDateTime.now());
-        return numberOfProcessedBankAccounts;
+        return new ChunkOutcome(candidates.get(candidates.size() - 1).getId(), numberOfProcessedBankAccounts);
+    }
+
+    private ChunkOutcome applyRowByRow(InterestRunRange range, BigDecimal dailyRate) {
+        List<BankAccount> bankAccounts = bankAccountRepository.findForInterestBatch(AccountStatus.ACTIVE,
+                BigDecimal.ZERO, range.getRangeStart(), range.getRangeEnd(), range.getLastId(),
+                PageRequest.of(0, chunkSize));
+        if (bankAccounts.isEmpty()) {
+            return new ChunkOutcome(null, 0);
+        }
+
+        int numberOfProcessedBankAccounts = 0;
+        for (BankAccount bankAccount : bankAccounts) {
+            var balance = bankAccount.getBalance();
+            var interest = balance.multiply(dailyRate).setScale(2, RoundingMode.HALF_UP);
+
+            if (interest.compareTo(BigDecimal.ZERO) > 0) {
+                bankAccount.setBalance(balance.add(interest));
+                bankAccountRepository.save(bankAccount);
+
+                Transaction transaction = Transaction.builder()
+                        .toAccount(bankAccount)
+                        .amount(interest)
+                        .type(TransactionType.INTEREST)
+                        .status(TransactionStatus.COMPLETED)
+                        .build();
+                Transaction savedTransaction = transactionRepository.save(transaction);
+
+                transactionOutboxPublisher.saveTransactionEvent("INTEREST_APPLIED",
+                        bankAccount.getUserId(), savedTransaction, null, bankAccount, interest);
+                numberOfProcessedBankAccounts++;
+            }
+        }
+        return new ChunkOutcome(bankAccounts.get(bankAccounts.size() - 1).getId(), numberOfProcessedBankAccounts);
+    }
+
+    /**
+     * Lower bound of slice {@code rangeNo} when the 128-bit UUID keyspace is cut into {@code ranges} equal parts,
+     * matching PostgreSQL's unsigned byte-wise ordering of {@code uuid}.
+     */
+    private static UUID rangeBoundary(int rangeNo, int ranges) {
+        BigInteger boundary = KEYSPACE.multiply(BigInteger.valueOf(rangeNo)).divide(BigInteger.valueOf(ranges));
+        return new UUID(boundary.shiftRight(64).longValue(), boundary.longValue());
+    }
+
+    private record ChunkOutcome(UUID lastId, int credited) {
+    }
+
+    private record InterestCredit(UUID accountId, UUID transactionId, BigDecimal interest, byte[] payload) {
     }
 }
@@ -6,19 +6,24 @@ import banking.core.error.exception.BankAccountNotFoundException;
 import banking.core.error.exception.TransferBusinessException;
 import banking.core.model.entity.BankAccount;
 import banking.core.model.entity.Transaction;
-import banking.core.model.enums.AccountStatus;
 import banking.core.model.enums.TransactionStatus;
 import banking.core.model.enums.TransactionType;
+import banking.core.model.enums.TransferExecutionMode;
+import banking.core.model.enums.TransferResultCode;
 import banking.core.repository.BankAccountRepository;
 import banking.core.repository.TransactionRepository;
+import banking.core.repository.projection.AccountMetadata;
+import banking.core.repository.projection.TransferProcedureResult;
+import banking.core.service.cache.AccountMetadataCache;
+import banking.core.service.concurrency.RetryingTransactionExecutor;
 import banking.core.service.publisher.TransferOutboxPublisher;
 import banking.core.service.validator.TransferValidator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Isolation;
-import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Optional;
 import java.util.UUID;
 
 @Slf4j
@@ -29,27 +34,74 @@ public class TransferService {
     private final TransactionRepository transactionRepository;
     private final TransferValidator transferValidator;
     private final TransferOutboxPublisher transferOutboxPublisher;
+    private final BalanceStripeService balanceStripeService;
+    private final RetryingTransactionExecutor retryingTransactionExecutor;
+    private final AccountMetadataCache accountMetadataCache;
+
+    @Value("${banking.transfer.execution-mode:JPA}")
+    private TransferExecutionMode executionMode;
+
+    @Value("${banking.kafka.topics.transfers}")
+    private String topicTransfers;
 
-    @Transactional(isolation = Isolation.SERIALIZABLE)
     public TransferResponse transfer(UUID userId, TransferRequest request) {
         transferValidator.validatedRequest(request);
+        prevalidateAccounts(userId, request);
+
+        if (executionMode == TransferExecutionMode.STORED_PROCEDURE) {
+            return retryingTransactionExecutor.execute("transfer", () -> executeTransferProcedure(userId, request));
+        }
+        return retryingTransactionExecutor.execute("transfer", () -> executeTransfer(userId, request));
+    }
+
+    private void prevalidateAccounts(UUID userId, TransferRequest request) {
+        AccountMetadata source = accountMetadataCache.find(request.getFromAccountId())
+                .orElseThrow(() -> new BankAccountNotFoundException(request.getFromAccountId()));
+        AccountMetadata destination = accountMetadataCache.find(request.getToAccountId())
+                .orElseThrow(() -> new BankAccountNotFoundException(request.getToAccountId()));
+        transferValidator.validateImmutableAttributes(userId, source, destination);
+    }
 
+    private TransferResponse executeTransferProcedure(UUID userId, TransferRequest request) {
+        TransferProcedureResult result = transactionRepository.executeTransferProcedure(userId,
+                request.getFromAccountId(), request.getToAccountId(), request.getAmount(), topicTransfers);
+
+        TransferResultCode resultCode = TransferResultCode.valueOf(result.getResultCode());
+        switch (resultCode) {
+            case COMPLETED -> {
+                log.info("Transfer completed: transactionId={}, from={}, to={}, amount={}",
+                        result.getTransactionId(), request.getFromAccountId(), request.getToAccountId(),
+                        request.getAmount());
+                return new TransferResponse(result.getTransactionId());
+            }
+            case SOURCE_NOT_FOUND -> throw new BankAccountNotFoundException(request.getFromAccountId());
+            case DESTINATION_NOT_FOUND -> throw new BankAccountNotFoundException(request.getToAccountId());
+            default -> throw new TransferBusinessException(resultCode.getMessage());
+        }
+    }
+
+    private TransferResponse executeTransfer(UUID userId, TransferRequest request) {
         var sourceBankAccountId = request.getFromAccountId();
         var destinationBankAccountId = request.getToAccountId();
         var amount = request.getAmount();
 
         UUID firstId = sourceBankAccountId;
         UUID secondId = destinationBankAccountId;
-        if (firstId.compareTo(secondId) > 0) {
+        if (compareLockOrder(firstId, secondId) > 0) {
             firstId = destinationBankAccountId;
             secondId = sourceBankAccountId;
         }
 
-        var firstBankAccountOptional = bankAccountRepository.findByIdForUpdate(firstId);
+        boolean stripedDestination = bankAccountRepository.findBalanceStripesById(destinationBankAccountId)
+                .orElseThrow(() -> new BankAccountNotFoundException(destinationBankAccountId)) > 0;
+
+        var firstBankAccountOptional = lockForTransfer(firstId,
+                stripedDestination && firstId.equals(destinationBankAccountId));
         if (firstBankAccountOptional.isEmpty()) {
             throw new BankAccountNotFoundException(firstId);
         }
-        var secondBankAccountOptional = bankAccountRepository.findByIdForUpdate(secondId);
+        var secondBankAccountOptional = lockForTransfer(secondId,
+                stripedDestination && secondId.equals(destinationBankAccountId));
         if (secondBankAccountOptional.isEmpty()) {
             throw new BankAccountNotFoundException(secondId);
         }
@@ -72,33 +124,26 @@ public class TransferService {
             destinationBankAccount = secondBankAccount;
         }
 
-        if (!sourceBankAccount.getUserId().equals(userId)) {
-            throw new TransferBusinessException("Source Bank Account does not belong to the current user");
-        }
-        if (sourceBankAccount.getStatus() == AccountStatus.CLOSED) {
-            throw new TransferBusinessException("Source Bank Account is closed");
-        }
-        if (sourceBankAccount.getStatus() == AccountStatus.BLOCKED) {
-            throw new TransferBusinessException("Source Bank Account is blocked");
-        }
-        if (destinationBankAccount.getStatus() == AccountStatus.CLOSED) {
-            throw new TransferBusinessException("Destination Bank Account is closed");
-        }
-        if (destinationBankAccount.getStatus() == AccountStatus.BLOCKED) {
-            throw new TransferBusinessException("Destination Bank Account is blocked");
-        }
-        if (sourceBankAccount.getCurrency() != destinationBankAccount.getCurrency()) {
-            throw new TransferBusinessException("Bank Accounts must have same currency");
+        transferValidator.validateAccounts(userId, sourceBankAccount, destinationBankAccount);
+        if (sourceBankAccount.getBalance().compareTo(amount) < 0) {
+            balanceStripeService.sweepStripes(sourceBankAccount);
         }
         if (sourceBankAccount.getBalance().compareTo(amount) < 0) {
             throw new TransferBusinessException("Insufficient funds");
         }
+        if (stripedDestination && !balanceStripeService.isStriped(destinationBankAccount)) {
+            throw new TransferBusinessException("Destination Bank Account balance layout changed, please retry");
+        }
 
         sourceBankAccount.setBalance(sourceBankAccount.getBalance().subtract(amount));
-        destinationBankAccount.setBalance(destinationBankAccount.getBalance().add(amount));
-
         bankAccountRepository.save(sourceBankAccount);
-        bankAccountRepository.save(destinationBankAccount);
+
+        if (stripedDestination) {
+            balanceStripeService.credit(destinationBankAccount, amount);
+        } else {
+            destinationBankAccount.setBalance(destinationBankAccount.getBalance().add(amount));
+            bankAccountRepository.save(destinationBankAccount);
+        }
 
         Transaction transaction = Transaction.builder()
                 .fromAccount(sourceBankAccount)
@@ -118,4 +163,22 @@ public class TransferService {
 
         return new TransferResponse(savedTransaction.getId());
     }
+
+    /**
+     * Orders ids the way PostgreSQL compares {@code uuid} values (unsigned bytes), so that single transfers lock
+     * rows in the same order as {@code ORDER BY id ... FOR UPDATE} queries.
+     */
+    public static int compareLockOrder(UUID left, UUID right) {
+        int result = Long.compareUnsigned(left.getMostSignificantBits(), right.getMostSignificantBits());
+        if (result != 0) {
+            return result;
+        }
+        return Long.compareUnsigned(left.getLeastSignificantBits(), right.getLeastSignificantBits());
+    }
+
+    private Optional<BankAccount> lockForTransfer(UUID bankAccountId, boolean shared) {
+        return shared
+                ? bankAccountRepository.findByIdForShare(bankAccountId)
+                : bankAccountRepository.findByIdForUpdate(bankAccountId);
+    }
 }
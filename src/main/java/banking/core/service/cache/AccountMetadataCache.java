@@ -0,0 +1,59 @@
+package banking.core.service.cache;
+
+import banking.core.repository.BankAccountRepository;
+import banking.core.repository.projection.AccountMetadata;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Bounded cache of account metadata, used to reject transfers that can never succeed before any row lock is taken.
+ * It holds only attributes an account never changes (owner, currency), so entries cannot go stale and nothing has to
+ * be evicted when an account is updated. Account status is not cached and not pre-checked: closed and blocked
+ * accounts are rejected under the row lock.
+ * <p>
+ * Lookups do not lock. Once {@code max-size} entries are cached, each new entry replaces an arbitrary one.
+ */
+@Component
+@RequiredArgsConstructor
+public class AccountMetadataCache {
+    private final BankAccountRepository bankAccountRepository;
+
+    private final Map<UUID, AccountMetadata> entries = new ConcurrentHashMap<>();
+
+    @Value("${banking.accounts.metadata-cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${banking.accounts.metadata-cache.max-size:100000}")
+    private int maxSize;
+
+    public Optional<AccountMetadata> find(UUID accountId) {
+        if (!enabled) {
+            return bankAccountRepository.findMetadataById(accountId);
+        }
+
+        AccountMetadata cached = entries.get(accountId);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+
+        Optional<AccountMetadata> metadata = bankAccountRepository.findMetadataById(accountId);
+        metadata.ifPresent(this::put);
+        return metadata;
+    }
+
+    private void put(AccountMetadata metadata) {
+        Iterator<UUID> victims = entries.keySet().iterator();
+        while (entries.size() >= maxSize && victims.hasNext()) {
+            victims.next();
+            victims.remove();
+        }
+        entries.put(metadata.getId(), metadata);
+    }
+}
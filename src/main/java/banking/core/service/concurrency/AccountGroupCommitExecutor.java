@@ -0,0 +1,180 @@
+package banking.core.service.concurrency;
+
+import banking.core.dto.responses.TransferResponse;
+import banking.core.error.exception.TransferBusinessException;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Group commit for balance operations on the same account. Operations submitted for one account within
+ * {@code window-ms} (or until {@code max-batch-size} is reached) are handed to the batch handler together and applied
+ * in a single transaction, so they share one row lock and one commit. The handler records an outcome per operation;
+ * callers are completed only after the transaction commits, and a business failure of one operation does not affect
+ * the others. A caller that times out withdraws its operation if it is still queued; once the operation is in a
+ * batch being applied, the caller waits for that batch's outcome instead, so a reported failure never moved money.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AccountGroupCommitExecutor {
+    private final RetryingTransactionExecutor retryingTransactionExecutor;
+    private final MeterRegistry meterRegistry;
+
+    private final Map<UUID, AccountBatch> batches = new ConcurrentHashMap<>();
+    private ScheduledExecutorService scheduler;
+    private DistributionSummary batchSizes;
+
+    @Value("${banking.accounts.group-commit.enabled:false}")
+    private boolean enabled;
+
+    @Value("${banking.accounts.group-commit.window-ms:2}")
+    private long windowMs;
+
+    @Value("${banking.accounts.group-commit.max-batch-size:64}")
+    private int maxBatchSize;
+
+    @Value("${banking.accounts.group-commit.workers:4}")
+    private int workers;
+
+    @Value("${banking.accounts.group-commit.timeout-ms:30000}")
+    private long timeoutMs;
+
+    @PostConstruct
+    void start() {
+        AtomicInteger threadNumber = new AtomicInteger();
+        scheduler = Executors.newScheduledThreadPool(workers, runnable -> {
+            Thread thread = new Thread(runnable, "group-commit-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        batchSizes = DistributionSummary.builder("banking.group-commit.batch.size")
+                .description("Balance operations applied per group commit")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    void stop() {
+        scheduler.shutdown();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public TransferResponse submit(BalanceOperation operation, Consumer<List<BalanceOperation>> batchHandler) {
+        UUID accountId = operation.getAccountId();
+        while (true) {
+            AccountBatch batch = batches.computeIfAbsent(accountId, id -> new AccountBatch());
+            synchronized (batch) {
+                if (batch.retired) {
+                    continue;
+                }
+                batch.pending.add(operation);
+                if (batch.flush == null) {
+                    batch.handler = batchHandler;
+                    batch.flush = scheduler.schedule(() -> flush(accountId, batch), windowMs, TimeUnit.MILLISECONDS);
+                } else if (batch.pending.size() >= maxBatchSize && batch.flush.cancel(false)) {
+                    batch.flush = scheduler.schedule(() -> flush(accountId, batch), 0, TimeUnit.MILLISECONDS);
+                }
+            }
+            return await(operation, batch);
+        }
+    }
+
+    private void flush(UUID accountId, AccountBatch batch) {
+        List<BalanceOperation> operations = new ArrayList<>();
+        Consumer<List<BalanceOperation>> handler;
+        synchronized (batch) {
+            while (!batch.pending.isEmpty() && operations.size() < maxBatchSize) {
+                operations.add(batch.pending.poll());
+            }
+            handler = batch.handler;
+        }
+
+        try {
+            if (!operations.isEmpty()) {
+                apply(accountId, operations, handler);
+            }
+        } finally {
+            synchronized (batch) {
+                if (batch.pending.isEmpty()) {
+                    batch.flush = null;
+                    batch.retired = true;
+                    batches.remove(accountId, batch);
+                } else {
+                    batch.flush = scheduler.schedule(() -> flush(accountId, batch), 0, TimeUnit.MILLISECONDS);
+                }
+            }
+        }
+    }
+
+    private void apply(UUID accountId, List<BalanceOperation> operations, Consumer<List<BalanceOperation>> handler) {
+        try {
+            retryingTransactionExecutor.execute("group-commit", () -> {
+                operations.forEach(BalanceOperation::reset);
+                handler.accept(operations);
+                return null;
+            });
+            batchSizes.record(operations.size());
+            operations.forEach(BalanceOperation::complete);
+        } catch (RuntimeException e) {
+            log.warn("Group commit failed: accountId={}, operations={}", accountId, operations.size(), e);
+            operations.forEach(operation -> operation.getResult().completeExceptionally(e));
+        }
+    }
+
+    private TransferResponse await(BalanceOperation operation, AccountBatch batch) {
+        try {
+            try {
+                return operation.getResult().get(timeoutMs, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                synchronized (batch) {
+                    if (batch.pending.remove(operation)) {
+                        throw new TransferBusinessException("Account is busy, operation was not applied, please " +
+                                "retry: accountId=" + operation.getAccountId());
+                    }
+                }
+                log.warn("Group commit slower than timeout, waiting for its outcome: accountId={}",
+                        operation.getAccountId());
+                return operation.getResult().get();
+            }
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Group commit failed", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for group commit", e);
+        }
+    }
+
+    private static class AccountBatch {
+        private final Deque<BalanceOperation> pending = new ArrayDeque<>();
+        private Consumer<List<BalanceOperation>> handler;
+        private ScheduledFuture<?> flush;
+        private boolean retired;
+    }
+}
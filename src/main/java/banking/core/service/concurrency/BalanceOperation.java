@@ -0,0 +1,50 @@
+package banking.core.service.concurrency;
+
+import banking.core.dto.responses.TransferResponse;
+import banking.core.model.enums.TransactionType;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+@Getter
+@RequiredArgsConstructor
+public class BalanceOperation {
+    private final UUID userId;
+    private final UUID accountId;
+    private final TransactionType type;
+    private final BigDecimal amount;
+
+    private final CompletableFuture<TransferResponse> result = new CompletableFuture<>();
+
+    private TransferResponse response;
+    private RuntimeException failure;
+
+    public void succeed(TransferResponse response) {
+        this.response = response;
+        this.failure = null;
+    }
+
+    public void fail(RuntimeException failure) {
+        this.response = null;
+        this.failure = failure;
+    }
+
+    void reset() {
+        response = null;
+        failure = null;
+    }
+
+    void complete() {
+        if (failure != null) {
+            result.completeExceptionally(failure);
+        } else if (response != null) {
+            result.complete(response);
+        } else {
+            result.completeExceptionally(new IllegalStateException("Balance operation was not applied: accountId="
+                    + accountId + ", type=" + type));
+        }
+    }
+}
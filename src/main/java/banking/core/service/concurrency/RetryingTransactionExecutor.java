@@ -0,0 +1,95 @@
+package banking.core.service.concurrency;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.SQLException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RetryingTransactionExecutor {
+    private static final String SERIALIZATION_FAILURE = "40001";
+    private static final String DEADLOCK_DETECTED = "40P01";
+
+    private final PlatformTransactionManager transactionManager;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${banking.concurrency.isolation:READ_COMMITTED}")
+    private Isolation isolation;
+
+    @Value("${banking.concurrency.retry.max-attempts:5}")
+    private int maxAttempts;
+
+    @Value("${banking.concurrency.retry.initial-backoff-ms:5}")
+    private long initialBackoffMs;
+
+    @Value("${banking.concurrency.retry.max-backoff-ms:200}")
+    private long maxBackoffMs;
+
+    public <T> T execute(String operation, Supplier<T> action) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setIsolationLevel(isolation.value());
+
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return transactionTemplate.execute(status -> action.get());
+        }
+
+        int attempt = 1;
+        while (true) {
+            try {
+                return transactionTemplate.execute(status -> action.get());
+            } catch (RuntimeException e) {
+                String reason = retryReason(e);
+                if (reason == null) {
+                    throw e;
+                }
+                if (attempt >= maxAttempts) {
+                    meterRegistry.counter("banking.tx.aborts", "operation", operation, "reason", reason)
+                            .increment();
+                    log.warn("Transaction aborted after retries: operation={}, attempts={}, reason={}", operation,
+                            attempt, reason);
+                    throw e;
+                }
+                meterRegistry.counter("banking.tx.retries", "operation", operation, "reason", reason).increment();
+                log.debug("Retrying transaction: operation={}, attempt={}, reason={}", operation, attempt, reason);
+                backoff(attempt);
+                attempt++;
+            }
+        }
+    }
+
+    private String retryReason(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLException sqlException) {
+                if (SERIALIZATION_FAILURE.equals(sqlException.getSQLState())) {
+                    return "serialization_failure";
+                }
+                if (DEADLOCK_DETECTED.equals(sqlException.getSQLState())) {
+                    return "deadlock";
+                }
+            }
+        }
+        return null;
+    }
+
+    private void backoff(int attempt) {
+        long ceiling = Math.min(maxBackoffMs, initialBackoffMs << Math.min(attempt - 1, 20));
+        long sleepMs = ThreadLocalRandom.current().nextLong(ceiling + 1);
+        try {
+            Thread.sleep(sleepMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while backing off transaction retry", e);
+        }
+    }
+}
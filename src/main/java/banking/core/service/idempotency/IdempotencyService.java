@@ -0,0 +1,223 @@
+package banking.core.service.idempotency;
+
+import banking.core.dto.responses.TransferResponse;
+import banking.core.error.exception.IdempotencyKeyMismatchException;
+import banking.core.error.exception.TransferBusinessException;
+import banking.core.error.exception.ValidationException;
+import banking.core.model.entity.IdempotencyRecord;
+import banking.core.repository.IdempotencyRecordRepository;
+import banking.core.service.concurrency.RetryingTransactionExecutor;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Makes money-moving requests replay-safe by {@code Idempotency-Key}. The key is claimed in {@code idempotency_keys}
+ * inside the same transaction as the operation, so a committed key always has its result. Recent results are kept in
+ * a bounded in-process cache, and a duplicate arriving while the original is still running waits for it instead of
+ * competing for the same account locks.
+ * <p>
+ * The response is stored as JSON in {@code response_body} and a replay returns it as it was first sent; for a single
+ * transaction its id is also kept in {@code transaction_id}.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class IdempotencyService {
+    private static final int MAX_KEY_LENGTH = 100;
+
+    private final IdempotencyRecordRepository idempotencyRecordRepository;
+    private final RetryingTransactionExecutor retryingTransactionExecutor;
+    private final ObjectMapper objectMapper;
+
+    private final Map<String, CompletableFuture<StoredResult>> inFlight = new ConcurrentHashMap<>();
+    private final Map<String, StoredResult> recentResults = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, StoredResult> eldest) {
+            return size() > cacheSize;
+        }
+    };
+
+    @Value("${banking.idempotency.cache-size:10000}")
+    private int cacheSize;
+
+    @Value("${banking.idempotency.ttl-hours:24}")
+    private long ttlHours;
+
+    @Value("${banking.idempotency.in-flight-wait-ms:30000}")
+    private long inFlightWaitMs;
+
+    public TransferResponse execute(UUID userId, String idempotencyKey, String operation, List<?> fingerprint,
+                                    Supplier<TransferResponse> action) {
+        return execute(userId, idempotencyKey, operation, fingerprint, TransferResponse.class, action);
+    }
+
+    /**
+     * Runs {@code action} once per {@code idempotencyKey}. {@code fingerprint} lists the request fields that identify
+     * the operation; a replay whose fields differ is rejected.
+     */
+    public <T> T execute(UUID userId, String idempotencyKey, String operation, List<?> fingerprint,
+                         Class<T> responseType, Supplier<T> action) {
+        if (idempotencyKey == null) {
+            return action.get();
+        }
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+            throw new ValidationException(List.of("Idempotency-Key must be 1-" + MAX_KEY_LENGTH + " characters"));
+        }
+
+        String cacheKey = userId + ":" + idempotencyKey;
+        String requestHash = requestHash(operation, fingerprint);
+
+        while (true) {
+            StoredResult cached = cachedResult(cacheKey);
+            if (cached != null) {
+                return replay(cached, requestHash, idempotencyKey, responseType);
+            }
+
+            CompletableFuture<StoredResult> pending = new CompletableFuture<>();
+            CompletableFuture<StoredResult> existing = inFlight.putIfAbsent(cacheKey, pending);
+            if (existing != null) {
+                StoredResult result = awaitInFlight(existing, idempotencyKey);
+                if (result != null) {
+                    return replay(result, requestHash, idempotencyKey, responseType);
+                }
+                continue;
+            }
+
+            try {
+                StoredResult result = retryingTransactionExecutor.execute(operation.toLowerCase(),
+                        () -> claimAndExecute(userId, idempotencyKey, operation, requestHash, action));
+                cache(cacheKey, result);
+                pending.complete(result);
+                return replay(result, requestHash, idempotencyKey, responseType);
+            } catch (RuntimeException e) {
+                pending.completeExceptionally(e);
+                throw e;
+            } finally {
+                inFlight.remove(cacheKey, pending);
+            }
+        }
+    }
+
+    @Transactional
+    public int purgeExpired() {
+        LocalDateTime threshold = LocalDateTime.now().minusHours(ttlHours);
+        int deleted = idempotencyRecordRepository.deleteOlderThan(threshold);
+        synchronized (this) {
+            recentResults.values().removeIf(result -> result.createdAt().isBefore(threshold));
+        }
+        return deleted;
+    }
+
+    private <T> StoredResult claimAndExecute(UUID userId, String idempotencyKey, String operation,
+                                             String requestHash, Supplier<T> action) {
+        if (idempotencyRecordRepository.claim(userId, idempotencyKey, operation, requestHash) == 0) {
+            IdempotencyRecord stored = idempotencyRecordRepository
+                    .findByUserIdAndIdempotencyKey(userId, idempotencyKey)
+                    .orElseThrow(() -> new TransferBusinessException(
+                            "Request with the same Idempotency-Key is still in progress"));
+            log.info("Idempotent replay: userId={}, key={}, operation={}", userId, idempotencyKey, operation);
+            // keys claimed before response_body existed hold only the transaction id
+            String responseBody = stored.getResponseBody() != null
+                    ? stored.getResponseBody()
+                    : toJson(new TransferResponse(stored.getTransactionId()));
+            return new StoredResult(stored.getRequestHash(), responseBody, stored.getCreatedAt());
+        }
+
+        T response = action.get();
+        String responseBody = toJson(response);
+        UUID transactionId = response instanceof TransferResponse transfer ? transfer.getTransactionId() : null;
+        idempotencyRecordRepository.complete(userId, idempotencyKey, transactionId, responseBody);
+        return new StoredResult(requestHash, responseBody, LocalDateTime.now());
+    }
+
+    private StoredResult awaitInFlight(CompletableFuture<StoredResult> existing, String idempotencyKey) {
+        try {
+            return existing.get(inFlightWaitMs, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            return null;
+        } catch (TimeoutException e) {
+            throw new TransferBusinessException("Request with the same Idempotency-Key is still in progress: "
+                    + idempotencyKey);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for in-flight request", e);
+        }
+    }
+
+    private <T> T replay(StoredResult result, String requestHash, String idempotencyKey, Class<T> responseType) {
+        if (!result.requestHash().equals(requestHash)) {
+            throw new IdempotencyKeyMismatchException(idempotencyKey);
+        }
+        try {
+            return objectMapper.readValue(result.responseBody(), responseType);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to read stored response: " + idempotencyKey, e);
+        }
+    }
+
+    private String toJson(Object response) {
+        try {
+            return objectMapper.writeValueAsString(response);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to store response: " + response.getClass().getSimpleName(), e);
+        }
+    }
+
+    private synchronized StoredResult cachedResult(String cacheKey) {
+        StoredResult result = recentResults.get(cacheKey);
+        if (result != null && result.createdAt().isBefore(LocalDateTime.now().minusHours(ttlHours))) {
+            recentResults.remove(cacheKey);
+            return null;
+        }
+        return result;
+    }
+
+    private synchronized void cache(String cacheKey, StoredResult result) {
+        recentResults.put(cacheKey, result);
+    }
+
+    /**
+     * SHA-256 over the operation and its normalized fields, so {@code 100} and {@code 100.00} fingerprint alike.
+     */
+    private String requestHash(String operation, List<?> fingerprint) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(operation.getBytes(StandardCharsets.UTF_8));
+            for (Object field : fingerprint) {
+                digest.update((byte) 0);
+                String value = field instanceof BigDecimal amount
+                        ? amount.stripTrailingZeros().toPlainString()
+                        : String.valueOf(field);
+                digest.update(value.getBytes(StandardCharsets.UTF_8));
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Failed to fingerprint request: " + operation, e);
+        }
+    }
+
+    private record StoredResult(String requestHash, String responseBody, LocalDateTime createdAt) {
+    }
+}
@@ -0,0 +1,146 @@
+package banking.core.service.processor;
+
+import banking.core.model.entity.OutboxEvent;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Collects the outcomes of Kafka sends and writes them to {@code outbox_events} in bulk on its own thread, so the
+ * producer's callback thread never waits on the database. Dispatchers reserve a slot before each send and block when
+ * {@code queue-capacity} acknowledgements are still waiting to be written.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OutboxAckWriter {
+    private final OutboxTxService outboxTxService;
+
+    private Semaphore capacity;
+    private BlockingQueue<Ack> acks;
+    private ExecutorService writer;
+    private volatile boolean running;
+
+    @Value("${banking.outbox.ack.queue-capacity:10000}")
+    private int queueCapacity;
+
+    @Value("${banking.outbox.ack.flush-interval-ms:5}")
+    private long flushIntervalMs;
+
+    @Value("${banking.outbox.retry.max-attempts:10}")
+    private int maxRetries;
+
+    @PostConstruct
+    void start() {
+        capacity = new Semaphore(queueCapacity);
+        acks = new LinkedBlockingQueue<>();
+        running = true;
+        writer = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "outbox-ack-writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        writer.execute(this::run);
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        writer.shutdown();
+        writer.awaitTermination(5, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Reserves room for the acknowledgement of one event, blocking while the queue is full.
+     */
+    public void reserve() {
+        try {
+            capacity.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for outbox acknowledgement capacity", e);
+        }
+    }
+
+    public void sent(Long eventId) {
+        acks.add(new Ack(AckType.SENT, eventId, null));
+    }
+
+    public void failed(OutboxEvent event) {
+        acks.add(new Ack(AckType.FAILED, event.getId(), event));
+    }
+
+    public void released(Long eventId) {
+        acks.add(new Ack(AckType.RELEASED, eventId, null));
+    }
+
+    /**
+     * Acknowledgements received from the producer and not written yet.
+     */
+    public int pendingAcks() {
+        return acks.size();
+    }
+
+    private void run() {
+        while (running || !acks.isEmpty()) {
+            try {
+                Ack first = acks.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                if (running && flushIntervalMs > 0) {
+                    Thread.sleep(flushIntervalMs);
+                }
+                List<Ack> batch = new ArrayList<>();
+                batch.add(first);
+                acks.drainTo(batch);
+                flush(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void flush(List<Ack> batch) {
+        List<Long> sentIds = new ArrayList<>();
+        List<OutboxEvent> failedEvents = new ArrayList<>();
+        List<Long> releasedIds = new ArrayList<>();
+        for (Ack ack : batch) {
+            switch (ack.type()) {
+                case SENT -> sentIds.add(ack.eventId());
+                case FAILED -> failedEvents.add(ack.event());
+                case RELEASED -> releasedIds.add(ack.eventId());
+            }
+        }
+
+        try {
+            outboxTxService.completeBatch(sentIds, failedEvents, releasedIds, maxRetries);
+        } catch (RuntimeException e) {
+            log.error("Outbox acknowledgements not written, events are returned to PENDING once their leases "
+                    + "expire: acks={}, err={}", batch.size(), e.getMessage());
+        } finally {
+            outboxTxService.forget(batch.stream().map(Ack::eventId).toList());
+            capacity.release(batch.size());
+        }
+    }
+
+    private enum AckType {
+        SENT, FAILED, RELEASED
+    }
+
+    private record Ack(AckType type, Long eventId, OutboxEvent event) {
+    }
+}
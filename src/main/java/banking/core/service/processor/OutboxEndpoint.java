@@ -0,0 +1,72 @@
+package banking.core.service.processor;
+
+import banking.core.repository.OutboxEventRepository;
+import banking.core.repository.projection.OutboxLaneBacklog;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * {@code /actuator/outbox}: per-lane backlog and how long ago this instance last polled each lane, together with what
+ * this instance is holding in memory (acknowledgements not written yet, fast-path queue) and the last batch it
+ * dispatched from each source. A lane whose poll age keeps growing past the poll interval has a stuck poller.
+ */
+@Component
+@Endpoint(id = "outbox")
+@RequiredArgsConstructor
+public class OutboxEndpoint {
+    private final OutboxEventRepository outboxEventRepository;
+    private final OutboxMetrics outboxMetrics;
+    private final OutboxAckWriter outboxAckWriter;
+    private final OutboxFastPath outboxFastPath;
+    private final OutboxTxService outboxTxService;
+
+    @Value("${banking.outbox.lanes:4}")
+    private int lanes;
+
+    @Value("${banking.outbox.notify.enabled:false}")
+    private boolean notifyEnabled;
+
+    @Value("${banking.kafka.producer.transactional:false}")
+    private boolean transactional;
+
+    @ReadOperation
+    public OutboxState state() {
+        LocalDateTime now = LocalDateTime.now();
+
+        List<LaneState> laneStates = new ArrayList<>(lanes);
+        for (int lane = 0; lane < lanes; lane++) {
+            OutboxMetrics.BatchStats batches = outboxMetrics.batches().get("lane-" + lane);
+            Long lastPollAgeSeconds = batches == null || batches.getLastPollAt() == null ? null
+                    : Duration.between(batches.getLastPollAt(), now).toSeconds();
+            laneStates.add(new LaneState(lane, lastPollAgeSeconds, 0, 0, 0, batches));
+        }
+        for (OutboxLaneBacklog row : outboxEventRepository.countBacklogByLane(lanes)) {
+            LaneState state = laneStates.get(row.getLane());
+            laneStates.set(row.getLane(), "PENDING".equals(row.getStatus())
+                    ? new LaneState(state.lane(), state.lastPollAgeSeconds(), row.getEvents(), state.inProgress(),
+                            Duration.between(row.getOldestCreatedAt(), now).toSeconds(), state.batches())
+                    : new LaneState(state.lane(), state.lastPollAgeSeconds(), state.pending(), row.getEvents(),
+                            state.oldestPendingAgeSeconds(), state.batches()));
+        }
+
+        return new OutboxState(outboxTxService.getOwner(), transactional, notifyEnabled, laneStates,
+                outboxMetrics.batches().get("fast-path"), outboxFastPath.queuedEvents(),
+                outboxAckWriter.pendingAcks());
+    }
+
+    public record OutboxState(String owner, boolean transactional, boolean notifyEnabled, List<LaneState> lanes,
+                              OutboxMetrics.BatchStats fastPath, int fastPathQueued, int pendingAcks) {
+    }
+
+    public record LaneState(int lane, Long lastPollAgeSeconds, long pending, long inProgress,
+                            long oldestPendingAgeSeconds, OutboxMetrics.BatchStats batches) {
+    }
+}
@@ -0,0 +1,120 @@
+package banking.core.service.processor;
+
+import banking.core.model.entity.OutboxEvent;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Publishes outbox events right after the transaction that wrote them commits, instead of waiting for the next
+ * poll. The events stay in {@code outbox_events} and are claimed like any other, so if the fast path is busy, full or
+ * the process dies, {@link OutboxProcessor} still picks them up and delivery remains at-least-once.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OutboxFastPath {
+    private final OutboxProcessor outboxProcessor;
+
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private BlockingQueue<Long> committedIds;
+    private ExecutorService dispatcher;
+
+    @Value("${banking.outbox.fast-path.enabled:true}")
+    private boolean enabled;
+
+    @Value("${banking.outbox.fast-path.queue-capacity:10000}")
+    private int queueCapacity;
+
+    @Value("${banking.outbox.batch-size:100}")
+    private int batchSize;
+
+    @PostConstruct
+    void start() {
+        committedIds = new LinkedBlockingQueue<>(queueCapacity);
+        dispatcher = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "outbox-fast-path");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    void stop() {
+        dispatcher.shutdown();
+    }
+
+    public void publishAfterCommit(OutboxEvent event) {
+        if (!enabled || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+
+        @SuppressWarnings("unchecked")
+        List<Long> eventIds = (List<Long>) TransactionSynchronizationManager.getResource(this);
+        if (eventIds == null) {
+            List<Long> transactionEventIds = new ArrayList<>();
+            TransactionSynchronizationManager.bindResource(this, transactionEventIds);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(OutboxFastPath.this);
+                    if (status == STATUS_COMMITTED) {
+                        enqueue(transactionEventIds);
+                    }
+                }
+            });
+            eventIds = transactionEventIds;
+        }
+        eventIds.add(event.getId());
+    }
+
+    /**
+     * Committed events waiting for the fast-path dispatcher.
+     */
+    public int queuedEvents() {
+        return committedIds.size();
+    }
+
+    private void enqueue(List<Long> eventIds) {
+        for (Long eventId : eventIds) {
+            if (!committedIds.offer(eventId)) {
+                log.debug("Outbox fast path queue is full, leaving event to the poller: id={}", eventId);
+            }
+        }
+        if (draining.compareAndSet(false, true)) {
+            dispatcher.execute(this::drain);
+        }
+    }
+
+    private void drain() {
+        try {
+            List<Long> batch = new ArrayList<>(batchSize);
+            while (committedIds.drainTo(batch, batchSize) > 0) {
+                try {
+                    outboxProcessor.dispatchCommitted(batch);
+                } catch (RuntimeException e) {
+                    log.warn("Outbox fast path dispatch failed, leaving events to the poller: {}", e.getMessage());
+                }
+                batch = new ArrayList<>(batchSize);
+            }
+        } finally {
+            draining.set(false);
+            if (!committedIds.isEmpty() && draining.compareAndSet(false, true)) {
+                dispatcher.execute(this::drain);
+            }
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package banking.core.service.processor;
+
+import banking.core.model.entity.OutboxEvent;
+import banking.core.repository.OutboxEventRepository;
+import banking.core.repository.projection.OutboxBacklog;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Outbox instrumentation. Send outcomes, publish latency and batch sizes are recorded as they happen; backlog gauges
+ * (events per topic and status, age of the oldest pending event) are refreshed from the table on a schedule, so
+ * scraping never hits the database. The same refresh checks that tomorrow's partition already exists: if the hourly
+ * partition job has not been running, {@code banking.outbox.partitions.tomorrow.missing} turns 1 and an error is
+ * logged while there is still a day to fix it; until then such events go to the default partition.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OutboxMetrics {
+    private static final String[] BACKLOG_STATUSES = {"PENDING", "IN_PROGRESS", "FAILED"};
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final MeterRegistry meterRegistry;
+
+    private final Map<BacklogKey, AtomicLong> backlog = new ConcurrentHashMap<>();
+    private final AtomicReference<LocalDateTime> oldestPendingCreatedAt = new AtomicReference<>();
+    private final AtomicLong tomorrowPartitionMissing = new AtomicLong();
+    private final Map<String, BatchStats> batches = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    void start() {
+        Gauge.builder("banking.outbox.oldest.pending.age", this, OutboxMetrics::oldestPendingAgeSeconds)
+                .description("Age of the oldest PENDING outbox event")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        Gauge.builder("banking.outbox.partitions.tomorrow.missing", tomorrowPartitionMissing, AtomicLong::get)
+                .description("1 while no outbox partition exists for tomorrow")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${banking.outbox.metrics.refresh-ms:10000}")
+    public void refreshBacklog() {
+        Map<BacklogKey, Long> counts = new ConcurrentHashMap<>();
+        LocalDateTime oldestPending = null;
+        for (OutboxBacklog row : outboxEventRepository.countBacklog()) {
+            counts.put(new BacklogKey(row.getTopic(), row.getStatus()), row.getEvents());
+            if ("PENDING".equals(row.getStatus()) && row.getOldestCreatedAt() != null
+                    && (oldestPending == null || row.getOldestCreatedAt().isBefore(oldestPending))) {
+                oldestPending = row.getOldestCreatedAt();
+            }
+        }
+
+        for (BacklogKey key : counts.keySet()) {
+            for (String status : BACKLOG_STATUSES) {
+                backlogGauge(new BacklogKey(key.topic(), status));
+            }
+        }
+        backlog.forEach((key, value) -> value.set(counts.getOrDefault(key, 0L)));
+        oldestPendingCreatedAt.set(oldestPending);
+
+        boolean tomorrowReady = outboxEventRepository.existsPartitionForTomorrow();
+        tomorrowPartitionMissing.set(tomorrowReady ? 0 : 1);
+        if (!tomorrowReady) {
+            log.error("No outbox partition exists for tomorrow, check the outbox-create-partitions job");
+        }
+    }
+
+    public void recordPoll(String source) {
+        batches.computeIfAbsent(source, key -> new BatchStats()).lastPollAt = LocalDateTime.now();
+    }
+
+    public void recordBatch(String source, int size) {
+        DistributionSummary.builder("banking.outbox.batch.size")
+                .description("Outbox events claimed per dispatch")
+                .tag("source", source.startsWith("lane-") ? "lane" : source)
+                .register(meterRegistry)
+                .record(size);
+        batches.computeIfAbsent(source, key -> new BatchStats()).record(size);
+    }
+
+    public void recordSent(OutboxEvent event) {
+        meterRegistry.counter("banking.outbox.send", "topic", event.getTopic(), "result", "success").increment();
+        if (event.getCreatedAt() != null) {
+            Timer.builder("banking.outbox.publish.latency")
+                    .description("Time from outbox insert to broker acknowledgement")
+                    .tag("topic", event.getTopic())
+                    .publishPercentileHistogram()
+                    .register(meterRegistry)
+                    .record(Duration.between(event.getCreatedAt(), LocalDateTime.now()));
+        }
+    }
+
+    public void recordFailed(OutboxEvent event) {
+        meterRegistry.counter("banking.outbox.send", "topic", event.getTopic(), "result", "failure").increment();
+    }
+
+    public Map<String, BatchStats> batches() {
+        return batches;
+    }
+
+    double oldestPendingAgeSeconds() {
+        LocalDateTime oldest = oldestPendingCreatedAt.get();
+        return oldest == null ? 0 : Math.max(Duration.between(oldest, LocalDateTime.now()).toMillis() / 1000.0, 0);
+    }
+
+    private void backlogGauge(BacklogKey key) {
+        backlog.computeIfAbsent(key, missing -> {
+            AtomicLong value = new AtomicLong();
+            Gauge.builder("banking.outbox.events", value, AtomicLong::get)
+                    .description("Outbox events by topic and status")
+                    .tag("topic", missing.topic())
+                    .tag("status", missing.status())
+                    .register(meterRegistry);
+            return value;
+        });
+    }
+
+    /**
+     * Last and cumulative claim sizes of one dispatch source (a lane or the fast path) on this instance, and when
+     * this instance last tried to claim from it, whether or not anything was claimed.
+     */
+    public static class BatchStats {
+        private final AtomicLong batches = new AtomicLong();
+        private final AtomicLong events = new AtomicLong();
+        private volatile int lastSize;
+        private volatile LocalDateTime lastRunAt;
+        private volatile LocalDateTime lastPollAt;
+
+        private void record(int size) {
+            batches.incrementAndGet();
+            events.addAndGet(size);
+            lastSize = size;
+            lastRunAt = LocalDateTime.now();
+        }
+
+        public long getBatches() {
+            return batches.get();
+        }
+
+        public long getEvents() {
+            return events.get();
+        }
+
+        public int getLastSize() {
+            return lastSize;
+        }
+
+        public LocalDateTime getLastRunAt() {
+            return lastRunAt;
+        }
+
+        public LocalDateTime getLastPollAt() {
+            return lastPollAt;
+        }
+    }
+
+    private record BacklogKey(String topic, String status) {
+    }
+}
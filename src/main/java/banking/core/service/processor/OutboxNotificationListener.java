@@ -0,0 +1,122 @@
+package banking.core.service.processor;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Wakes the outbox dispatcher as soon as an insert into {@code outbox_events} commits. A trigger issues
+ * {@code NOTIFY outbox_events}, and this listener holds its own connection (outside the pool) that waits for it.
+ * If no notification arrives, the listener still polls. The poll interval doubles from {@code min-poll-ms} up to
+ * {@code max-poll-ms} while the outbox stays empty, so missed notifications are picked up and an idle service
+ * rarely queries the table.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "banking.outbox.notify.enabled", havingValue = "true")
+public class OutboxNotificationListener implements SmartLifecycle {
+    private static final String CHANNEL = "outbox_events";
+
+    private final DataSourceProperties dataSourceProperties;
+    private final OutboxProcessor outboxProcessor;
+
+    @Value("${banking.outbox.notify.min-poll-ms:100}")
+    private long minPollMs;
+
+    @Value("${banking.outbox.notify.max-poll-ms:5000}")
+    private long maxPollMs;
+
+    @Value("${banking.outbox.notify.reconnect-delay-ms:1000}")
+    private long reconnectDelayMs;
+
+    private volatile boolean running;
+    private Thread listenerThread;
+
+    @Override
+    public void start() {
+        running = true;
+        listenerThread = new Thread(this::listen, "outbox-listener");
+        listenerThread.setDaemon(true);
+        listenerThread.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (listenerThread != null) {
+            listenerThread.interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void listen() {
+        while (running) {
+            try (Connection connection = DriverManager.getConnection(dataSourceProperties.determineUrl(),
+                    dataSourceProperties.determineUsername(), dataSourceProperties.determinePassword())) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + CHANNEL);
+                }
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                log.info("Outbox listener subscribed: channel={}", CHANNEL);
+
+                long pollMs = minPollMs;
+                drain();
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications((int) pollMs);
+                    boolean notified = notifications != null && notifications.length > 0;
+                    int dispatched = drain();
+                    if (notified || dispatched > 0) {
+                        pollMs = minPollMs;
+                    } else {
+                        pollMs = Math.min(pollMs * 2, maxPollMs);
+                    }
+                }
+            } catch (SQLException e) {
+                if (!running) {
+                    return;
+                }
+                log.warn("Outbox listener connection lost, reconnecting: {}", e.getMessage());
+                sleepBeforeReconnect();
+            }
+        }
+    }
+
+    private int drain() {
+        int total = 0;
+        try {
+            int dispatched;
+            do {
+                dispatched = outboxProcessor.processOutboxMessages();
+                total += dispatched;
+            } while (dispatched > 0 && running);
+        } catch (RuntimeException e) {
+            log.error("Outbox dispatch failed: {}", e.getMessage(), e);
+        }
+        return total;
+    }
+
+    private void sleepBeforeReconnect() {
+        try {
+            Thread.sleep(reconnectDelayMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+}
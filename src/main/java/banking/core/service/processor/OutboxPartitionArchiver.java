@@ -0,0 +1,74 @@
+package banking.core.service.processor;
+
+import banking.core.service.concurrency.RetryingTransactionExecutor;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Retention of {@code outbox_events}, which works on whole daily partitions instead of deleting row by row. Each
+ * expired partition is handled by {@code outbox_events_archive_partition} in its own transaction: events that are not
+ * SENT yet are carried, unchanged, into the default partition before the partition is detached and dropped, all under
+ * one short lock, so they never disappear from under a claim, an acknowledgement or a lease update. FAILED events are
+ * kept for {@code failed-retention-days} and then dropped.
+ * <p>
+ * The lock is taken with {@code lock-timeout-ms}, so a busy table makes the archiver give up on a partition until the
+ * next run rather than queue every producer behind it. Events carried into the default partition are deleted from it
+ * once they are SENT, or FAILED for longer than the FAILED retention.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OutboxPartitionArchiver {
+    private final JdbcTemplate jdbcTemplate;
+    private final RetryingTransactionExecutor retryingTransactionExecutor;
+
+    @Value("${banking.outbox.partitions.retention-days:7}")
+    private int retentionDays;
+
+    @Value("${banking.outbox.partitions.failed-retention-days:30}")
+    private int failedRetentionDays;
+
+    @Value("${banking.outbox.partitions.lock-timeout-ms:2000}")
+    private long lockTimeoutMs;
+
+    public void archiveProcessedMessages() {
+        List<String> expired = jdbcTemplate.queryForList(
+                "SELECT c.relname FROM pg_inherits i "
+                        + "JOIN pg_class c ON c.oid = i.inhrelid "
+                        + "WHERE i.inhparent = 'outbox_events'::regclass "
+                        + "AND c.relname ~ '^outbox_events_p\\d{8}$' "
+                        + "AND to_date(substring(c.relname FROM 16), 'YYYYMMDD') < current_date - ? "
+                        + "ORDER BY c.relname",
+                String.class, retentionDays);
+
+        int dropped = 0;
+        int carried = 0;
+        for (String partition : expired) {
+            try {
+                carried += retryingTransactionExecutor.execute("outbox-archive", () -> {
+                    jdbcTemplate.queryForObject("SELECT set_config('lock_timeout', ?, true)", String.class,
+                            lockTimeoutMs + "ms");
+                    return jdbcTemplate.queryForObject("SELECT outbox_events_archive_partition(?, current_date - ?)",
+                            Integer.class, partition, failedRetentionDays);
+                });
+                dropped++;
+            } catch (DataAccessException e) {
+                log.warn("Outbox partition not archived, retrying on the next run: partition={}, err={}", partition,
+                        e.getMessage());
+            }
+        }
+
+        int purged = retryingTransactionExecutor.execute("outbox-archive", () -> jdbcTemplate.update(
+                "DELETE FROM outbox_events_default WHERE created_at < current_date - ? "
+                        + "AND (status = 'SENT' OR (status = 'FAILED' AND created_at < current_date - ?))",
+                retentionDays, failedRetentionDays));
+        log.info("Dropped old outbox partitions: {}, events carried to the default partition: {}, purged from it: {}",
+                dropped, carried, purged);
+    }
+}
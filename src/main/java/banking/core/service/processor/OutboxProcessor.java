@@ -1,68 +1,290 @@
 package banking.core.service.processor;
 
 import banking.core.model.entity.OutboxEvent;
-import banking.core.model.enums.EventStatus;
 import banking.core.repository.OutboxEventRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class OutboxProcessor {
-    private static final int MAX_RETRIES = 3;
-
     private final OutboxEventRepository outboxEventRepository;
     private final OutboxTxService outboxTxService;
-    private final KafkaTemplate<String, String> kafkaTemplate;
+    private final OutboxAckWriter outboxAckWriter;
+    private final OutboxMetrics outboxMetrics;
+    private final KafkaTemplate<String, byte[]> kafkaTemplate;
+
+    @Value("${banking.outbox.batch-size:100}")
+    private int batchSize;
+
+    @Value("${banking.outbox.notify.enabled:false}")
+    private boolean notifyEnabled;
+
+    @Value("${banking.outbox.retry.max-attempts:10}")
+    private int maxRetries;
+
+    @Value("${banking.outbox.lanes:4}")
+    private int lanes;
+
+    @Value("${banking.kafka.producer.transactional:false}")
+    private boolean transactional;
+
+    @Value("${banking.outbox.partitions.premake-days:7}")
+    private int premakeDays;
+
+    private ExecutorService laneExecutor;
+
+    /**
+     * Runs every {@code kafkaTemplate.send}. The next event of an aggregate is sent when the previous one completes,
+     * which happens on the producer's network thread; handing the send to this pool keeps a full {@code buffer.memory}
+     * ({@code max.block.ms}) from blocking that thread. Lane threads wait for their chains, so this cannot be the lane
+     * pool.
+     */
+    private ExecutorService sendExecutor;
+
+    @PostConstruct
+    void start() {
+        AtomicInteger threadNumber = new AtomicInteger();
+        laneExecutor = Executors.newFixedThreadPool(Math.max(lanes - 1, 1), runnable -> {
+            Thread thread = new Thread(runnable, "outbox-lane-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        AtomicInteger sendThreadNumber = new AtomicInteger();
+        sendExecutor = Executors.newFixedThreadPool(lanes, runnable -> {
+            Thread thread = new Thread(runnable, "outbox-send-" + sendThreadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    void stop() {
+        laneExecutor.shutdown();
+        sendExecutor.shutdown();
+    }
 
     @Scheduled(fixedRate = 1000)
-    public void processOutboxMessages() {
-        var events = outboxEventRepository
-                .findTop100ByStatusAndRetryCountLessThanOrderByCreatedAtAsc(EventStatus.PENDING, MAX_RETRIES);
+    public void pollOutboxMessages() {
+        if (notifyEnabled) {
+            return;
+        }
+        processOutboxMessages();
+    }
+
+    public int processOutboxMessages() {
+        List<Future<Integer>> otherLanes = new ArrayList<>(lanes - 1);
+        for (int lane = 1; lane < lanes; lane++) {
+            int currentLane = lane;
+            otherLanes.add(laneExecutor.submit(() -> processLane(currentLane)));
+        }
+
+        int processed = processLane(0);
+        for (Future<Integer> lane : otherLanes) {
+            try {
+                processed += lane.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return processed;
+            } catch (ExecutionException e) {
+                log.error("Outbox lane failed", e.getCause());
+            }
+        }
+        return processed;
+    }
 
+    /**
+     * Publishes events that were just committed, ahead of the next poll. Events that cannot be claimed right now
+     * (their lane is busy or an earlier event of the aggregate is still pending) are left to the poller.
+     */
+    public int dispatchCommitted(Collection<Long> eventIds) {
+        List<OutboxEvent> events = outboxTxService.claimCommitted(eventIds, lanes, maxRetries);
+        return dispatch("fast-path", events);
+    }
+
+    private int processLane(int lane) {
+        outboxMetrics.recordPoll("lane-" + lane);
+        List<OutboxEvent> events = outboxTxService.claimLane(lane, lanes, batchSize, maxRetries);
+        return dispatch("lane-" + lane, events);
+    }
+
+    private int dispatch(String source, List<OutboxEvent> events) {
+        if (events.isEmpty()) {
+            return 0;
+        }
+        outboxMetrics.recordBatch(source, events.size());
+        if (transactional) {
+            return dispatchInTransaction(source, events);
+        }
+
+        Map<UUID, List<OutboxEvent>> byAggregate = new LinkedHashMap<>();
         for (OutboxEvent event : events) {
-            if (!outboxTxService.tryMarkInProgress(event.getId())) {
-                continue;
+            byAggregate.computeIfAbsent(event.getAggregateId(), id -> new ArrayList<>()).add(event);
+        }
+
+        LaneOutcome outcome = new LaneOutcome(outboxAckWriter, outboxMetrics);
+        List<CompletableFuture<Boolean>> chains = new ArrayList<>(byAggregate.size());
+        for (List<OutboxEvent> aggregateEvents : byAggregate.values()) {
+            CompletableFuture<Boolean> chain = CompletableFuture.completedFuture(true);
+            for (OutboxEvent event : aggregateEvents) {
+                outboxAckWriter.reserve();
+                chain = chain.thenComposeAsync(previousSent -> previousSent
+                        ? send(event, outcome)
+                        : outcome.release(event), sendExecutor);
+            }
+            chains.add(chain);
+        }
+        CompletableFuture.allOf(chains.toArray(CompletableFuture[]::new)).join();
+
+        log.info("Outbox batch processed: source={}, sent={}, failed={}, released={}", source,
+                outcome.sent.get(), outcome.failed.get(), outcome.released.get());
+        return events.size();
+    }
+
+    /**
+     * Publishes the whole batch in one Kafka transaction and records the outcome for all of it in one DB transaction
+     * once Kafka has committed. If the Kafka transaction aborts, nothing was visible to {@code read_committed}
+     * consumers: the first event of each aggregate is retried with backoff and the rest are released behind it.
+     * The batch's leases stop being renewed either way, so a failed DB write is recovered by the reaper.
+     */
+    private int dispatchInTransaction(String source, List<OutboxEvent> events) {
+        List<Long> eventIds = events.stream().map(OutboxEvent::getId).toList();
+        try {
+            return publishInTransaction(source, events, eventIds);
+        } finally {
+            outboxTxService.forget(eventIds);
+        }
+    }
+
+    private int publishInTransaction(String source, List<OutboxEvent> events, List<Long> eventIds) {
+        try {
+            kafkaTemplate.executeInTransaction(operations -> {
+                for (OutboxEvent event : events) {
+                    operations.send(event.getTopic(), event.getAggregateId().toString(), event.getPayload());
+                }
+                return null;
+            });
+        } catch (RuntimeException e) {
+            List<OutboxEvent> failedEvents = new ArrayList<>();
+            List<Long> releasedIds = new ArrayList<>();
+            Set<UUID> failedAggregates = new HashSet<>();
+            for (OutboxEvent event : events) {
+                if (failedAggregates.add(event.getAggregateId())) {
+                    event.setErrorReason(e.getMessage());
+                    failedEvents.add(event);
+                } else {
+                    releasedIds.add(event.getId());
+                }
+            }
+            outboxTxService.completeBatch(List.of(), failedEvents, releasedIds, maxRetries);
+            failedEvents.forEach(outboxMetrics::recordFailed);
+            log.error("Outbox transaction aborted: source={}, events={}, err={}", source, events.size(),
+                    e.getMessage());
+            return events.size();
+        }
+
+        outboxTxService.completeBatch(eventIds, List.of(), List.of(), maxRetries);
+        events.forEach(outboxMetrics::recordSent);
+        log.info("Outbox transaction committed: source={}, sent={}", source, events.size());
+        return events.size();
+    }
+
+    private CompletableFuture<Boolean> send(OutboxEvent event, LaneOutcome outcome) {
+        CompletableFuture<?> sending;
+        try {
+            sending = kafkaTemplate.send(event.getTopic(), event.getAggregateId().toString(), event.getPayload());
+        } catch (RuntimeException e) {
+            sending = CompletableFuture.failedFuture(e);
+        }
+        return sending.orTimeout(10, TimeUnit.SECONDS).handle((result, error) -> {
+            if (error == null) {
+                outcome.sent(event);
+                return true;
             }
+            Throwable cause = error instanceof CompletionException && error.getCause() != null
+                    ? error.getCause()
+                    : error;
+            event.setErrorReason(cause.getMessage());
+            outcome.failed(event);
+            log.error("Outbox failed: id={}, topic={}, err={}", event.getId(), event.getTopic(), cause.getMessage());
+            return false;
+        });
+    }
+
+    /**
+     * Results of one lane batch, handed to the {@link OutboxAckWriter} as they arrive. Events that come after a failed
+     * event of the same aggregate are not sent; they are released back to PENDING so that the retry keeps their order.
+     */
+    @RequiredArgsConstructor
+    private static class LaneOutcome {
+        private final OutboxAckWriter ackWriter;
+        private final OutboxMetrics metrics;
+        private final AtomicInteger sent = new AtomicInteger();
+        private final AtomicInteger failed = new AtomicInteger();
+        private final AtomicInteger released = new AtomicInteger();
 
-            kafkaTemplate.send(event.getTopic(), event.getAggregateId().toString(), event.getPayload().toString())
-                    .orTimeout(10, TimeUnit.SECONDS)
-                    .whenComplete((result, error) -> {
-                        if (error == null) {
-                            boolean marked = outboxTxService.tryMarkSent(event.getId());
-                            if (marked) {
-                                log.info("Outbox sent: id={}, topic={}", event.getId(), event.getTopic());
-                            }
-                        } else {
-                            outboxTxService.handleFailure(event.getId(), MAX_RETRIES, error.getMessage());
-                            log.error("Outbox failed: id={}, topic={}, err={}", event.getId(), event.getTopic(),
-                                    error.getMessage());
-                        }
-                    });
+        private void sent(OutboxEvent event) {
+            sent.incrementAndGet();
+            metrics.recordSent(event);
+            ackWriter.sent(event.getId());
+        }
+
+        private void failed(OutboxEvent event) {
+            failed.incrementAndGet();
+            metrics.recordFailed(event);
+            ackWriter.failed(event);
+        }
+
+        private CompletableFuture<Boolean> release(OutboxEvent event) {
+            released.incrementAndGet();
+            ackWriter.released(event.getId());
+            return CompletableFuture.completedFuture(false);
         }
     }
 
-    @Scheduled(fixedRate = 60000)
-    public void rollback() {
-        int rollbacked = outboxTxService.rollback(LocalDateTime.now().minusMinutes(30));
-        if (rollbacked > 0) {
-            log.warn("Some events were rolled back due to unexpected error: {}", rollbacked);
+    @Scheduled(fixedDelayString = "${banking.outbox.lease.heartbeat-ms:10000}")
+    public void renewLeases() {
+        outboxTxService.renewLeases();
+    }
+
+    @Scheduled(fixedDelayString = "${banking.outbox.lease.reap-interval-ms:5000}")
+    public void reapExpiredLeases() {
+        int reaped = outboxTxService.reapExpiredLeases();
+        if (reaped > 0) {
+            log.warn("Outbox events with expired leases returned to PENDING: {}", reaped);
         }
     }
 
-    @Scheduled(cron = "0 0 2 * * *")
     @Transactional
-    public void archiveProcessedMessages() {
-        LocalDateTime cutoff = LocalDateTime.now().minusDays(7);
-        int deleted = outboxEventRepository.deleteOldEvents(EventStatus.SENT, cutoff);
-        log.info("Deleted old outbox SENT events: {}", deleted);
+    public void createPartitions() {
+        int created = outboxEventRepository.createPartitions(premakeDays);
+        if (created > 0) {
+            log.info("Created outbox partitions: {}", created);
+        }
     }
 }
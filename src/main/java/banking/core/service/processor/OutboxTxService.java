@@ -1,53 +1,169 @@
 package banking.core.service.processor;
 
+import banking.core.model.entity.OutboxEvent;
 import banking.core.model.enums.EventStatus;
 import banking.core.repository.OutboxEventRepository;
+import lombok.Getter;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.lang.management.ManagementFactory;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Service
 @RequiredArgsConstructor
 public class OutboxTxService {
+    private static final int RENEW_CHUNK_SIZE = 1000;
+
     private final OutboxEventRepository outboxEventRepository;
 
+    @Value("${banking.outbox.retry.initial-backoff-ms:1000}")
+    private long initialBackoffMs;
+
+    @Value("${banking.outbox.retry.max-backoff-ms:300000}")
+    private long maxBackoffMs;
+
+    @Value("${banking.outbox.lease.duration-ms:30000}")
+    private long leaseMs;
+
+    /**
+     * Identifies this instance as the holder of the events it claims. Leases are renewed only by their owner, so the
+     * events of a stopped instance expire after {@code leaseMs} and are picked up by the reaper.
+     */
+    @Getter
+    private String owner = ManagementFactory.getRuntimeMXBean().getName() + "/" + UUID.randomUUID();
+
+    /**
+     * Events this instance has claimed and not acknowledged yet. Only these leases are renewed: an event whose
+     * acknowledgement could not be written is dropped from here, so its lease expires and the reaper returns it to
+     * PENDING instead of it staying IN_PROGRESS, and blocking its aggregate, until the instance restarts.
+     */
+    private final Set<Long> heldIds = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Claims up to {@code batchSize} pending events of one lane. Only one claimer per lane runs at a time (advisory
+     * lock), and aggregates that still have an event in flight are skipped, so events of one aggregate are never
+     * published out of order, even by different instances.
+     */
     @Transactional(propagation = Propagation.REQUIRES_NEW)
-    public boolean tryMarkInProgress(Long id) {
-        var result = outboxEventRepository.markInProgress(id, EventStatus.PENDING, EventStatus.IN_PROGRESS);
-        return result > 0;
+    public List<OutboxEvent> claimLane(int lane, int lanes, int batchSize, int maxRetries) {
+        if (!outboxEventRepository.tryLockLane(lane)) {
+            return List.of();
+        }
+        List<OutboxEvent> events = new ArrayList<>(outboxEventRepository.claimPending(lane, lanes, batchSize,
+                maxRetries, owner, leaseMs));
+        events.sort(Comparator.comparing(OutboxEvent::getCreatedAt).thenComparing(OutboxEvent::getId));
+        hold(events);
+        return events;
     }
 
+    /**
+     * Claims specific just-committed events for immediate publishing. Lane locks are only tried, never waited for,
+     * and an event is skipped while an older event of its aggregate is pending or in flight.
+     */
     @Transactional(propagation = Propagation.REQUIRES_NEW)
-    public boolean tryMarkSent(Long id) {
-        var result = outboxEventRepository.markSent(id, EventStatus.IN_PROGRESS, EventStatus.SENT, LocalDateTime.now());
-        return result > 0;
+    public List<OutboxEvent> claimCommitted(Collection<Long> ids, int lanes, int maxRetries) {
+        List<Integer> ownedLanes = new ArrayList<>();
+        for (Integer lane : outboxEventRepository.findLanes(ids, lanes)) {
+            if (outboxEventRepository.tryLockLane(lane)) {
+                ownedLanes.add(lane);
+            }
+        }
+        if (ownedLanes.isEmpty()) {
+            return List.of();
+        }
+        List<OutboxEvent> events = new ArrayList<>(outboxEventRepository.claimByIds(ids, lanes, ownedLanes,
+                maxRetries, owner, leaseMs));
+        events.sort(Comparator.comparing(OutboxEvent::getCreatedAt).thenComparing(OutboxEvent::getId));
+        hold(events);
+        return events;
     }
 
     @Transactional(propagation = Propagation.REQUIRES_NEW)
-    public void handleFailure(Long id, int maxRetries, String error) {
-        var eventOptional = outboxEventRepository.findById(id);
-        if (eventOptional.isPresent()) {
-            int currentRetry = eventOptional.get().getRetryCount();
-            int nextRetry = currentRetry + 1;
+    public int completeBatch(Collection<Long> sentIds, Collection<OutboxEvent> failedEvents,
+                             Collection<Long> releasedIds, int maxRetries) {
+        int updated = 0;
+        if (!sentIds.isEmpty()) {
+            updated += outboxEventRepository.markSent(sentIds, EventStatus.IN_PROGRESS, EventStatus.SENT,
+                    LocalDateTime.now(), owner);
+        }
+        if (!releasedIds.isEmpty()) {
+            updated += outboxEventRepository.release(releasedIds, EventStatus.IN_PROGRESS, EventStatus.PENDING,
+                    owner);
+        }
 
+        Map<FailureGroup, List<Long>> failures = new LinkedHashMap<>();
+        for (OutboxEvent event : failedEvents) {
             EventStatus nextStatus;
-            if (nextRetry >= maxRetries) {
+            if (event.getRetryCount() + 1 >= maxRetries) {
                 nextStatus = EventStatus.FAILED;
             } else {
                 nextStatus = EventStatus.PENDING;
             }
+            failures.computeIfAbsent(new FailureGroup(nextStatus, event.getErrorReason()), group -> new ArrayList<>())
+                    .add(event.getId());
+        }
+        for (var failure : failures.entrySet()) {
+            updated += outboxEventRepository.markFailedOrRetry(failure.getValue(), failure.getKey().status().name(),
+                    failure.getKey().error(), initialBackoffMs, maxBackoffMs, owner);
+        }
+        return updated;
+    }
 
-            outboxEventRepository.markFailedOrRetry(id, EventStatus.IN_PROGRESS, nextStatus, error);
+    /**
+     * Stops renewing the leases of events whose outcome has been handed to {@link #completeBatch}. Called whether or
+     * not that write succeeded: if it failed, the leases run out and the reaper returns the events to PENDING.
+     */
+    public void forget(Collection<Long> eventIds) {
+        heldIds.removeAll(eventIds);
+    }
 
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public int renewLeases() {
+        List<Long> ids = new ArrayList<>(heldIds);
+        int renewed = 0;
+        for (int from = 0; from < ids.size(); from += RENEW_CHUNK_SIZE) {
+            renewed += outboxEventRepository.renewLeases(ids.subList(from, Math.min(from + RENEW_CHUNK_SIZE,
+                    ids.size())), owner, leaseMs);
         }
+        return renewed;
     }
 
     @Transactional(propagation = Propagation.REQUIRES_NEW)
-    public int rollback(LocalDateTime time) {
-        return outboxEventRepository.rollbackInCaseOfUnexpectedFailure(EventStatus.PENDING,
-                EventStatus.IN_PROGRESS, time);
+    public int reapExpiredLeases() {
+        return outboxEventRepository.reapExpiredLeases();
+    }
+
+    private void hold(List<OutboxEvent> events) {
+        List<Long> ids = events.stream().map(OutboxEvent::getId).toList();
+        heldIds.addAll(ids);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    heldIds.removeAll(ids);
+                }
+            }
+        });
+    }
+
+    private record FailureGroup(EventStatus status, String error) {
     }
 }
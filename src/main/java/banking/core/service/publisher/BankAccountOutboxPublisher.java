@@ -1,16 +1,17 @@
 package banking.core.service.publisher;
 
+import banking.core.dto.events.AccountEvent;
 import banking.core.model.entity.BankAccount;
 import banking.core.model.entity.OutboxEvent;
 import banking.core.repository.OutboxEventRepository;
+import banking.core.service.processor.OutboxFastPath;
 import banking.core.service.publisher.util.OutboxJsonUtil;
-import com.fasterxml.jackson.databind.JsonNode;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
-import java.util.Map;
+import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Slf4j
@@ -21,30 +22,32 @@ public class BankAccountOutboxPublisher {
     private String topicAccounts;
 
     private final OutboxEventRepository outboxEventRepository;
+    private final OutboxFastPath outboxFastPath;
     private final OutboxJsonUtil outboxJsonUtil;
 
     public void saveBankAccountEvent(String eventType, UUID userId, BankAccount account) {
-        JsonNode payload = createBankAccountEventPayload(eventType, userId, account);
+        byte[] payload = createBankAccountEventPayload(eventType, userId, account);
 
-        outboxEventRepository.save(OutboxEvent.builder()
+        OutboxEvent event = outboxEventRepository.save(OutboxEvent.builder()
                 .aggregateType("ACCOUNT")
                 .aggregateId(account.getId())
                 .topic(topicAccounts)
                 .payload(payload)
                 .build());
+        outboxFastPath.publishAfterCommit(event);
     }
 
-    private JsonNode createBankAccountEventPayload(String eventType, UUID userId, BankAccount account) {
-        Map<String, Object> data = Map.of(
-                "accountId", account.getId(),
-                "userId", userId,
-                "accountNumber", account.getAccountNumber(),
-                "currency", account.getCurrency().name(),
-                "status", account.getStatus().name(),
-                "balance", account.getBalance(),
-                "occurredAt", java.time.LocalDateTime.now().toString()
+    private byte[] createBankAccountEventPayload(String eventType, UUID userId, BankAccount account) {
+        AccountEvent data = new AccountEvent(
+                account.getId(),
+                userId,
+                account.getAccountNumber(),
+                account.getCurrency().name(),
+                account.getStatus().name(),
+                account.getBalance(),
+                LocalDateTime.now().toString()
         );
 
-        return outboxJsonUtil.toJsonNode(data, eventType);
+        return outboxJsonUtil.toBytes(data, eventType);
     }
 }
@@ -1,9 +1,9 @@
 package banking.core.service.publisher;
 
+import banking.core.dto.events.SystemErrorEvent;
 import banking.core.model.entity.OutboxEvent;
 import banking.core.repository.OutboxEventRepository;
 import banking.core.service.publisher.util.OutboxJsonUtil;
-import com.fasterxml.jackson.databind.JsonNode;
 import jakarta.annotation.Nullable;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -11,7 +11,6 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
-import java.util.Map;
 import java.util.UUID;
 
 @Slf4j
@@ -27,23 +26,23 @@ public class SystemErrorPublisher {
     public void publish(String service, String operation, String message, @Nullable Throwable e) {
         var errorId = UUID.randomUUID();
 
-        Map<String, Object> data = Map.of(
-                "errorId", errorId,
-                "service", service,
-                "operation", operation,
-                "message", message,
-                "exceptionClass", e == null ? null : e.getClass().getName(),
-                "exceptionMessage", e == null ? null : e.getMessage(),
-                "occurredAt", LocalDateTime.now().toString()
+        SystemErrorEvent data = new SystemErrorEvent(
+                errorId,
+                service,
+                operation,
+                message,
+                e == null ? null : e.getClass().getName(),
+                e == null ? null : e.getMessage(),
+                LocalDateTime.now().toString()
         );
 
-        JsonNode json = outboxJsonUtil.toJsonNode(data, "SYSTEM_ERROR");
+        byte[] payload = outboxJsonUtil.toBytes(data, "SYSTEM_ERROR");
 
         outboxEventRepository.save(OutboxEvent.builder()
                 .aggregateType("ERROR")
                 .aggregateId(errorId)
                 .topic(topicSystemErrors)
-                .payload(json)
+                .payload(payload)
                 .build());
 
         log.warn("System error saved to outbox: errorId={}, operation={}, message={}", errorId, operation, message);
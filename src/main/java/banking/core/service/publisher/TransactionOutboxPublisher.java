@@ -1,11 +1,13 @@
 package banking.core.service.publisher;
 
+import banking.core.dto.events.TransactionEvent;
 import banking.core.model.entity.BankAccount;
 import banking.core.model.entity.OutboxEvent;
 import banking.core.model.entity.Transaction;
+import banking.core.model.enums.Currency;
 import banking.core.repository.OutboxEventRepository;
+import banking.core.service.processor.OutboxFastPath;
 import banking.core.service.publisher.util.OutboxJsonUtil;
-import com.fasterxml.jackson.databind.JsonNode;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
@@ -13,8 +15,6 @@ import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
-import java.util.HashMap;
-import java.util.Map;
 import java.util.UUID;
 
 @Slf4j
@@ -25,44 +25,54 @@ public class TransactionOutboxPublisher {
     private String topicTransactions;
 
     private final OutboxEventRepository outboxEventRepository;
+    private final OutboxFastPath outboxFastPath;
     private final OutboxJsonUtil outboxJsonUtil;
 
     public void saveTransactionEvent(String eventType, UUID userId, Transaction transaction, BankAccount fromAccount,
                                      BankAccount toAccount, BigDecimal amount) {
+        Currency currency;
+        if (toAccount != null) {
+            currency = toAccount.getCurrency();
+        } else if (fromAccount != null) {
+            currency = fromAccount.getCurrency();
+        } else {
+            currency = null;
+        }
+
+        saveTransactionEvent(eventType, userId, transaction, fromAccount == null ? null : fromAccount.getId(),
+                toAccount == null ? null : toAccount.getId(), currency, amount);
+    }
+
+    public void saveTransactionEvent(String eventType, UUID userId, Transaction transaction, UUID fromAccountId,
+                                     UUID toAccountId, Currency currency, BigDecimal amount) {
 
-        JsonNode payload = createTransactionEventPayload(eventType, userId, transaction, fromAccount, toAccount, amount);
+        byte[] payload = createTransactionEventPayload(eventType, userId, transaction, fromAccountId, toAccountId,
+                currency, amount);
 
-        outboxEventRepository.save(OutboxEvent.builder()
+        OutboxEvent event = outboxEventRepository.save(OutboxEvent.builder()
                 .aggregateType("TRANSACTION")
                 .aggregateId(transaction.getId())
                 .topic(topicTransactions)
                 .payload(payload)
                 .build());
+        outboxFastPath.publishAfterCommit(event);
     }
 
-    private JsonNode createTransactionEventPayload(String eventType, UUID userId, Transaction transaction,
-                                                   BankAccount fromAccount, BankAccount toAccount, BigDecimal amount) {
-        Map<String, Object> data = new HashMap<>();
-        data.put("transactionId", transaction.getId());
-        data.put("userId", userId);
-        data.put("type", transaction.getType().name());
-        data.put("status", transaction.getStatus().name());
-        data.put("fromAccountId", fromAccount == null ? null : fromAccount.getId());
-        data.put("toAccountId", toAccount == null ? null : toAccount.getId());
-        data.put("amount", amount);
-
-        String currency;
-        if (toAccount != null) {
-            currency = toAccount.getCurrency().name();
-        } else if (fromAccount != null) {
-            currency = fromAccount.getCurrency().name();
-        } else {
-            currency = null;
-        }
-        data.put("currency", currency);
-
-        data.put("occurredAt", LocalDateTime.now().toString());
+    private byte[] createTransactionEventPayload(String eventType, UUID userId, Transaction transaction,
+                                                 UUID fromAccountId, UUID toAccountId, Currency currency,
+                                                 BigDecimal amount) {
+        TransactionEvent data = new TransactionEvent(
+                transaction.getId(),
+                userId,
+                transaction.getType().name(),
+                transaction.getStatus().name(),
+                fromAccountId,
+                toAccountId,
+                amount,
+                currency == null ? null : currency.name(),
+                LocalDateTime.now().toString()
+        );
 
-        return outboxJsonUtil.toJsonNode(data, eventType);
+        return outboxJsonUtil.toBytes(data, eventType);
     }
 }
@@ -1,18 +1,19 @@
 package banking.core.service.publisher;
 
+import banking.core.dto.events.TransferEvent;
 import banking.core.model.entity.BankAccount;
 import banking.core.model.entity.OutboxEvent;
 import banking.core.model.entity.Transaction;
 import banking.core.repository.OutboxEventRepository;
+import banking.core.service.processor.OutboxFastPath;
 import banking.core.service.publisher.util.OutboxJsonUtil;
-import com.fasterxml.jackson.databind.JsonNode;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
-import java.util.Map;
+import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Slf4j
@@ -23,6 +24,7 @@ public class TransferOutboxPublisher {
     private String topicTransfers;
 
     private final OutboxEventRepository outboxEventRepository;
+    private final OutboxFastPath outboxFastPath;
     private final OutboxJsonUtil outboxJsonUtil;
 
     public void saveTransferEvent(UUID userId,
@@ -31,31 +33,32 @@ public class TransferOutboxPublisher {
                                   BigDecimal amount,
                                   Transaction savedTransaction) {
 
-        JsonNode payload = createTransferEventPayload(userId, fromAccount, toAccount, amount, savedTransaction);
+        byte[] payload = createTransferEventPayload(userId, fromAccount, toAccount, amount, savedTransaction);
 
-        outboxEventRepository.save(OutboxEvent.builder()
+        OutboxEvent event = outboxEventRepository.save(OutboxEvent.builder()
                 .aggregateType("TRANSACTION")
                 .aggregateId(savedTransaction.getId())
                 .topic(topicTransfers)
                 .payload(payload)
                 .build());
+        outboxFastPath.publishAfterCommit(event);
     }
 
-    private JsonNode createTransferEventPayload(UUID userId,
-                                                BankAccount fromAccount,
-                                                BankAccount toAccount,
-                                                BigDecimal amount,
-                                                Transaction savedTransaction) {
-        Map<String, Object> data = Map.of(
-                "transactionId", savedTransaction.getId(),
-                "userId", userId,
-                "fromAccountId", fromAccount.getId(),
-                "toAccountId", toAccount.getId(),
-                "amount", amount,
-                "currency", fromAccount.getCurrency().name(),
-                "occurredAt", java.time.LocalDateTime.now().toString()
+    private byte[] createTransferEventPayload(UUID userId,
+                                              BankAccount fromAccount,
+                                              BankAccount toAccount,
+                                              BigDecimal amount,
+                                              Transaction savedTransaction) {
+        TransferEvent data = new TransferEvent(
+                savedTransaction.getId(),
+                userId,
+                fromAccount.getId(),
+                toAccount.getId(),
+                amount,
+                fromAccount.getCurrency().name(),
+                LocalDateTime.now().toString()
         );
 
-        return outboxJsonUtil.toJsonNode(data, "TRANSFER_COMPLETED");
+        return outboxJsonUtil.toBytes(data, "TRANSFER_COMPLETED");
     }
 }
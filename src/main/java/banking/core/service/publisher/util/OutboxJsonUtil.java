@@ -1,23 +1,24 @@
 package banking.core.service.publisher.util;
 
-import com.fasterxml.jackson.databind.JsonNode;
+import banking.core.dto.events.OutboxEnvelope;
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.node.ObjectNode;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
+/**
+ * Serializes an outbox event once, at write time, into the UTF-8 JSON bytes that are stored in
+ * {@code outbox_events.payload} and later handed to Kafka as they are.
+ */
 @Component
 @RequiredArgsConstructor
 public class OutboxJsonUtil {
     private final ObjectMapper objectMapper;
 
-    public JsonNode toJsonNode(Object payload, String eventType) {
+    public byte[] toBytes(Object payload, String eventType) {
         try {
-            ObjectNode root = objectMapper.createObjectNode();
-            root.put("eventType", eventType);
-            root.set("data", objectMapper.valueToTree(payload));
-            return root;
-        } catch (IllegalArgumentException e) {
+            return objectMapper.writeValueAsBytes(new OutboxEnvelope<>(eventType, payload));
+        } catch (JsonProcessingException e) {
             throw new IllegalStateException("Failed to serialize outbox payload: " + eventType, e);
         }
     }
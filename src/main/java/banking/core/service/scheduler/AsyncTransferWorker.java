@@ -0,0 +1,78 @@
+package banking.core.service.scheduler;
+
+import banking.core.service.AsyncTransferService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AsyncTransferWorker {
+    private final AsyncTransferService asyncTransferService;
+
+    @Value("${banking.transfer.async.workers:4}")
+    private int workers;
+
+    private ExecutorService executor;
+
+    @PostConstruct
+    void start() {
+        AtomicInteger threadNumber = new AtomicInteger();
+        executor = Executors.newFixedThreadPool(workers, runnable -> {
+            Thread thread = new Thread(runnable, "async-transfer-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    void stop() {
+        executor.shutdown();
+    }
+
+    @Scheduled(fixedDelayString = "${banking.transfer.async.poll-interval-ms:200}")
+    public void drainQueue() {
+        List<Callable<Integer>> drains = new ArrayList<>();
+        for (int i = 0; i < workers; i++) {
+            drains.add(this::drain);
+        }
+
+        int processed = 0;
+        try {
+            for (Future<Integer> future : executor.invokeAll(drains)) {
+                processed += future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            log.error("Async transfer worker failed", e);
+        }
+
+        if (processed > 0) {
+            log.info("Async transfer queue drained. processedTransfers={}", processed);
+        }
+    }
+
+    private int drain() {
+        int total = 0;
+        int processed;
+        do {
+            processed = asyncTransferService.processPending();
+            total += processed;
+        } while (processed > 0);
+        return total;
+    }
+}
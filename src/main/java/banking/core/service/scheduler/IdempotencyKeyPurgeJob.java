@@ -0,0 +1,23 @@
+package banking.core.service.scheduler;
+
+import banking.core.service.idempotency.IdempotencyService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class IdempotencyKeyPurgeJob {
+    private final IdempotencyService idempotencyService;
+    private final ScheduledJobLockService scheduledJobLockService;
+
+    @Scheduled(cron = "${banking.idempotency.purge-cron:0 15 * * * *}")
+    public void purgeExpiredKeys() {
+        scheduledJobLockService.runExclusive("idempotency-key-purge", () -> {
+            int deleted = idempotencyService.purgeExpired();
+            log.info("Idempotency key purge finished. deletedKeys={}", deleted);
+        });
+    }
+}
@@ -11,10 +11,19 @@ import org.springframework.stereotype.Service;
 @RequiredArgsConstructor
 public class InterestJob {
     private final InterestService interestService;
+    private final ScheduledJobLockService scheduledJobLockService;
 
     @Scheduled(cron = "0 0 2 * * *")
     public void applyDailyInterest() {
         int applied = interestService.applyDailyInterest();
         log.info("Interest job finished. processedAccounts={}", applied);
     }
+
+    @Scheduled(cron = "${banking.interest.accrual.capitalization-cron:0 30 2 1 * *}")
+    public void capitalizeInterest() {
+        scheduledJobLockService.runExclusive("interest-capitalization", () -> {
+            int capitalized = interestService.capitalizeInterest();
+            log.info("Interest capitalization job finished. processedAccounts={}", capitalized);
+        });
+    }
 }
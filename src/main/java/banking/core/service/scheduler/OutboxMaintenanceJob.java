@@ -0,0 +1,28 @@
+package banking.core.service.scheduler;
+
+import banking.core.service.processor.OutboxPartitionArchiver;
+import banking.core.service.processor.OutboxProcessor;
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Partition upkeep of {@code outbox_events}. It issues DDL, so it runs on one replica at a time.
+ */
+@Service
+@RequiredArgsConstructor
+public class OutboxMaintenanceJob {
+    private final OutboxProcessor outboxProcessor;
+    private final OutboxPartitionArchiver outboxPartitionArchiver;
+    private final ScheduledJobLockService scheduledJobLockService;
+
+    @Scheduled(fixedRate = 3600000)
+    public void createPartitions() {
+        scheduledJobLockService.runExclusive("outbox-create-partitions", outboxProcessor::createPartitions);
+    }
+
+    @Scheduled(cron = "0 0 2 * * *")
+    public void archiveProcessedMessages() {
+        scheduledJobLockService.runExclusive("outbox-archive", outboxPartitionArchiver::archiveProcessedMessages);
+    }
+}
@@ -0,0 +1,116 @@
+package banking.core.service.scheduler;
+
+import banking.core.repository.ScheduledJobLockRepository;
+import banking.core.service.concurrency.RetryingTransactionExecutor;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.lang.management.ManagementFactory;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Cluster-wide leases for scheduled work, kept in {@code scheduled_job_locks}. A lease is taken with a single
+ * upsert that only succeeds when the previous holder's lease has expired, renewed in the background while the work
+ * runs, and released when it ends, so a replica that dies mid-job frees it after at most one lease period.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ScheduledJobLockService {
+    private final ScheduledJobLockRepository scheduledJobLockRepository;
+    private final RetryingTransactionExecutor retryingTransactionExecutor;
+
+    @Getter
+    private final String owner = ManagementFactory.getRuntimeMXBean().getName() + "/" + UUID.randomUUID();
+
+    private ScheduledExecutorService heartbeat;
+
+    @Value("${banking.scheduling.locks.lease-ms:60000}")
+    private long leaseMs;
+
+    @Value("${banking.scheduling.locks.min-hold-ms:30000}")
+    private long minHoldMs;
+
+    @PostConstruct
+    void start() {
+        heartbeat = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "job-lock-heartbeat");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    void stop() {
+        heartbeat.shutdownNow();
+    }
+
+    /**
+     * Runs a scheduled job on one replica only. The lease is kept for at least {@code min-hold-ms} after the job
+     * started, so replicas whose clocks fire the same cron slightly later skip it instead of running it again.
+     *
+     * @return whether this replica ran the job
+     */
+    public boolean runExclusive(String job, Runnable task) {
+        Optional<Boolean> ran = callExclusive(job, false, () -> {
+            task.run();
+            return true;
+        });
+        if (ran.isEmpty()) {
+            log.debug("Scheduled job is running elsewhere, skipping: job={}", job);
+        }
+        return ran.isPresent();
+    }
+
+    /**
+     * Processes one shard of a larger job if no other replica holds it. The lease is dropped as soon as the shard is
+     * done; recording that it is done is up to the caller.
+     *
+     * @return the shard's result, or empty if another replica holds it
+     */
+    public <T> Optional<T> callShard(String shard, Supplier<T> task) {
+        return callExclusive(shard, true, task);
+    }
+
+    private <T> Optional<T> callExclusive(String name, boolean shard, Supplier<T> task) {
+        Integer acquired = retryingTransactionExecutor.execute("job-lock",
+                () -> scheduledJobLockRepository.tryAcquire(name, owner, leaseMs));
+        if (acquired == null || acquired == 0) {
+            return Optional.empty();
+        }
+
+        ScheduledFuture<?> renewal = heartbeat.scheduleAtFixedRate(() -> renew(name), leaseMs / 3, leaseMs / 3,
+                TimeUnit.MILLISECONDS);
+        try {
+            return Optional.ofNullable(task.get());
+        } finally {
+            renewal.cancel(false);
+            retryingTransactionExecutor.execute("job-lock", () -> shard
+                    ? scheduledJobLockRepository.delete(name, owner)
+                    : scheduledJobLockRepository.release(name, owner, minHoldMs));
+        }
+    }
+
+    private void renew(String name) {
+        try {
+            Integer renewed = retryingTransactionExecutor.execute("job-lock",
+                    () -> scheduledJobLockRepository.renew(name, owner, leaseMs));
+            if (renewed == null || renewed == 0) {
+                log.warn("Scheduled job lease lost: name={}, owner={}", name, owner);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Scheduled job lease not renewed: name={}, err={}", name, e.getMessage());
+        }
+    }
+}
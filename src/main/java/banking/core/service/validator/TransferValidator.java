@@ -1,7 +1,11 @@
 package banking.core.service.validator;
 
 import banking.core.dto.requests.TransferRequest;
+import banking.core.error.exception.TransferBusinessException;
 import banking.core.error.exception.ValidationException;
+import banking.core.model.entity.BankAccount;
+import banking.core.model.enums.AccountStatus;
+import banking.core.repository.projection.AccountMetadata;
 import jakarta.validation.ConstraintViolation;
 import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
@@ -10,6 +14,7 @@ import org.springframework.stereotype.Service;
 import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.UUID;
 
 @Service
 @RequiredArgsConstructor
@@ -46,4 +51,40 @@ public class TransferValidator {
             throw new ValidationException(errors);
         }
     }
+
+    /**
+     * Checks only the attributes an account never changes (owner and currency), so it is safe to run against cached
+     * metadata. Closed and blocked accounts are not rejected here: status is checked only by {@link #validateAccounts}
+     * under the row lock.
+     */
+    public void validateImmutableAttributes(UUID userId, AccountMetadata sourceBankAccount,
+                                            AccountMetadata destinationBankAccount) {
+        if (!sourceBankAccount.getUserId().equals(userId)) {
+            throw new TransferBusinessException("Source Bank Account does not belong to the current user");
+        }
+        if (sourceBankAccount.getCurrency() != destinationBankAccount.getCurrency()) {
+            throw new TransferBusinessException("Bank Accounts must have same currency");
+        }
+    }
+
+    public void validateAccounts(UUID userId, BankAccount sourceBankAccount, BankAccount destinationBankAccount) {
+        if (!sourceBankAccount.getUserId().equals(userId)) {
+            throw new TransferBusinessException("Source Bank Account does not belong to the current user");
+        }
+        if (sourceBankAccount.getStatus() == AccountStatus.CLOSED) {
+            throw new TransferBusinessException("Source Bank Account is closed");
+        }
+        if (sourceBankAccount.getStatus() == AccountStatus.BLOCKED) {
+            throw new TransferBusinessException("Source Bank Account is blocked");
+        }
+        if (destinationBankAccount.getStatus() == AccountStatus.CLOSED) {
+            throw new TransferBusinessException("Destination Bank Account is closed");
+        }
+        if (destinationBankAccount.getStatus() == AccountStatus.BLOCKED) {
+            throw new TransferBusinessException("Destination Bank Account is blocked");
+        }
+        if (sourceBankAccount.getCurrency() != destinationBankAccount.getCurrency()) {
+            throw new TransferBusinessException("Bank Accounts must have same currency");
+        }
+    }
 }
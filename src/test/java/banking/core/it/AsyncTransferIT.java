@@ -0,0 +1,154 @@
+package banking.core.it;
+
+import banking.core.dto.requests.TransferRequest;
+import banking.core.error.exception.TransferNotFoundException;
+import banking.core.error.exception.ValidationException;
+import banking.core.model.entity.BankAccount;
+import banking.core.model.enums.AccountStatus;
+import banking.core.model.enums.AsyncTransferStatus;
+import banking.core.model.enums.Currency;
+import banking.core.repository.AsyncTransferRepository;
+import banking.core.repository.BankAccountRepository;
+import banking.core.repository.OutboxEventRepository;
+import banking.core.repository.TransactionRepository;
+import banking.core.service.AsyncTransferService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+public class AsyncTransferIT extends IntegrationTestBase {
+    @Autowired
+    AsyncTransferService asyncTransferService;
+    @Autowired
+    AsyncTransferRepository asyncTransferRepository;
+    @Autowired
+    BankAccountRepository bankAccountRepository;
+    @Autowired
+    TransactionRepository transactionRepository;
+    @Autowired
+    OutboxEventRepository outboxEventRepository;
+
+    @BeforeEach
+    void cleanDb() {
+        asyncTransferRepository.deleteAll();
+        transactionRepository.deleteAll();
+        outboxEventRepository.deleteAll();
+        bankAccountRepository.deleteAll();
+    }
+
+    @Test
+    void submittedTransfers_areProcessedByWorker_andReportStatus() {
+        UUID userId = UUID.randomUUID();
+        BankAccount from = createAccount(userId, "30.00");
+        BankAccount to = createAccount(UUID.randomUUID(), "0.00");
+
+        var first = asyncTransferService.submit(userId, new TransferRequest(from.getId(), to.getId(),
+                new BigDecimal("20.00")));
+        var second = asyncTransferService.submit(userId, new TransferRequest(from.getId(), to.getId(),
+                new BigDecimal("20.00")));
+
+        assertEquals(AsyncTransferStatus.PENDING, asyncTransferService.getStatus(userId, first.getTransferId())
+                .getStatus());
+        assertEquals(0, transactionRepository.count());
+
+        assertEquals(2, asyncTransferService.processPending());
+        assertEquals(0, asyncTransferService.processPending());
+
+        var firstStatus = asyncTransferService.getStatus(userId, first.getTransferId());
+        assertEquals(AsyncTransferStatus.COMPLETED, firstStatus.getStatus());
+        assertNotNull(firstStatus.getTransactionId());
+        assertNotNull(firstStatus.getProcessedAt());
+
+        var secondStatus = asyncTransferService.getStatus(userId, second.getTransferId());
+        assertEquals(AsyncTransferStatus.FAILED, secondStatus.getStatus());
+        assertEquals("Insufficient funds", secondStatus.getError());
+
+        assertEquals(0, bankAccountRepository.findById(from.getId()).orElseThrow().getBalance()
+                .compareTo(new BigDecimal("10.00")));
+        assertEquals(0, bankAccountRepository.findById(to.getId()).orElseThrow().getBalance()
+                .compareTo(new BigDecimal("20.00")));
+    }
+
+    @Test
+    void transferFailingOutsideBusinessRules_isMarkedFailed_withoutBlockingTheQueue() {
+        UUID userId = UUID.randomUUID();
+        BankAccount from = createAccount(userId, "100.00");
+        BankAccount healthy = createAccount(UUID.randomUUID(), "0.00");
+        BankAccount full = createAccount(UUID.randomUUID(), "99999999999999999.99");
+
+        var poison = asyncTransferService.submit(userId, new TransferRequest(from.getId(), full.getId(),
+                new BigDecimal("1.00")));
+        var ok = asyncTransferService.submit(userId, new TransferRequest(from.getId(), healthy.getId(),
+                new BigDecimal("5.00")));
+
+        assertEquals(2, asyncTransferService.processPending());
+        assertEquals(0, asyncTransferService.processPending());
+
+        var poisonStatus = asyncTransferService.getStatus(userId, poison.getTransferId());
+        assertEquals(AsyncTransferStatus.FAILED, poisonStatus.getStatus());
+        assertNotNull(poisonStatus.getError());
+        assertEquals(AsyncTransferStatus.COMPLETED, asyncTransferService.getStatus(userId, ok.getTransferId())
+                .getStatus());
+        assertEquals(0, bankAccountRepository.findById(from.getId()).orElseThrow().getBalance()
+                .compareTo(new BigDecimal("95.00")));
+    }
+
+    @Test
+    void processPending_claimsOldestTransfersFirst_whateverTheirAccount() {
+        UUID userId = UUID.randomUUID();
+        BankAccount first = createAccount(userId, "10.00");
+        BankAccount second = createAccount(userId, "10.00");
+        BankAccount low = first.getId().compareTo(second.getId()) < 0 ? first : second;
+        BankAccount high = low == first ? second : first;
+        BankAccount to = createAccount(UUID.randomUUID(), "0.00");
+
+        var older = asyncTransferService.submit(userId, new TransferRequest(high.getId(), to.getId(),
+                new BigDecimal("1.00")));
+        var newer = asyncTransferService.submit(userId, new TransferRequest(low.getId(), to.getId(),
+                new BigDecimal("1.00")));
+
+        ReflectionTestUtils.setField(asyncTransferService, "batchSize", 1);
+        try {
+            assertEquals(1, asyncTransferService.processPending());
+        } finally {
+            ReflectionTestUtils.setField(asyncTransferService, "batchSize", 100);
+        }
+
+        assertEquals(AsyncTransferStatus.COMPLETED, asyncTransferService.getStatus(userId, older.getTransferId())
+                .getStatus());
+        assertEquals(AsyncTransferStatus.PENDING, asyncTransferService.getStatus(userId, newer.getTransferId())
+                .getStatus());
+    }
+
+    @Test
+    void submit_invalidRequest_isRejectedUpFront_andStatusIsPrivate() {
+        UUID userId = UUID.randomUUID();
+        UUID accountId = UUID.randomUUID();
+
+        assertThrows(ValidationException.class, () -> asyncTransferService.submit(userId,
+                new TransferRequest(accountId, accountId, new BigDecimal("1.00"))));
+
+        var accepted = asyncTransferService.submit(userId, new TransferRequest(UUID.randomUUID(), UUID.randomUUID(),
+                new BigDecimal("1.00")));
+        assertThrows(TransferNotFoundException.class, () -> asyncTransferService.getStatus(UUID.randomUUID(),
+                accepted.getTransferId()));
+    }
+
+    private BankAccount createAccount(UUID userId, String balance) {
+        return bankAccountRepository.save(BankAccount.builder()
+                .userId(userId)
+                .accountNumber("ACC-" + UUID.randomUUID())
+                .currency(Currency.EUR)
+                .status(AccountStatus.ACTIVE)
+                .balance(new BigDecimal(balance))
+                .build());
+    }
+}
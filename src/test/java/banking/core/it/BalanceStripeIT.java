@@ -0,0 +1,142 @@
+package banking.core.it;
+
+import banking.core.dto.requests.BalanceOperationRequest;
+import banking.core.dto.requests.TransferRequest;
+import banking.core.dto.requests.UpdateBalanceStripesRequest;
+import banking.core.error.exception.TransferBusinessException;
+import banking.core.model.entity.BankAccount;
+import banking.core.model.enums.AccountStatus;
+import banking.core.model.enums.Currency;
+import banking.core.repository.BalanceStripeRepository;
+import banking.core.repository.BankAccountRepository;
+import banking.core.repository.OutboxEventRepository;
+import banking.core.repository.TransactionRepository;
+import banking.core.service.BankAccountService;
+import banking.core.service.TransferService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+public class BalanceStripeIT extends IntegrationTestBase {
+    @Autowired
+    BankAccountService bankAccountService;
+    @Autowired
+    TransferService transferService;
+    @Autowired
+    BankAccountRepository bankAccountRepository;
+    @Autowired
+    BalanceStripeRepository balanceStripeRepository;
+    @Autowired
+    TransactionRepository transactionRepository;
+    @Autowired
+    OutboxEventRepository outboxEventRepository;
+
+    @BeforeEach
+    void cleanDb() {
+        transactionRepository.deleteAll();
+        outboxEventRepository.deleteAll();
+        balanceStripeRepository.deleteAll();
+        bankAccountRepository.deleteAll();
+    }
+
+    @Test
+    public void stripedAccount_acceptsConcurrentCredits_andReportsTotalBalance() throws Exception {
+        UUID merchantId = UUID.randomUUID();
+        BankAccount merchant = createAccount(merchantId, "0.00");
+        bankAccountService.updateBalanceStripes(merchant.getId(), new UpdateBalanceStripesRequest(8));
+
+        UUID payerId = UUID.randomUUID();
+        List<BankAccount> payers = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            payers.add(createAccount(payerId, "100.00"));
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (BankAccount payer : payers) {
+                futures.add(executor.submit(() -> transferService.transfer(payerId,
+                        new TransferRequest(payer.getId(), merchant.getId(), new BigDecimal("10.00")))));
+                futures.add(executor.submit(() -> bankAccountService.deposit(merchantId, merchant.getId(),
+                        new BalanceOperationRequest(new BigDecimal("1.00")))));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        var balance = bankAccountService.getBalance(merchantId, merchant.getId());
+        assertEquals(0, balance.getBalance().compareTo(new BigDecimal("88.00")));
+
+        var stored = bankAccountRepository.findById(merchant.getId()).orElseThrow();
+        assertEquals(0, stored.getBalance().signum(), "Credits must land in stripes, not in the account row");
+        assertEquals(8, stored.getBalanceStripes());
+    }
+
+    @Test
+    public void withdraw_sweepsStripes_whenAccountBalanceIsNotEnough() {
+        UUID userId = UUID.randomUUID();
+        BankAccount account = createAccount(userId, "5.00");
+        bankAccountService.updateBalanceStripes(account.getId(), new UpdateBalanceStripesRequest(4));
+
+        for (int i = 0; i < 5; i++) {
+            bankAccountService.deposit(userId, account.getId(), new BalanceOperationRequest(new BigDecimal("3.00")));
+        }
+
+        bankAccountService.withdraw(userId, account.getId(), new BalanceOperationRequest(new BigDecimal("12.00")));
+
+        var stored = bankAccountRepository.findById(account.getId()).orElseThrow();
+        assertEquals(0, stored.getBalance().compareTo(new BigDecimal("8.00")));
+        assertEquals(0, balanceStripeRepository.sumBalanceByAccountId(account.getId()).signum());
+    }
+
+    @Test
+    public void disablingStripes_foldsThemIntoAccountBalance() {
+        UUID userId = UUID.randomUUID();
+        BankAccount account = createAccount(userId, "0.00");
+        bankAccountService.updateBalanceStripes(account.getId(), new UpdateBalanceStripesRequest(4));
+        bankAccountService.deposit(userId, account.getId(), new BalanceOperationRequest(new BigDecimal("7.00")));
+
+        var response = bankAccountService.updateBalanceStripes(account.getId(),
+                new UpdateBalanceStripesRequest(0));
+
+        assertEquals(0, response.getBalance().compareTo(new BigDecimal("7.00")));
+        assertEquals(0, balanceStripeRepository.count());
+    }
+
+    @Test
+    public void updateBalanceStripes_inactiveAccount_isRejected() {
+        BankAccount account = createAccount(UUID.randomUUID(), "0.00");
+        account.setStatus(AccountStatus.BLOCKED);
+        bankAccountRepository.save(account);
+
+        var exception = assertThrows(TransferBusinessException.class, () -> bankAccountService
+                .updateBalanceStripes(account.getId(), new UpdateBalanceStripesRequest(4)));
+        assertTrue(exception.getMessage().contains("blocked"));
+        assertEquals(0, bankAccountRepository.findById(account.getId()).orElseThrow().getBalanceStripes());
+    }
+
+    private BankAccount createAccount(UUID userId, String balance) {
+        return bankAccountRepository.save(BankAccount.builder()
+                .userId(userId)
+                .accountNumber("ACC-STRIPE-" + UUID.randomUUID())
+                .currency(Currency.EUR)
+                .status(AccountStatus.ACTIVE)
+                .balance(new BigDecimal(balance))
+                .build());
+    }
+}
@@ -3,8 +3,10 @@ package banking.core.it;
 import banking.core.dto.requests.BalanceOperationRequest;
 import banking.core.dto.requests.CreateBankAccountRequest;
 import banking.core.dto.requests.UpdateAccountStatusRequest;
+import banking.core.error.exception.TransferBusinessException;
 import banking.core.model.enums.AccountStatus;
 import banking.core.model.enums.Currency;
+import banking.core.model.enums.TransactionType;
 import banking.core.repository.BankAccountRepository;
 import banking.core.repository.OutboxEventRepository;
 import banking.core.repository.TransactionRepository;
@@ -13,11 +15,13 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
 
 import java.math.BigDecimal;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 @SpringBootTest
 public class BankAccountServiceIT extends IntegrationTestBase {
@@ -33,6 +37,9 @@ public class BankAccountServiceIT extends IntegrationTestBase {
     @Autowired
     private TransactionRepository transactionRepository;
 
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
     @BeforeEach
     void cleanDb() {
         transactionRepository.deleteAll();
@@ -73,6 +80,27 @@ public class BankAccountServiceIT extends IntegrationTestBase {
         assertEquals(outboxBefore + 1, outboxAfter, "Expected exactly 1 new outbox event");
     }
 
+    @Test
+    public void closeAccount_paysOutAccruedInterest_andForfeitsSubCentRest() {
+        var userId = UUID.randomUUID();
+        var created = bankAccountService.createBankAccount(userId, new CreateBankAccountRequest(Currency.EUR));
+        bankAccountService.deposit(userId, created.getId(), new BalanceOperationRequest(new BigDecimal("100.00")));
+        jdbcTemplate.update("UPDATE bank_accounts SET accrued_interest = 0.37035 WHERE id = ?", created.getId());
+        long outboxBefore = outboxEventRepository.count();
+
+        bankAccountService.closeBankAccount(userId, created.getId());
+
+        var closed = bankAccountRepository.findById(created.getId()).orElseThrow();
+        assertEquals(AccountStatus.CLOSED, closed.getStatus());
+        assertEquals(0, closed.getBalance().compareTo(new BigDecimal("100.37")));
+        assertEquals(0, closed.getAccruedInterest().signum());
+        assertEquals(1, transactionRepository.findAll().stream()
+                .filter(transaction -> transaction.getType() == TransactionType.INTEREST)
+                .count());
+        assertEquals(outboxBefore + 2, outboxEventRepository.count(),
+                "Expected INTEREST_APPLIED and ACCOUNT_CLOSED events");
+    }
+
     @Test
     public void deposit_increasesBalance() {
         var userId = UUID.randomUUID();
@@ -87,4 +115,49 @@ public class BankAccountServiceIT extends IntegrationTestBase {
         long outboxAfter = outboxEventRepository.count();
         assertEquals(outboxBefore + 1, outboxAfter, "Expected exactly 1 new outbox event");
     }
+
+    @Test
+    public void withdraw_decreasesBalance_andRecordsTransaction() {
+        var userId = UUID.randomUUID();
+        var created = bankAccountService.createBankAccount(userId, new CreateBankAccountRequest(Currency.RUB));
+        bankAccountService.deposit(userId, created.getId(), new BalanceOperationRequest(new BigDecimal("100.00")));
+        long outboxBefore = outboxEventRepository.count();
+
+        var response = bankAccountService.withdraw(userId, created.getId(),
+                new BalanceOperationRequest(new BigDecimal("40.00")));
+
+        var after = bankAccountRepository.findById(created.getId()).orElseThrow();
+        assertEquals(0, after.getBalance().compareTo(new BigDecimal("60.00")));
+        assertEquals(created.getId(), transactionRepository.findById(response.getTransactionId()).orElseThrow()
+                .getFromAccount().getId());
+        assertEquals(outboxBefore + 1, outboxEventRepository.count(), "Expected exactly 1 new outbox event");
+    }
+
+    @Test
+    public void withdraw_insufficientFunds_keepsBalance() {
+        var userId = UUID.randomUUID();
+        var created = bankAccountService.createBankAccount(userId, new CreateBankAccountRequest(Currency.RUB));
+        bankAccountService.deposit(userId, created.getId(), new BalanceOperationRequest(new BigDecimal("10.00")));
+
+        var ex = assertThrows(TransferBusinessException.class, () -> bankAccountService.withdraw(userId,
+                created.getId(), new BalanceOperationRequest(new BigDecimal("10.01"))));
+
+        assertEquals("Insufficient funds", ex.getMessage());
+        var after = bankAccountRepository.findById(created.getId()).orElseThrow();
+        assertEquals(0, after.getBalance().compareTo(new BigDecimal("10.00")));
+    }
+
+    @Test
+    public void deposit_blockedAccount_isRejected() {
+        var userId = UUID.randomUUID();
+        var created = bankAccountService.createBankAccount(userId, new CreateBankAccountRequest(Currency.RUB));
+        bankAccountService.updateStatus(userId, created.getId(), new UpdateAccountStatusRequest(AccountStatus.BLOCKED));
+
+        var ex = assertThrows(TransferBusinessException.class, () -> bankAccountService.deposit(userId,
+                created.getId(), new BalanceOperationRequest(new BigDecimal("10.00"))));
+
+        assertEquals("Deposit failed: Account is blocked", ex.getMessage());
+        var after = bankAccountRepository.findById(created.getId()).orElseThrow();
+        assertEquals(0, after.getBalance().compareTo(BigDecimal.ZERO));
+    }
 }
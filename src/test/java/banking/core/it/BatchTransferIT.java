@@ -0,0 +1,147 @@
+package banking.core.it;
+
+import banking.core.dto.requests.BatchTransferRequest;
+import banking.core.dto.requests.TransferRequest;
+import banking.core.model.entity.BankAccount;
+import banking.core.model.enums.AccountStatus;
+import banking.core.model.enums.BatchTransferItemStatus;
+import banking.core.model.enums.BatchTransferMode;
+import banking.core.model.enums.Currency;
+import banking.core.repository.BankAccountRepository;
+import banking.core.repository.OutboxEventRepository;
+import banking.core.repository.TransactionRepository;
+import banking.core.service.BatchTransferService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+public class BatchTransferIT extends IntegrationTestBase {
+    @Autowired
+    BatchTransferService batchTransferService;
+    @Autowired
+    BankAccountRepository bankAccountRepository;
+    @Autowired
+    TransactionRepository transactionRepository;
+    @Autowired
+    OutboxEventRepository outboxEventRepository;
+
+    @BeforeEach
+    void cleanDb() {
+        transactionRepository.deleteAll();
+        outboxEventRepository.deleteAll();
+        bankAccountRepository.deleteAll();
+    }
+
+    @Test
+    void bestEffort_appliesValidLegs_inOrder_andReportsFailures() {
+        UUID userId = UUID.randomUUID();
+        BankAccount a = createAccount(userId, "100.00");
+        BankAccount b = createAccount(userId, "0.00");
+        BankAccount c = createAccount(UUID.randomUUID(), "0.00");
+
+        var response = batchTransferService.transferBatch(userId, new BatchTransferRequest(
+                BatchTransferMode.BEST_EFFORT, List.of(
+                new TransferRequest(a.getId(), b.getId(), new BigDecimal("60.00")),
+                new TransferRequest(b.getId(), c.getId(), new BigDecimal("50.00")),
+                new TransferRequest(a.getId(), c.getId(), new BigDecimal("50.00")),
+                new TransferRequest(a.getId(), a.getId(), new BigDecimal("1.00")))));
+
+        assertEquals(2, response.getCompleted());
+        assertEquals(2, response.getFailed());
+        assertEquals(BatchTransferItemStatus.COMPLETED, response.getResults().get(0).getStatus());
+        assertEquals(BatchTransferItemStatus.COMPLETED, response.getResults().get(1).getStatus());
+        assertEquals("Insufficient funds", response.getResults().get(2).getError());
+        assertEquals(BatchTransferItemStatus.FAILED, response.getResults().get(3).getStatus());
+
+        assertEquals(0, balanceOf(a).compareTo(new BigDecimal("40.00")));
+        assertEquals(0, balanceOf(b).compareTo(new BigDecimal("10.00")));
+        assertEquals(0, balanceOf(c).compareTo(new BigDecimal("50.00")));
+        assertEquals(2, transactionRepository.count());
+        assertEquals(2, outboxEventRepository.count());
+    }
+
+    @Test
+    void allOrNothing_failedLeg_rollsBackWholeBatch() {
+        UUID userId = UUID.randomUUID();
+        BankAccount a = createAccount(userId, "100.00");
+        BankAccount b = createAccount(UUID.randomUUID(), "0.00");
+
+        var response = batchTransferService.transferBatch(userId, new BatchTransferRequest(
+                BatchTransferMode.ALL_OR_NOTHING, List.of(
+                new TransferRequest(a.getId(), b.getId(), new BigDecimal("60.00")),
+                new TransferRequest(a.getId(), b.getId(), new BigDecimal("60.00")))));
+
+        assertEquals(0, response.getCompleted());
+        assertEquals(1, response.getFailed());
+        assertEquals(BatchTransferItemStatus.NOT_EXECUTED, response.getResults().get(0).getStatus());
+        assertEquals("Insufficient funds", response.getResults().get(1).getError());
+
+        assertEquals(0, balanceOf(a).compareTo(new BigDecimal("100.00")));
+        assertEquals(0, balanceOf(b).compareTo(BigDecimal.ZERO));
+        assertEquals(0, transactionRepository.count());
+        assertEquals(0, outboxEventRepository.count());
+    }
+
+    @Test
+    void concurrentBatches_overlappingAccounts_allComplete() throws Exception {
+        UUID userId = UUID.randomUUID();
+        List<BankAccount> accounts = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            accounts.add(createAccount(userId, "1000.00"));
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(6);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 6; t++) {
+                int shift = t;
+                futures.add(executor.submit(() -> {
+                    List<TransferRequest> transfers = new ArrayList<>();
+                    for (int i = 0; i < accounts.size(); i++) {
+                        BankAccount from = accounts.get((i + shift) % accounts.size());
+                        BankAccount to = accounts.get((i + shift + 1) % accounts.size());
+                        transfers.add(new TransferRequest(from.getId(), to.getId(), new BigDecimal("5.00")));
+                    }
+                    return batchTransferService.transferBatch(userId,
+                            new BatchTransferRequest(BatchTransferMode.ALL_OR_NOTHING, transfers));
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertEquals(36, transactionRepository.count());
+        for (BankAccount account : accounts) {
+            assertEquals(0, balanceOf(account).compareTo(new BigDecimal("1000.00")));
+        }
+    }
+
+    private BigDecimal balanceOf(BankAccount account) {
+        return bankAccountRepository.findById(account.getId()).orElseThrow().getBalance();
+    }
+
+    private BankAccount createAccount(UUID userId, String balance) {
+        return bankAccountRepository.save(BankAccount.builder()
+                .userId(userId)
+                .accountNumber("ACC-" + UUID.randomUUID())
+                .currency(Currency.EUR)
+                .status(AccountStatus.ACTIVE)
+                .balance(new BigDecimal(balance))
+                .build());
+    }
+}
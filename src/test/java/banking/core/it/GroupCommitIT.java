@@ -0,0 +1,97 @@
+package banking.core.it;
+
+import banking.core.dto.requests.BalanceOperationRequest;
+import banking.core.dto.requests.CreateBankAccountRequest;
+import banking.core.error.exception.TransferBusinessException;
+import banking.core.model.enums.Currency;
+import banking.core.repository.BankAccountRepository;
+import banking.core.repository.OutboxEventRepository;
+import banking.core.repository.TransactionRepository;
+import banking.core.service.BankAccountService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "banking.accounts.group-commit.enabled=true",
+        "banking.accounts.group-commit.window-ms=20"
+})
+public class GroupCommitIT extends IntegrationTestBase {
+    @Autowired
+    BankAccountService bankAccountService;
+    @Autowired
+    BankAccountRepository bankAccountRepository;
+    @Autowired
+    TransactionRepository transactionRepository;
+    @Autowired
+    OutboxEventRepository outboxEventRepository;
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    @BeforeEach
+    void cleanDb() {
+        transactionRepository.deleteAll();
+        outboxEventRepository.deleteAll();
+        bankAccountRepository.deleteAll();
+    }
+
+    @Test
+    void concurrentOperations_onHotAccount_areGroupCommitted_withPerOperationFailures() throws Exception {
+        UUID userId = UUID.randomUUID();
+        UUID accountId = bankAccountService.createBankAccount(userId, new CreateBankAccountRequest(Currency.EUR))
+                .getId();
+        long outboxBefore = outboxEventRepository.count();
+        long batchesBefore = meterRegistry.summary("banking.group-commit.batch.size").count();
+
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        List<Future<?>> deposits = new ArrayList<>();
+        try {
+            for (int i = 0; i < 32; i++) {
+                deposits.add(executor.submit(() -> bankAccountService.deposit(userId, accountId,
+                        new BalanceOperationRequest(new BigDecimal("10.00")))));
+            }
+            for (Future<?> future : deposits) {
+                future.get();
+            }
+
+            List<Future<?>> withdrawals = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                withdrawals.add(executor.submit(() -> bankAccountService.withdraw(userId, accountId,
+                        new BalanceOperationRequest(new BigDecimal("50.00")))));
+            }
+            int failed = 0;
+            for (Future<?> future : withdrawals) {
+                try {
+                    future.get();
+                } catch (ExecutionException e) {
+                    assertInstanceOf(TransferBusinessException.class, e.getCause());
+                    assertEquals("Insufficient funds", e.getCause().getMessage());
+                    failed++;
+                }
+            }
+            assertEquals(2, failed);
+        } finally {
+            executor.shutdown();
+        }
+
+        assertEquals(0, bankAccountRepository.findById(accountId).orElseThrow().getBalance()
+                .compareTo(new BigDecimal("20.00")));
+        assertEquals(38, transactionRepository.count());
+        assertEquals(outboxBefore + 38, outboxEventRepository.count());
+        assertTrue(meterRegistry.summary("banking.group-commit.batch.size").count() - batchesBefore < 38,
+                "Expected operations to share commits");
+    }
+}
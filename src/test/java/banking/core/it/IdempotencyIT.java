@@ -0,0 +1,139 @@
+package banking.core.it;
+
+import banking.core.dto.requests.BalanceOperationRequest;
+import banking.core.dto.requests.CreateBankAccountRequest;
+import banking.core.dto.requests.TransferRequest;
+import banking.core.dto.responses.AsyncTransferResponse;
+import banking.core.dto.responses.TransferResponse;
+import banking.core.error.exception.IdempotencyKeyMismatchException;
+import banking.core.model.enums.Currency;
+import banking.core.repository.AsyncTransferRepository;
+import banking.core.repository.BankAccountRepository;
+import banking.core.repository.IdempotencyRecordRepository;
+import banking.core.repository.OutboxEventRepository;
+import banking.core.repository.TransactionRepository;
+import banking.core.service.AsyncTransferService;
+import banking.core.service.BankAccountService;
+import banking.core.service.TransferService;
+import banking.core.service.idempotency.IdempotencyService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+public class IdempotencyIT extends IntegrationTestBase {
+    @Autowired
+    IdempotencyService idempotencyService;
+    @Autowired
+    BankAccountService bankAccountService;
+    @Autowired
+    TransferService transferService;
+    @Autowired
+    BankAccountRepository bankAccountRepository;
+    @Autowired
+    IdempotencyRecordRepository idempotencyRecordRepository;
+    @Autowired
+    TransactionRepository transactionRepository;
+    @Autowired
+    OutboxEventRepository outboxEventRepository;
+    @Autowired
+    AsyncTransferRepository asyncTransferRepository;
+    @Autowired
+    AsyncTransferService asyncTransferService;
+
+    @BeforeEach
+    void cleanDb() {
+        asyncTransferRepository.deleteAll();
+        idempotencyRecordRepository.deleteAll();
+        transactionRepository.deleteAll();
+        outboxEventRepository.deleteAll();
+        bankAccountRepository.deleteAll();
+    }
+
+    @Test
+    void asyncTransfer_replayedWithSameKey_isSubmittedOnce() {
+        UUID userId = UUID.randomUUID();
+        var request = new TransferRequest(UUID.randomUUID(), UUID.randomUUID(), new BigDecimal("5.00"));
+
+        var first = idempotencyService.execute(userId, "async-1", "TRANSFER_ASYNC",
+                List.of(request.getFromAccountId(), request.getToAccountId(), request.getAmount()),
+                AsyncTransferResponse.class, () -> asyncTransferService.submit(userId, request));
+        var replay = idempotencyService.execute(userId, "async-1", "TRANSFER_ASYNC",
+                List.of(request.getFromAccountId(), request.getToAccountId(), request.getAmount()),
+                AsyncTransferResponse.class, () -> asyncTransferService.submit(userId, request));
+
+        assertEquals(first.getTransferId(), replay.getTransferId());
+        assertEquals(first.getCreatedAt(), replay.getCreatedAt());
+        assertEquals(1, asyncTransferRepository.count());
+        assertNotNull(idempotencyRecordRepository.findByUserIdAndIdempotencyKey(userId, "async-1").orElseThrow()
+                .getResponseBody());
+    }
+
+    @Test
+    void deposit_replayedWithSameKey_postsOnce() {
+        UUID userId = UUID.randomUUID();
+        UUID accountId = bankAccountService.createBankAccount(userId, new CreateBankAccountRequest(Currency.EUR))
+                .getId();
+        var request = new BalanceOperationRequest(new BigDecimal("100.00"));
+
+        var first = deposit(userId, accountId, "dep-1", request);
+        var replay = deposit(userId, accountId, "dep-1", request);
+
+        assertEquals(first.getTransactionId(), replay.getTransactionId());
+        assertEquals(0, bankAccountRepository.findById(accountId).orElseThrow().getBalance()
+                .compareTo(new BigDecimal("100.00")));
+        assertEquals(1, transactionRepository.count());
+        assertEquals(first.getTransactionId(), idempotencyRecordRepository
+                .findByUserIdAndIdempotencyKey(userId, "dep-1").orElseThrow().getTransactionId());
+
+        assertThrows(IdempotencyKeyMismatchException.class, () -> deposit(userId, accountId, "dep-1",
+                new BalanceOperationRequest(new BigDecimal("5.00"))));
+    }
+
+    @Test
+    void transfer_concurrentDuplicates_postOnce() throws Exception {
+        UUID userId = UUID.randomUUID();
+        UUID from = bankAccountService.createBankAccount(userId, new CreateBankAccountRequest(Currency.EUR)).getId();
+        UUID to = bankAccountService.createBankAccount(UUID.randomUUID(), new CreateBankAccountRequest(Currency.EUR))
+                .getId();
+        bankAccountService.deposit(userId, from, new BalanceOperationRequest(new BigDecimal("100.00")));
+        var request = new TransferRequest(from, to, new BigDecimal("10.00"));
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<TransferResponse>> futures = new ArrayList<>();
+        try {
+            for (int i = 0; i < 8; i++) {
+                futures.add(executor.submit(() -> idempotencyService.execute(userId, "tr-1", "TRANSFER",
+                        List.of(from, to, request.getAmount()),
+                        () -> transferService.transfer(userId, request))));
+            }
+            UUID transactionId = futures.get(0).get().getTransactionId();
+            for (Future<TransferResponse> future : futures) {
+                assertEquals(transactionId, future.get().getTransactionId());
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertEquals(0, bankAccountRepository.findById(from).orElseThrow().getBalance()
+                .compareTo(new BigDecimal("90.00")));
+        assertEquals(0, bankAccountRepository.findById(to).orElseThrow().getBalance()
+                .compareTo(new BigDecimal("10.00")));
+    }
+
+    private TransferResponse deposit(UUID userId, UUID accountId, String key, BalanceOperationRequest request) {
+        return idempotencyService.execute(userId, key, "DEPOSIT", List.of(accountId, request.getAmount()),
+                () -> bankAccountService.deposit(userId, accountId, request));
+    }
+}
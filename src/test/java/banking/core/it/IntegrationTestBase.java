@@ -37,6 +37,7 @@ public class IntegrationTestBase {
         registry.add("spring.jpa.hibernate.ddl-auto", () -> "validate");
 
         registry.add("spring.task.scheduling.enabled", () -> "false");
+        registry.add("banking.outbox.notify.enabled", () -> "false");
 
         registry.add("spring.kafka.bootstrap-servers", KAFKA::getBootstrapServers);
 
@@ -0,0 +1,130 @@
+package banking.core.it;
+
+import banking.core.model.enums.InterestExecutionMode;
+import banking.core.repository.BalanceStripeRepository;
+import banking.core.repository.BankAccountRepository;
+import banking.core.repository.InterestRunRangeRepository;
+import banking.core.repository.InterestRunRepository;
+import banking.core.repository.OutboxEventRepository;
+import banking.core.repository.ScheduledJobLockRepository;
+import banking.core.repository.TransactionRepository;
+import banking.core.service.InterestService;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Daily interest over a large book with the row-by-row JPA path and the JDBC batch path. Reports wall time,
+ * throughput and peak heap for each mode. Sizes can be overridden with
+ * {@code -Dbenchmark.accounts} and {@code -Dbenchmark.modes}.
+ */
+@Slf4j
+@SpringBootTest
+public class InterestBulkBenchmarkIT extends IntegrationTestBase {
+    private static final int ACCOUNTS = Integer.getInteger("benchmark.accounts", 1_000_000);
+    private static final List<String> MODES = List.of(System.getProperty("benchmark.modes", "BULK,JPA").split(","));
+
+    @Autowired
+    InterestService interestService;
+    @Autowired
+    BankAccountRepository bankAccountRepository;
+    @Autowired
+    BalanceStripeRepository balanceStripeRepository;
+    @Autowired
+    TransactionRepository transactionRepository;
+    @Autowired
+    OutboxEventRepository outboxEventRepository;
+    @Autowired
+    InterestRunRepository interestRunRepository;
+    @Autowired
+    InterestRunRangeRepository interestRunRangeRepository;
+    @Autowired
+    ScheduledJobLockRepository scheduledJobLockRepository;
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    private Object originalMode;
+    private Object originalAccrualEnabled;
+
+    @BeforeEach
+    void seedAccounts() {
+        scheduledJobLockRepository.deleteAll();
+        interestRunRangeRepository.deleteAll();
+        interestRunRepository.deleteAll();
+        jdbcTemplate.update("TRUNCATE transactions, outbox_events");
+        balanceStripeRepository.deleteAll();
+        bankAccountRepository.deleteAll();
+
+        jdbcTemplate.update("INSERT INTO bank_accounts (id, user_id, account_number, balance, currency, status, " +
+                "version, created_at, updated_at) " +
+                "SELECT gen_random_uuid(), gen_random_uuid(), 'ACC-BENCH-' || n, 1000.00, 'EUR', 'ACTIVE', 0, " +
+                "localtimestamp, localtimestamp FROM generate_series(1, ?) AS n", ACCOUNTS);
+        jdbcTemplate.execute("ANALYZE bank_accounts");
+
+        originalMode = ReflectionTestUtils.getField(interestService, "executionMode");
+        originalAccrualEnabled = ReflectionTestUtils.getField(interestService, "accrualEnabled");
+        ReflectionTestUtils.setField(interestService, "accrualEnabled", false);
+    }
+
+    @AfterEach
+    void restoreSettings() {
+        ReflectionTestUtils.setField(interestService, "executionMode", originalMode);
+        ReflectionTestUtils.setField(interestService, "accrualEnabled", originalAccrualEnabled);
+    }
+
+    @Test
+    void compareJpaAndBulkInterestRuns() {
+        LocalDate businessDate = LocalDate.of(2026, 6, 1);
+        for (String mode : MODES) {
+            InterestExecutionMode executionMode = InterestExecutionMode.valueOf(mode.trim());
+            ReflectionTestUtils.setField(interestService, "executionMode", executionMode);
+
+            resetPeakHeap();
+            long started = System.nanoTime();
+            int credited = interestService.applyDailyInterest(businessDate);
+            long elapsed = System.nanoTime() - started;
+
+            assertEquals(ACCOUNTS, credited);
+            log.info("Interest benchmark: mode={}, accounts={}, elapsed={}s, throughput={}/s, " +
+                            "peakHeap={}MB", executionMode, ACCOUNTS,
+                    String.format("%.1f", elapsed / 1_000_000_000.0),
+                    String.format("%.0f", credited * 1_000_000_000.0 / elapsed),
+                    peakHeap() / (1024 * 1024));
+            businessDate = businessDate.plusDays(1);
+        }
+        assertEquals(ACCOUNTS * (long) MODES.size(), transactionRepository.count());
+    }
+
+    private static void resetPeakHeap() {
+        System.gc();
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                pool.resetPeakUsage();
+            }
+        }
+    }
+
+    private static long peakHeap() {
+        long peak = 0;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                peak += pool.getPeakUsage().getUsed();
+            }
+        }
+        return peak;
+    }
+}
@@ -0,0 +1,317 @@
+package banking.core.it;
+
+import banking.core.model.entity.BankAccount;
+import banking.core.model.entity.OutboxEvent;
+import banking.core.model.enums.AccountStatus;
+import banking.core.model.enums.Currency;
+import banking.core.model.enums.InterestExecutionMode;
+import banking.core.model.enums.InterestRunStatus;
+import banking.core.repository.BalanceStripeRepository;
+import banking.core.repository.BankAccountRepository;
+import banking.core.repository.InterestRunRangeRepository;
+import banking.core.repository.InterestRunRepository;
+import banking.core.repository.OutboxEventRepository;
+import banking.core.repository.TransactionRepository;
+import banking.core.service.InterestService;
+import banking.core.service.bulk.JdbcBulkWriter;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+public class InterestServiceIT extends IntegrationTestBase {
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    @Autowired
+    InterestService interestService;
+    @Autowired
+    BankAccountRepository bankAccountRepository;
+    @Autowired
+    BalanceStripeRepository balanceStripeRepository;
+    @Autowired
+    TransactionRepository transactionRepository;
+    @Autowired
+    OutboxEventRepository outboxEventRepository;
+    @Autowired
+    InterestRunRepository interestRunRepository;
+    @Autowired
+    InterestRunRangeRepository interestRunRangeRepository;
+    @Autowired
+    JdbcBulkWriter jdbcBulkWriter;
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    private Object originalMode;
+    private Object originalRate;
+    private Object originalChunkSize;
+    private Object originalAccrualEnabled;
+
+    @BeforeEach
+    void cleanDb() {
+        interestRunRangeRepository.deleteAll();
+        interestRunRepository.deleteAll();
+        transactionRepository.deleteAll();
+        outboxEventRepository.deleteAll();
+        balanceStripeRepository.deleteAll();
+        bankAccountRepository.deleteAll();
+
+        originalMode = ReflectionTestUtils.getField(interestService, "executionMode");
+        originalRate = ReflectionTestUtils.getField(interestService, "annualRate");
+        originalChunkSize = ReflectionTestUtils.getField(interestService, "chunkSize");
+        originalAccrualEnabled = ReflectionTestUtils.getField(interestService, "accrualEnabled");
+        ReflectionTestUtils.setField(interestService, "accrualEnabled", false);
+    }
+
+    @AfterEach
+    void restoreSettings() {
+        ReflectionTestUtils.setField(interestService, "executionMode", originalMode);
+        ReflectionTestUtils.setField(interestService, "annualRate", originalRate);
+        ReflectionTestUtils.setField(interestService, "chunkSize", originalChunkSize);
+        ReflectionTestUtils.setField(interestService, "accrualEnabled", originalAccrualEnabled);
+    }
+
+    @Test
+    public void setBased_matchesRowByRow_onHalfCentBoundaries() throws IOException {
+        reconcile(new BigDecimal("0.365"), 3);
+    }
+
+    @Test
+    public void setBased_matchesRowByRow_atConfiguredRate() throws IOException {
+        reconcile(new BigDecimal("0.05"), 2);
+    }
+
+    @Test
+    public void bulk_matchesRowByRow_acrossBatchFlushes() throws IOException {
+        Object originalBatchSize = ReflectionTestUtils.getField(jdbcBulkWriter, "batchSize");
+        ReflectionTestUtils.setField(jdbcBulkWriter, "batchSize", 2);
+        try {
+            reconcile(new BigDecimal("0.365"), 4, InterestExecutionMode.BULK);
+        } finally {
+            ReflectionTestUtils.setField(jdbcBulkWriter, "batchSize", originalBatchSize);
+        }
+    }
+
+    private void reconcile(BigDecimal annualRate, int chunkSize) throws IOException {
+        reconcile(annualRate, chunkSize, InterestExecutionMode.SET_BASED);
+    }
+
+    private void reconcile(BigDecimal annualRate, int chunkSize, InterestExecutionMode mode) throws IOException {
+        ReflectionTestUtils.setField(interestService, "annualRate", annualRate);
+        ReflectionTestUtils.setField(interestService, "chunkSize", chunkSize);
+
+        UUID userId = UUID.randomUUID();
+        for (String balance : List.of("0.01", "4.99", "5.00", "15.00", "25.00", "100.00", "7300.00", "123456.78",
+                "99999999.99", "0.00")) {
+            createAccount(userId, balance, AccountStatus.ACTIVE);
+        }
+        createAccount(userId, "1000.00", AccountStatus.BLOCKED);
+        Map<UUID, BigDecimal> initial = balances();
+
+        ReflectionTestUtils.setField(interestService, "executionMode", InterestExecutionMode.JPA);
+        int rowByRowCredited = interestService.applyDailyInterest(LocalDate.of(2026, 1, 1));
+        Map<UUID, BigDecimal> rowByRowBalances = balances();
+        Map<UUID, BigDecimal> rowByRowInterest = interestByAccount();
+        Map<UUID, JsonNode> rowByRowEvents = eventsByAccount();
+
+        transactionRepository.deleteAll();
+        outboxEventRepository.deleteAll();
+        initial.forEach((id, balance) -> jdbcTemplate.update("UPDATE bank_accounts SET balance = ? WHERE id = ?",
+                balance, id));
+
+        ReflectionTestUtils.setField(interestService, "executionMode", mode);
+        int candidateCredited = interestService.applyDailyInterest(LocalDate.of(2026, 1, 2));
+
+        assertTrue(rowByRowCredited > 0);
+        assertEquals(rowByRowCredited, candidateCredited);
+        assertEquals(rowByRowBalances, balances());
+        assertEquals(rowByRowInterest, interestByAccount());
+        assertEquals(rowByRowEvents, eventsByAccount());
+    }
+
+    @Test
+    public void rerun_skipsFinishedRanges_andNeverCreditsTwice() {
+        ReflectionTestUtils.setField(interestService, "annualRate", new BigDecimal("0.365"));
+        ReflectionTestUtils.setField(interestService, "chunkSize", 2);
+        ReflectionTestUtils.setField(interestService, "executionMode", InterestExecutionMode.SET_BASED);
+        LocalDate businessDate = LocalDate.of(2026, 2, 1);
+
+        UUID userId = UUID.randomUUID();
+        for (int i = 0; i < 20; i++) {
+            createAccount(userId, "100.00", AccountStatus.ACTIVE);
+        }
+
+        assertEquals(20, interestService.applyDailyInterest(businessDate));
+        assertEquals(0, interestService.applyDailyInterest(businessDate));
+        assertEquals(20, transactionRepository.count());
+        assertEquals(InterestRunStatus.COMPLETED, interestRunRepository.findById(businessDate).orElseThrow()
+                .getStatus());
+        assertEquals(20, interestRunRepository.findById(businessDate).orElseThrow().getCreditedAccounts());
+
+        // Simulate a crash that rolled back the last chunk of one range before the run was finished.
+        UUID rolledBackAccount = jdbcTemplate.queryForObject(
+                "SELECT to_account_id FROM transactions ORDER BY to_account_id DESC LIMIT 1", UUID.class);
+        jdbcTemplate.update("DELETE FROM outbox_events WHERE aggregate_id IN " +
+                "(SELECT id FROM transactions WHERE to_account_id = ?)", rolledBackAccount);
+        jdbcTemplate.update("DELETE FROM transactions WHERE to_account_id = ?", rolledBackAccount);
+        jdbcTemplate.update("UPDATE bank_accounts SET balance = 100.00 WHERE id = ?", rolledBackAccount);
+        jdbcTemplate.update("UPDATE interest_run_ranges SET status = 'IN_PROGRESS', " +
+                "credited_accounts = credited_accounts - 1, " +
+                "last_id = (SELECT max(id::text)::uuid FROM bank_accounts WHERE id < ?) " +
+                "WHERE business_date = ? AND range_start <= ? AND (range_end IS NULL OR range_end > ?)",
+                rolledBackAccount, businessDate, rolledBackAccount, rolledBackAccount);
+        jdbcTemplate.update("UPDATE interest_runs SET status = 'IN_PROGRESS' WHERE business_date = ?",
+                businessDate);
+
+        assertEquals(1, interestService.applyDailyInterest(businessDate));
+        assertEquals(20, transactionRepository.count());
+        assertEquals(20, outboxEventRepository.count());
+        for (BigDecimal balance : balances().values()) {
+            assertEquals(new BigDecimal("100.10"), balance);
+        }
+        assertEquals(20, interestRunRepository.findById(businessDate).orElseThrow().getCreditedAccounts());
+    }
+
+    @Test
+    public void applyDailyInterest_resumesUnfinishedEarlierRun_beforeToday() {
+        ReflectionTestUtils.setField(interestService, "annualRate", new BigDecimal("0.365"));
+        ReflectionTestUtils.setField(interestService, "chunkSize", 2);
+        ReflectionTestUtils.setField(interestService, "executionMode", InterestExecutionMode.SET_BASED);
+        LocalDate today = LocalDate.now();
+        LocalDate yesterday = today.minusDays(1);
+
+        UUID userId = UUID.randomUUID();
+        createAccount(userId, "100.00", AccountStatus.ACTIVE);
+        createAccount(userId, "100.00", AccountStatus.ACTIVE);
+        assertEquals(2, interestService.applyDailyInterest(today.minusDays(2)));
+        List<UUID> earlierTransactions = jdbcTemplate.queryForList("SELECT id FROM transactions", UUID.class);
+
+        // Simulate yesterday's run stopping before any range made progress.
+        assertEquals(2, interestService.applyDailyInterest(yesterday));
+        for (UUID transactionId : jdbcTemplate.queryForList("SELECT id FROM transactions", UUID.class)) {
+            if (!earlierTransactions.contains(transactionId)) {
+                jdbcTemplate.update("DELETE FROM outbox_events WHERE aggregate_id = ?", transactionId);
+                jdbcTemplate.update("DELETE FROM transactions WHERE id = ?", transactionId);
+            }
+        }
+        jdbcTemplate.update("UPDATE bank_accounts SET balance = 100.10");
+        jdbcTemplate.update("UPDATE interest_run_ranges SET status = 'IN_PROGRESS', last_id = NULL, " +
+                "credited_accounts = 0 WHERE business_date = ?", yesterday);
+        jdbcTemplate.update("UPDATE interest_runs SET status = 'IN_PROGRESS', credited_accounts = 0 " +
+                "WHERE business_date = ?", yesterday);
+
+        assertEquals(4, interestService.applyDailyInterest());
+
+        for (BigDecimal balance : balances().values()) {
+            assertEquals(new BigDecimal("100.30"), balance);
+        }
+        for (LocalDate businessDate : List.of(yesterday, today)) {
+            assertEquals(InterestRunStatus.COMPLETED, interestRunRepository.findById(businessDate).orElseThrow()
+                    .getStatus());
+            assertEquals(2, interestRunRepository.findById(businessDate).orElseThrow().getCreditedAccounts());
+        }
+    }
+
+    @Test
+    public void accrual_writesOnlyAccruedInterest_untilCapitalization() {
+        ReflectionTestUtils.setField(interestService, "annualRate", new BigDecimal("0.365"));
+        ReflectionTestUtils.setField(interestService, "chunkSize", 2);
+        ReflectionTestUtils.setField(interestService, "accrualEnabled", true);
+
+        UUID userId = UUID.randomUUID();
+        UUID regular = createAccount(userId, "123.45", AccountStatus.ACTIVE);
+        UUID small = createAccount(userId, "1.00", AccountStatus.ACTIVE);
+        UUID blocked = createAccount(userId, "500.00", AccountStatus.BLOCKED);
+
+        for (int day = 1; day <= 3; day++) {
+            assertEquals(2, interestService.applyDailyInterest(LocalDate.of(2026, 3, day)));
+        }
+
+        assertEquals(0, transactionRepository.count());
+        assertEquals(0, outboxEventRepository.count());
+        BankAccount accruing = bankAccountRepository.findById(regular).orElseThrow();
+        assertEquals(new BigDecimal("123.45"), accruing.getBalance());
+        assertEquals(new BigDecimal("0.37035000"), accruing.getAccruedInterest());
+        assertEquals(new BigDecimal("0.00300000"), bankAccountRepository.findById(small).orElseThrow()
+                .getAccruedInterest());
+        assertEquals(0, BigDecimal.ZERO.compareTo(bankAccountRepository.findById(blocked).orElseThrow()
+                .getAccruedInterest()));
+
+        jdbcTemplate.update("UPDATE bank_accounts SET accrued_interest = 0.50 WHERE id = ?", blocked);
+        assertEquals(1, interestService.capitalizeInterest());
+        assertEquals(0, interestService.capitalizeInterest());
+
+        BankAccount capitalized = bankAccountRepository.findById(regular).orElseThrow();
+        assertEquals(new BigDecimal("123.82"), capitalized.getBalance());
+        assertEquals(new BigDecimal("0.00035000"), capitalized.getAccruedInterest());
+        assertEquals(Map.of(regular, new BigDecimal("0.37")), interestByAccount());
+        assertEquals(1, outboxEventRepository.count());
+
+        BankAccount carried = bankAccountRepository.findById(small).orElseThrow();
+        assertEquals(new BigDecimal("1.00"), carried.getBalance());
+        assertEquals(new BigDecimal("0.00300000"), carried.getAccruedInterest());
+
+        BankAccount notCredited = bankAccountRepository.findById(blocked).orElseThrow();
+        assertEquals(new BigDecimal("500.00"), notCredited.getBalance());
+        assertEquals(new BigDecimal("0.50000000"), notCredited.getAccruedInterest());
+    }
+
+    private Map<UUID, BigDecimal> balances() {
+        Map<UUID, BigDecimal> balances = new HashMap<>();
+        for (BankAccount account : bankAccountRepository.findAll()) {
+            balances.put(account.getId(), account.getBalance());
+        }
+        return balances;
+    }
+
+    private Map<UUID, BigDecimal> interestByAccount() {
+        Map<UUID, BigDecimal> interest = new HashMap<>();
+        jdbcTemplate.query("SELECT to_account_id, amount FROM transactions WHERE type = 'INTEREST' " +
+                        "AND status = 'COMPLETED' AND from_account_id IS NULL",
+                row -> {
+                    assertNull(interest.put(row.getObject(1, UUID.class), row.getBigDecimal(2)));
+                });
+        return interest;
+    }
+
+    private Map<UUID, JsonNode> eventsByAccount() throws IOException {
+        Map<UUID, JsonNode> events = new HashMap<>();
+        for (OutboxEvent event : outboxEventRepository.findAll()) {
+            ObjectNode payload = (ObjectNode) MAPPER.readTree(event.getPayload());
+            ObjectNode data = (ObjectNode) payload.get("data");
+            assertEquals(event.getAggregateId().toString(), data.get("transactionId").asText());
+            assertNotNull(data.remove("occurredAt"));
+            data.remove("transactionId");
+            data.put("amount", data.get("amount").decimalValue().toPlainString());
+            assertEquals("banking.transactions", event.getTopic());
+            events.put(UUID.fromString(data.get("toAccountId").asText()), payload);
+        }
+        return events;
+    }
+
+    private UUID createAccount(UUID userId, String balance, AccountStatus status) {
+        return bankAccountRepository.save(BankAccount.builder()
+                .userId(userId)
+                .accountNumber("ACC-INTEREST-" + UUID.randomUUID())
+                .currency(Currency.EUR)
+                .status(status)
+                .balance(new BigDecimal(balance))
+                .build()).getId();
+    }
+}
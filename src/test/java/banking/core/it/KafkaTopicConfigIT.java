@@ -0,0 +1,52 @@
+package banking.core.it;
+
+import banking.core.config.kafka.KafkaTopicConfig;
+import org.apache.kafka.clients.admin.AdminClient;
+import org.apache.kafka.clients.admin.NewTopic;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.kafka.core.KafkaAdmin;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest
+public class KafkaTopicConfigIT extends IntegrationTestBase {
+    @Autowired
+    KafkaTopicConfig kafkaTopicConfig;
+
+    @Autowired
+    KafkaAdmin kafkaAdmin;
+
+    @Test
+    void createTopic_keepsPartitionCountOfExistingTopic_andUsesDefaultForNewOne() throws Exception {
+        String existing = "it.existing." + UUID.randomUUID();
+        String created = "it.created." + UUID.randomUUID();
+        try (AdminClient admin = AdminClient.create(kafkaAdmin.getConfigurationProperties())) {
+            admin.createTopics(List.of(new NewTopic(existing, 1, (short) 1))).all().get(10, TimeUnit.SECONDS);
+        }
+
+        KafkaTopicConfig config = new KafkaTopicConfig();
+        config.setDefaultPartitions(4);
+        config.setTopics(List.of(topic(existing), topic(created)));
+
+        Map<String, Integer> partitions = new HashMap<>();
+        config.createTopic(kafkaAdmin).forEach(t -> partitions.put(t.name(), t.numPartitions()));
+
+        assertEquals(1, partitions.get(existing));
+        assertEquals(4, partitions.get(created));
+    }
+
+    private static KafkaTopicConfig.TopicConfig topic(String name) {
+        KafkaTopicConfig.TopicConfig topic = new KafkaTopicConfig.TopicConfig();
+        topic.setName(name);
+        topic.setReplicationFactor((short) 1);
+        return topic;
+    }
+}
@@ -0,0 +1,93 @@
+package banking.core.it;
+
+import banking.core.model.entity.OutboxEvent;
+import banking.core.model.enums.EventStatus;
+import banking.core.repository.OutboxEventRepository;
+import banking.core.service.processor.OutboxEndpoint;
+import banking.core.service.processor.OutboxMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+public class OutboxEndpointIT extends IntegrationTestBase {
+    @Autowired
+    OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    OutboxMetrics outboxMetrics;
+
+    @Autowired
+    OutboxEndpoint outboxEndpoint;
+
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void cleanDb() {
+        outboxEventRepository.deleteAll();
+    }
+
+    @Test
+    public void refreshBacklog_exportsCountsAndOldestPendingAge() {
+        saveEvent("banking.accounts", EventStatus.PENDING);
+        saveEvent("banking.accounts", EventStatus.PENDING);
+        saveEvent("banking.accounts", EventStatus.FAILED);
+        jdbcTemplate.update("UPDATE outbox_events SET created_at = created_at - interval '90 seconds'");
+
+        outboxMetrics.refreshBacklog();
+
+        assertEquals(2, meterRegistry.get("banking.outbox.events")
+                .tags("topic", "banking.accounts", "status", "PENDING").gauge().value());
+        assertEquals(1, meterRegistry.get("banking.outbox.events")
+                .tags("topic", "banking.accounts", "status", "FAILED").gauge().value());
+        assertTrue(meterRegistry.get("banking.outbox.oldest.pending.age").gauge().value() >= 90);
+    }
+
+    @Test
+    public void state_reportsBacklogPerLane() {
+        for (int i = 0; i < 6; i++) {
+            saveEvent("banking.transfers", EventStatus.PENDING);
+        }
+        saveEvent("banking.transfers", EventStatus.IN_PROGRESS);
+
+        OutboxEndpoint.OutboxState state = outboxEndpoint.state();
+
+        assertEquals(4, state.lanes().size());
+        assertEquals(6, state.lanes().stream().mapToLong(OutboxEndpoint.LaneState::pending).sum());
+        assertEquals(1, state.lanes().stream().mapToLong(OutboxEndpoint.LaneState::inProgress).sum());
+        assertNotNull(state.owner());
+    }
+
+    @Test
+    public void state_reportsHowLongAgoEachLaneWasPolled() {
+        outboxMetrics.recordPoll("lane-2");
+
+        OutboxEndpoint.OutboxState state = outboxEndpoint.state();
+
+        Long lastPollAgeSeconds = state.lanes().get(2).lastPollAgeSeconds();
+        assertNotNull(lastPollAgeSeconds);
+        assertTrue(lastPollAgeSeconds < 5);
+    }
+
+    private void saveEvent(String topic, EventStatus status) {
+        outboxEventRepository.save(OutboxEvent.builder()
+                .aggregateType("ACCOUNT")
+                .aggregateId(UUID.randomUUID())
+                .topic(topic)
+                .payload("{\"eventType\":\"ACCOUNT_CREATED\"}".getBytes(StandardCharsets.UTF_8))
+                .status(status)
+                .build());
+    }
+}
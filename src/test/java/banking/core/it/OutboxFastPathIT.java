@@ -0,0 +1,68 @@
+package banking.core.it;
+
+import banking.core.dto.requests.BalanceOperationRequest;
+import banking.core.model.entity.BankAccount;
+import banking.core.model.entity.OutboxEvent;
+import banking.core.model.enums.AccountStatus;
+import banking.core.model.enums.Currency;
+import banking.core.model.enums.EventStatus;
+import banking.core.repository.BankAccountRepository;
+import banking.core.repository.OutboxEventRepository;
+import banking.core.repository.TransactionRepository;
+import banking.core.service.BankAccountService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+public class OutboxFastPathIT extends IntegrationTestBase {
+    @Autowired
+    BankAccountService bankAccountService;
+    @Autowired
+    BankAccountRepository bankAccountRepository;
+    @Autowired
+    TransactionRepository transactionRepository;
+    @Autowired
+    OutboxEventRepository outboxEventRepository;
+
+    @BeforeEach
+    void cleanDb() {
+        transactionRepository.deleteAll();
+        outboxEventRepository.deleteAll();
+        bankAccountRepository.deleteAll();
+    }
+
+    @Test
+    void committedEvent_isPublishedWithoutPolling() throws InterruptedException {
+        UUID userId = UUID.randomUUID();
+        BankAccount account = bankAccountRepository.save(BankAccount.builder()
+                .userId(userId)
+                .accountNumber("ACC-" + UUID.randomUUID())
+                .currency(Currency.EUR)
+                .status(AccountStatus.ACTIVE)
+                .balance(BigDecimal.ZERO)
+                .build());
+
+        bankAccountService.deposit(userId, account.getId(), new BalanceOperationRequest(new BigDecimal("10.00")));
+
+        Instant deadline = Instant.now().plusSeconds(10);
+        List<OutboxEvent> events = outboxEventRepository.findAll();
+        while (Instant.now().isBefore(deadline)
+                && !events.stream().allMatch(event -> event.getStatus() == EventStatus.SENT)) {
+            Thread.sleep(20);
+            events = outboxEventRepository.findAll();
+        }
+
+        assertEquals(1, events.size());
+        assertEquals(EventStatus.SENT, events.get(0).getStatus());
+        assertNotNull(events.get(0).getProcessedAt());
+    }
+}
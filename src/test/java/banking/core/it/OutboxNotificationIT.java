@@ -0,0 +1,97 @@
+package banking.core.it;
+
+import banking.core.model.entity.OutboxEvent;
+import banking.core.model.enums.EventStatus;
+import banking.core.repository.OutboxEventRepository;
+import banking.core.service.processor.OutboxNotificationListener;
+import banking.core.service.processor.OutboxProcessor;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.Statement;
+import java.time.Instant;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+public class OutboxNotificationIT extends IntegrationTestBase {
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    @Autowired
+    OutboxEventRepository outboxEventRepository;
+    @Autowired
+    OutboxProcessor outboxProcessor;
+    @Autowired
+    DataSourceProperties dataSourceProperties;
+
+    @BeforeEach
+    void cleanDb() {
+        outboxEventRepository.deleteAll();
+    }
+
+    @Test
+    void outboxInsert_notifiesListenersOnCommit() throws Exception {
+        try (Connection connection = DriverManager.getConnection(dataSourceProperties.determineUrl(),
+                dataSourceProperties.determineUsername(), dataSourceProperties.determinePassword())) {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("LISTEN outbox_events");
+            }
+            PGConnection pgConnection = connection.unwrap(PGConnection.class);
+
+            saveEvent();
+
+            PGNotification[] notifications = pgConnection.getNotifications(5000);
+            assertNotNull(notifications);
+            assertEquals("outbox_events", notifications[0].getName());
+        }
+    }
+
+    @Test
+    void listener_dispatchesEventWithoutWaitingForPoll() throws InterruptedException {
+        OutboxNotificationListener listener = new OutboxNotificationListener(dataSourceProperties, outboxProcessor);
+        // fallback polling is pushed out to a minute, so only the notification can dispatch in time
+        ReflectionTestUtils.setField(listener, "minPollMs", 60000L);
+        ReflectionTestUtils.setField(listener, "maxPollMs", 60000L);
+        ReflectionTestUtils.setField(listener, "reconnectDelayMs", 1000L);
+
+        listener.start();
+        try {
+            Thread.sleep(500);
+            OutboxEvent event = saveEvent();
+
+            Instant deadline = Instant.now().plusSeconds(10);
+            EventStatus status = EventStatus.PENDING;
+            while (Instant.now().isBefore(deadline) && status != EventStatus.SENT) {
+                Thread.sleep(20);
+                status = outboxEventRepository.findById(event.getId()).orElseThrow().getStatus();
+            }
+
+            assertEquals(EventStatus.SENT, status);
+        } finally {
+            listener.stop();
+        }
+    }
+
+    private OutboxEvent saveEvent() {
+        ObjectNode payload = MAPPER.createObjectNode();
+        payload.put("eventType", "TRANSFER_CREATED");
+        return outboxEventRepository.save(OutboxEvent.builder()
+                .aggregateType("TRANSFER")
+                .aggregateId(UUID.randomUUID())
+                .topic("banking.transfers")
+                .payload(payload.toString().getBytes(StandardCharsets.UTF_8))
+                .build());
+    }
+}
@@ -0,0 +1,169 @@
+package banking.core.it;
+
+import banking.core.model.entity.OutboxEvent;
+import banking.core.model.enums.EventStatus;
+import banking.core.repository.OutboxEventRepository;
+import banking.core.service.processor.OutboxPartitionArchiver;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+public class OutboxPartitionIT extends IntegrationTestBase {
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    @Autowired
+    OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    OutboxPartitionArchiver outboxPartitionArchiver;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void cleanDb() {
+        outboxEventRepository.deleteAll();
+    }
+
+    @Test
+    public void archiveProcessedMessages_dropsExpiredPartition_andCarriesUndeliveredEventsAsTheyWere() {
+        LocalDate expiredDay = LocalDate.now().minusDays(10);
+        createPartition(expiredDay);
+
+        OutboxEvent sent = saveEvent(EventStatus.SENT);
+        OutboxEvent pending = saveEvent(EventStatus.PENDING);
+        OutboxEvent inFlight = saveEvent(EventStatus.IN_PROGRESS);
+        OutboxEvent failed = saveEvent(EventStatus.FAILED);
+        jdbcTemplate.update("UPDATE outbox_events SET created_at = ?::date + interval '1 hour'", expiredDay.toString());
+        jdbcTemplate.update("UPDATE outbox_events SET claimed_by = 'node-1' WHERE id = ?", inFlight.getId());
+        assertTrue(partitionExists(partitionName(expiredDay)));
+
+        outboxPartitionArchiver.archiveProcessedMessages();
+
+        assertFalse(partitionExists(partitionName(expiredDay)));
+        assertFalse(outboxEventRepository.existsById(sent.getId()));
+        assertEquals(3, countIn("outbox_events_default"));
+        for (OutboxEvent event : new OutboxEvent[]{pending, inFlight, failed}) {
+            OutboxEvent reloaded = outboxEventRepository.findById(event.getId()).orElseThrow();
+            assertEquals(event.getStatus(), reloaded.getStatus());
+            assertEquals(expiredDay.atTime(1, 0), reloaded.getCreatedAt());
+        }
+        assertEquals(Integer.valueOf(1), transactionTemplate.execute(status -> outboxEventRepository.markSent(
+                List.of(inFlight.getId()), EventStatus.IN_PROGRESS, EventStatus.SENT, LocalDateTime.now(), "node-1")));
+
+        String xmin = jdbcTemplate.queryForObject("SELECT xmin::text FROM outbox_events WHERE id = ?", String.class,
+                failed.getId());
+        outboxPartitionArchiver.archiveProcessedMessages();
+        assertEquals(xmin, jdbcTemplate.queryForObject("SELECT xmin::text FROM outbox_events WHERE id = ?",
+                String.class, failed.getId()));
+        assertFalse(outboxEventRepository.existsById(inFlight.getId()));
+
+        jdbcTemplate.update("UPDATE outbox_events SET status = 'SENT'");
+        outboxPartitionArchiver.archiveProcessedMessages();
+
+        assertEquals(0, outboxEventRepository.count());
+    }
+
+    @Test
+    public void archiveProcessedMessages_dropsFailedEventsPastTheirRetention() {
+        Object originalFailedRetention = ReflectionTestUtils.getField(outboxPartitionArchiver, "failedRetentionDays");
+        ReflectionTestUtils.setField(outboxPartitionArchiver, "failedRetentionDays", 9);
+        try {
+            LocalDate expiredDay = LocalDate.now().minusDays(10);
+            createPartition(expiredDay);
+            OutboxEvent failed = saveEvent(EventStatus.FAILED);
+            OutboxEvent pending = saveEvent(EventStatus.PENDING);
+            jdbcTemplate.update("UPDATE outbox_events SET created_at = ?::date", expiredDay.toString());
+
+            outboxPartitionArchiver.archiveProcessedMessages();
+
+            assertFalse(outboxEventRepository.existsById(failed.getId()));
+            assertTrue(outboxEventRepository.existsById(pending.getId()));
+        } finally {
+            ReflectionTestUtils.setField(outboxPartitionArchiver, "failedRetentionDays", originalFailedRetention);
+        }
+    }
+
+    @Test
+    public void createPartitions_movesRowsOutOfDefaultPartition() {
+        LocalDate futureDay = LocalDate.now().plusDays(30);
+        OutboxEvent event = saveEvent(EventStatus.PENDING);
+        jdbcTemplate.update("UPDATE outbox_events SET created_at = ?::date WHERE id = ?", futureDay.toString(),
+                event.getId());
+        assertEquals(1, countIn("outbox_events_default"));
+
+        createPartition(futureDay);
+
+        assertEquals(0, countIn("outbox_events_default"));
+        assertEquals(1, countIn(partitionName(futureDay)));
+        assertTrue(outboxEventRepository.existsById(event.getId()));
+
+        outboxEventRepository.deleteAll();
+        jdbcTemplate.execute("DROP TABLE " + partitionName(futureDay));
+    }
+
+    @Test
+    public void save_takesCreatedAtFromDatabaseClock() {
+        OutboxEvent event = outboxEventRepository.save(OutboxEvent.builder()
+                .aggregateType("TRANSFER")
+                .aggregateId(UUID.randomUUID())
+                .topic("banking.transfers")
+                .payload("{}".getBytes(StandardCharsets.UTF_8))
+                .status(EventStatus.PENDING)
+                .createdAt(LocalDateTime.of(2000, 1, 1, 0, 0))
+                .build());
+
+        Boolean fresh = jdbcTemplate.queryForObject(
+                "SELECT created_at BETWEEN localtimestamp - interval '1 minute' AND clock_timestamp()::timestamp "
+                        + "FROM outbox_events WHERE id = ?",
+                Boolean.class, event.getId());
+        assertTrue(fresh);
+    }
+
+    private void createPartition(LocalDate day) {
+        jdbcTemplate.queryForObject("SELECT outbox_events_create_partitions(?::date, ?::date)", Integer.class,
+                day.toString(), day.toString());
+    }
+
+    private OutboxEvent saveEvent(EventStatus status) {
+        return outboxEventRepository.save(OutboxEvent.builder()
+                .aggregateType("TRANSFER")
+                .aggregateId(UUID.randomUUID())
+                .topic("banking.transfers")
+                .payload(MAPPER.createObjectNode().put("eventType", "TRANSFER_CREATED").toString()
+                        .getBytes(StandardCharsets.UTF_8))
+                .status(status)
+                .build());
+    }
+
+    private boolean partitionExists(String name) {
+        return jdbcTemplate.queryForObject("SELECT to_regclass(?) IS NOT NULL", Boolean.class, name);
+    }
+
+    private int countIn(String table) {
+        return jdbcTemplate.queryForObject("SELECT count(*) FROM " + table, Integer.class);
+    }
+
+    private static String partitionName(LocalDate day) {
+        return "outbox_events_p" + day.format(DateTimeFormatter.BASIC_ISO_DATE);
+    }
+
+}
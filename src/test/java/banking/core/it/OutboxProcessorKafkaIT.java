@@ -1,9 +1,13 @@
 package banking.core.it;
 
+import banking.core.config.kafka.KafkaProducerConfig;
 import banking.core.model.entity.OutboxEvent;
 import banking.core.model.enums.EventStatus;
 import banking.core.repository.OutboxEventRepository;
+import banking.core.service.processor.OutboxAckWriter;
+import banking.core.service.processor.OutboxMetrics;
 import banking.core.service.processor.OutboxProcessor;
+import banking.core.service.processor.OutboxTxService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
@@ -12,13 +16,26 @@ import org.apache.kafka.common.serialization.StringDeserializer;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.ProducerFactory;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
 import java.time.Instant;
+import java.time.LocalDateTime;
 import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Properties;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -32,6 +49,24 @@ public class OutboxProcessorKafkaIT extends IntegrationTestBase{
     @Autowired
     OutboxProcessor outboxProcessor;
 
+    @Autowired
+    OutboxTxService outboxTxService;
+
+    @Autowired
+    OutboxAckWriter outboxAckWriter;
+
+    @Autowired
+    OutboxMetrics outboxMetrics;
+
+    @Value("${spring.kafka.bootstrap-servers}")
+    String bootstrapServers;
+
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
     @BeforeEach
     void cleanDb() {
         outboxEventRepository.deleteAll();
@@ -51,7 +86,7 @@ public class OutboxProcessorKafkaIT extends IntegrationTestBase{
                 .aggregateType("TRANSFER")
                 .aggregateId(aggregateId)
                 .topic(topic)
-                .payload(payload)
+                .payload(payload.toString().getBytes(StandardCharsets.UTF_8))
                 .status(EventStatus.PENDING)
                 .retryCount(0)
                 .build();
@@ -70,11 +105,12 @@ public class OutboxProcessorKafkaIT extends IntegrationTestBase{
             Instant deadline = Instant.now().plusSeconds(10);
             while (Instant.now().isBefore(deadline) && !received) {
                 var records = consumer.poll(Duration.ofMillis(300));
-                if (!records.isEmpty()) {
-                    var record = records.iterator().next();
-                    received = true;
-                    receivedKey = record.key();
-                    receivedValue = record.value();
+                for (var record : records) {
+                    if (aggregateId.toString().equals(record.key())) {
+                        received = true;
+                        receivedKey = record.key();
+                        receivedValue = record.value();
+                    }
                 }
             }
 
@@ -89,8 +125,167 @@ public class OutboxProcessorKafkaIT extends IntegrationTestBase{
         }
     }
 
+    @Test
+    public void claimLane_concurrentClaimers_getDisjointEvents() {
+        for (int i = 0; i < 10; i++) {
+            saveEvent(UUID.randomUUID());
+        }
+
+        Set<Long> claimed = new HashSet<>();
+        transactionTemplate.executeWithoutResult(status -> {
+            assertTrue(outboxEventRepository.tryLockLane(0));
+            outboxEventRepository.claimPending(0, 2, 100, 3, "other-node", 30000L).forEach(event -> claimed.add(event.getId()));
+
+            List<OutboxEvent> sameLane = CompletableFuture.supplyAsync(() -> outboxTxService.claimLane(0, 2, 100, 3))
+                    .orTimeout(10, TimeUnit.SECONDS)
+                    .join();
+            assertTrue(sameLane.isEmpty(), "Lane is already owned by another claimer");
+
+            List<OutboxEvent> otherLane = CompletableFuture.supplyAsync(() -> outboxTxService.claimLane(1, 2, 100, 3))
+                    .orTimeout(10, TimeUnit.SECONDS)
+                    .join();
+            otherLane.forEach(event -> assertTrue(claimed.add(event.getId()), "Event claimed twice: " + event.getId()));
+        });
+
+        assertEquals(10, claimed.size());
+        assertTrue(outboxEventRepository.findAll().stream()
+                .allMatch(event -> event.getStatus() == EventStatus.IN_PROGRESS));
+    }
+
+    @Test
+    public void claimLane_aggregateInFlight_holdsBackItsLaterEvents() {
+        UUID aggregateId = UUID.randomUUID();
+        OutboxEvent first = saveEvent(aggregateId);
+        saveEvent(aggregateId);
+
+        List<OutboxEvent> claimed = outboxTxService.claimLane(0, 1, 1, 3);
+        assertEquals(List.of(first.getId()), claimed.stream().map(OutboxEvent::getId).toList());
+
+        assertTrue(outboxTxService.claimLane(0, 1, 10, 3).isEmpty());
+    }
+
+    @Test
+    public void failedEvent_isRetriedOnlyAfterBackoff_andHoldsBackItsAggregate() {
+        UUID aggregateId = UUID.randomUUID();
+        OutboxEvent first = saveEvent(aggregateId);
+        saveEvent(aggregateId);
+
+        List<OutboxEvent> claimed = outboxTxService.claimLane(0, 1, 1, 10);
+        assertEquals(List.of(first.getId()), claimed.stream().map(OutboxEvent::getId).toList());
+        claimed.get(0).setErrorReason("kafka down");
+        outboxTxService.completeBatch(List.of(), claimed, List.of(), 10);
+
+        OutboxEvent retried = outboxEventRepository.findById(first.getId()).orElseThrow();
+        assertEquals(EventStatus.PENDING, retried.getStatus());
+        assertEquals(1, retried.getRetryCount());
+        assertTrue(retried.getNextAttemptAt().isAfter(retried.getCreatedAt()));
+
+        assertTrue(outboxTxService.claimLane(0, 1, 10, 10).isEmpty());
+    }
+
+    @Test
+    public void expiredLease_isReaped_whileLiveLeasesAreKept() {
+        OutboxEvent abandoned = saveEvent(UUID.randomUUID());
+        OutboxEvent live = saveEvent(UUID.randomUUID());
+        List<OutboxEvent> claimed = outboxTxService.claimLane(0, 1, 10, 3);
+        assertEquals(2, claimed.size());
+
+        OutboxEvent leased = outboxEventRepository.findById(live.getId()).orElseThrow();
+        assertEquals(outboxTxService.getOwner(), leased.getClaimedBy());
+        assertTrue(leased.getClaimedUntil().isAfter(LocalDateTime.now()));
+
+        jdbcTemplate.update("UPDATE outbox_events SET claimed_by = 'dead-node', " +
+                "claimed_until = now() - interval '1 second' WHERE id = ?", abandoned.getId());
+        assertEquals(1, outboxTxService.renewLeases());
+
+        assertEquals(1, outboxTxService.reapExpiredLeases());
+
+        OutboxEvent reaped = outboxEventRepository.findById(abandoned.getId()).orElseThrow();
+        assertEquals(EventStatus.PENDING, reaped.getStatus());
+        assertNull(reaped.getClaimedBy());
+        assertEquals(EventStatus.IN_PROGRESS, outboxEventRepository.findById(live.getId()).orElseThrow().getStatus());
+    }
+
+    @Test
+    public void completeBatch_doesNotReleaseEventsReclaimedByAnotherOwner() {
+        OutboxEvent event = saveEvent(UUID.randomUUID());
+        List<OutboxEvent> claimed = outboxTxService.claimLane(0, 1, 10, 3);
+        assertEquals(1, claimed.size());
+
+        jdbcTemplate.update("UPDATE outbox_events SET claimed_by = 'other-node' WHERE id = ?", event.getId());
+        claimed.get(0).setErrorReason("kafka down");
+
+        assertEquals(0, outboxTxService.completeBatch(List.of(), claimed, List.of(), 3));
+
+        OutboxEvent reloaded = outboxEventRepository.findById(event.getId()).orElseThrow();
+        assertEquals(EventStatus.IN_PROGRESS, reloaded.getStatus());
+        assertEquals("other-node", reloaded.getClaimedBy());
+        assertEquals(0, reloaded.getRetryCount());
+    }
+
+    @Test
+    public void transactionalMode_publishesBatchVisibleToReadCommittedConsumers() {
+        KafkaProducerConfig producerConfig = new KafkaProducerConfig();
+        producerConfig.setBootstrap(bootstrapServers);
+        producerConfig.setBatchSize(65536);
+        producerConfig.setLingerMs(5);
+        producerConfig.setCompressionType("lz4");
+        producerConfig.setTransactional(true);
+        producerConfig.setTransactionIdPrefix("it-outbox-");
+        ProducerFactory<String, byte[]> producerFactory = producerConfig.producerFactory();
+
+        OutboxProcessor transactionalProcessor = new OutboxProcessor(outboxEventRepository, outboxTxService,
+                outboxAckWriter, outboxMetrics, producerConfig.kafkaTemplate(producerFactory));
+        ReflectionTestUtils.setField(transactionalProcessor, "batchSize", 100);
+        ReflectionTestUtils.setField(transactionalProcessor, "lanes", 1);
+        ReflectionTestUtils.setField(transactionalProcessor, "maxRetries", 3);
+        ReflectionTestUtils.setField(transactionalProcessor, "transactional", true);
+        ReflectionTestUtils.invokeMethod(transactionalProcessor, "start");
+
+        UUID aggregateId = UUID.randomUUID();
+        List<Long> ids = List.of(saveEvent(aggregateId).getId(), saveEvent(aggregateId).getId());
+
+        Properties readCommitted = new Properties();
+        readCommitted.put(ConsumerConfig.ISOLATION_LEVEL_CONFIG, "read_committed");
+        try (KafkaConsumer<String, String> consumer = createConsumer("it-group-" + UUID.randomUUID(), readCommitted)) {
+            consumer.subscribe(Collections.singletonList("banking.transfers"));
+
+            assertEquals(2, transactionalProcessor.processOutboxMessages());
+            assertTrue(outboxEventRepository.findAllById(ids).stream()
+                    .allMatch(event -> event.getStatus() == EventStatus.SENT));
+
+            int received = 0;
+            Instant deadline = Instant.now().plusSeconds(10);
+            while (Instant.now().isBefore(deadline) && received < 2) {
+                for (var record : consumer.poll(Duration.ofMillis(300))) {
+                    if (aggregateId.toString().equals(record.key())) {
+                        received++;
+                    }
+                }
+            }
+            assertEquals(2, received);
+        } finally {
+            ReflectionTestUtils.invokeMethod(transactionalProcessor, "stop");
+            ((DefaultKafkaProducerFactory<String, byte[]>) producerFactory).destroy();
+        }
+    }
+
+    private OutboxEvent saveEvent(UUID aggregateId) {
+        ObjectNode payload = MAPPER.createObjectNode();
+        payload.put("eventType", "TRANSFER_CREATED");
+        return outboxEventRepository.save(OutboxEvent.builder()
+                .aggregateType("TRANSFER")
+                .aggregateId(aggregateId)
+                .topic("banking.transfers")
+                .payload(payload.toString().getBytes(StandardCharsets.UTF_8))
+                .build());
+    }
+
     private KafkaConsumer<String, String> createConsumer(String groupId) {
-        Properties props = new Properties();
+        return createConsumer(groupId, new Properties());
+    }
+
+    private KafkaConsumer<String, String> createConsumer(String groupId, Properties props) {
         props.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, KAFKA.getBootstrapServers());
         props.put(ConsumerConfig.GROUP_ID_CONFIG, groupId);
         props.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
@@ -0,0 +1,196 @@
+package banking.core.it;
+
+import banking.core.model.entity.BankAccount;
+import banking.core.model.entity.ScheduledJobLock;
+import banking.core.model.enums.AccountStatus;
+import banking.core.model.enums.Currency;
+import banking.core.model.enums.InterestExecutionMode;
+import banking.core.model.enums.InterestRunStatus;
+import banking.core.repository.BalanceStripeRepository;
+import banking.core.repository.BankAccountRepository;
+import banking.core.repository.InterestRunRangeRepository;
+import banking.core.repository.InterestRunRepository;
+import banking.core.repository.OutboxEventRepository;
+import banking.core.repository.ScheduledJobLockRepository;
+import banking.core.repository.TransactionRepository;
+import banking.core.service.InterestService;
+import banking.core.service.concurrency.RetryingTransactionExecutor;
+import banking.core.service.scheduler.ScheduledJobLockService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+public class ScheduledJobLockIT extends IntegrationTestBase {
+    @Autowired
+    ScheduledJobLockService scheduledJobLockService;
+    @Autowired
+    ScheduledJobLockRepository scheduledJobLockRepository;
+    @Autowired
+    RetryingTransactionExecutor retryingTransactionExecutor;
+    @Autowired
+    InterestService interestService;
+    @Autowired
+    InterestRunRepository interestRunRepository;
+    @Autowired
+    InterestRunRangeRepository interestRunRangeRepository;
+    @Autowired
+    BankAccountRepository bankAccountRepository;
+    @Autowired
+    BalanceStripeRepository balanceStripeRepository;
+    @Autowired
+    TransactionRepository transactionRepository;
+    @Autowired
+    OutboxEventRepository outboxEventRepository;
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    private ScheduledJobLockService otherReplica;
+    private Object originalRanges;
+    private Object originalAccrualEnabled;
+    private Object originalMode;
+    private Object originalRate;
+
+    @BeforeEach
+    void cleanDb() {
+        scheduledJobLockRepository.deleteAll();
+        interestRunRangeRepository.deleteAll();
+        interestRunRepository.deleteAll();
+        transactionRepository.deleteAll();
+        outboxEventRepository.deleteAll();
+        balanceStripeRepository.deleteAll();
+        bankAccountRepository.deleteAll();
+
+        otherReplica = new ScheduledJobLockService(scheduledJobLockRepository, retryingTransactionExecutor);
+        ReflectionTestUtils.setField(otherReplica, "leaseMs", 60000L);
+        ReflectionTestUtils.setField(otherReplica, "minHoldMs", 30000L);
+        ReflectionTestUtils.invokeMethod(otherReplica, "start");
+
+        originalRanges = ReflectionTestUtils.getField(interestService, "ranges");
+        originalAccrualEnabled = ReflectionTestUtils.getField(interestService, "accrualEnabled");
+        originalMode = ReflectionTestUtils.getField(interestService, "executionMode");
+        originalRate = ReflectionTestUtils.getField(interestService, "annualRate");
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReflectionTestUtils.invokeMethod(otherReplica, "stop");
+        ReflectionTestUtils.setField(interestService, "ranges", originalRanges);
+        ReflectionTestUtils.setField(interestService, "accrualEnabled", originalAccrualEnabled);
+        ReflectionTestUtils.setField(interestService, "executionMode", originalMode);
+        ReflectionTestUtils.setField(interestService, "annualRate", originalRate);
+    }
+
+    @Test
+    public void runExclusive_runsOnceAcrossReplicas_evenWhenTheyFireTogether() throws Exception {
+        AtomicInteger runs = new AtomicInteger();
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch finish = new CountDownLatch(1);
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<Boolean> first = executor.submit(() -> scheduledJobLockService.runExclusive("nightly", () -> {
+                runs.incrementAndGet();
+                running.countDown();
+                await(finish);
+            }));
+            assertTrue(running.await(10, TimeUnit.SECONDS));
+
+            assertFalse(otherReplica.runExclusive("nightly", runs::incrementAndGet));
+            finish.countDown();
+            assertTrue(first.get(10, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdown();
+        }
+
+        assertFalse(otherReplica.runExclusive("nightly", runs::incrementAndGet));
+        assertEquals(1, runs.get());
+    }
+
+    @Test
+    public void runExclusive_takesOverExpiredLease() {
+        scheduledJobLockRepository.save(ScheduledJobLock.builder()
+                .name("nightly")
+                .lockedBy("crashed-replica")
+                .lockedAt(LocalDateTime.now().minusHours(1))
+                .lockedUntil(LocalDateTime.now().minusMinutes(1))
+                .build());
+        AtomicInteger runs = new AtomicInteger();
+
+        assertTrue(scheduledJobLockService.runExclusive("nightly", runs::incrementAndGet));
+
+        assertEquals(1, runs.get());
+        assertEquals(scheduledJobLockService.getOwner(),
+                scheduledJobLockRepository.findById("nightly").orElseThrow().getLockedBy());
+    }
+
+    @Test
+    public void interestRun_skipsRangesLeasedByAnotherReplica_andTheLastReplicaClosesTheRun() {
+        ReflectionTestUtils.setField(interestService, "ranges", 2);
+        ReflectionTestUtils.setField(interestService, "accrualEnabled", false);
+        ReflectionTestUtils.setField(interestService, "executionMode", InterestExecutionMode.SET_BASED);
+        ReflectionTestUtils.setField(interestService, "annualRate", new BigDecimal("0.365"));
+        LocalDate businessDate = LocalDate.of(2026, 4, 1);
+
+        UUID userId = UUID.randomUUID();
+        UUID lowAccount = createAccount(userId, new UUID(0x1000000000000000L, 1));
+        UUID highAccount = createAccount(userId, new UUID(0x9000000000000000L, 1));
+
+        assertEquals(Boolean.TRUE, retryingTransactionExecutor.execute("job-lock",
+                () -> scheduledJobLockRepository.tryAcquire("interest:" + businessDate + ":1", "other-replica",
+                        60000L) == 1));
+
+        assertEquals(1, interestService.applyDailyInterest(businessDate));
+        assertEquals(InterestRunStatus.IN_PROGRESS, interestRunRepository.findById(businessDate).orElseThrow()
+                .getStatus());
+        assertEquals(new BigDecimal("100.10"), bankAccountRepository.findById(lowAccount).orElseThrow().getBalance());
+        assertEquals(new BigDecimal("100.00"), bankAccountRepository.findById(highAccount).orElseThrow()
+                .getBalance());
+
+        jdbcTemplate.update("DELETE FROM scheduled_job_locks WHERE locked_by = 'other-replica'");
+
+        assertEquals(1, interestService.applyDailyInterest(businessDate));
+        assertEquals(InterestRunStatus.COMPLETED, interestRunRepository.findById(businessDate).orElseThrow()
+                .getStatus());
+        assertEquals(2, interestRunRepository.findById(businessDate).orElseThrow().getCreditedAccounts());
+        assertEquals(new BigDecimal("100.10"), bankAccountRepository.findById(highAccount).orElseThrow()
+                .getBalance());
+        assertEquals(0, scheduledJobLockRepository.count());
+    }
+
+    private UUID createAccount(UUID userId, UUID id) {
+        return bankAccountRepository.save(BankAccount.builder()
+                .id(id)
+                .userId(userId)
+                .accountNumber("ACC-LOCK-" + UUID.randomUUID())
+                .currency(Currency.EUR)
+                .status(AccountStatus.ACTIVE)
+                .balance(new BigDecimal("100.00"))
+                .build()).getId();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package banking.core.it;
+
+import banking.core.dto.requests.TransferRequest;
+import banking.core.model.entity.BankAccount;
+import banking.core.model.enums.AccountStatus;
+import banking.core.model.enums.Currency;
+import banking.core.model.enums.TransferExecutionMode;
+import banking.core.repository.BankAccountRepository;
+import banking.core.repository.OutboxEventRepository;
+import banking.core.repository.TransactionRepository;
+import banking.core.service.TransferService;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Side-by-side throughput of the JPA and stored procedure transfer paths under the same contended workload.
+ * Sizes can be overridden with {@code -Dbenchmark.transfers}, {@code -Dbenchmark.accounts} and
+ * {@code -Dbenchmark.threads}.
+ */
+@Slf4j
+@SpringBootTest
+public class TransferExecutionModeBenchmarkIT extends IntegrationTestBase {
+    private static final int TRANSFERS = Integer.getInteger("benchmark.transfers", 2000);
+    private static final int ACCOUNTS = Integer.getInteger("benchmark.accounts", 50);
+    private static final int THREADS = Integer.getInteger("benchmark.threads", 8);
+
+    @Autowired
+    TransferService transferService;
+    @Autowired
+    BankAccountRepository bankAccountRepository;
+    @Autowired
+    TransactionRepository transactionRepository;
+    @Autowired
+    OutboxEventRepository outboxEventRepository;
+
+    @BeforeEach
+    void cleanDb() {
+        transactionRepository.deleteAll();
+        outboxEventRepository.deleteAll();
+        bankAccountRepository.deleteAll();
+    }
+
+    @Test
+    void compareJpaAndStoredProcedureTransfers() throws Exception {
+        UUID userId = UUID.randomUUID();
+        List<UUID> accountIds = new ArrayList<>();
+        for (int i = 0; i < ACCOUNTS; i++) {
+            accountIds.add(bankAccountRepository.save(BankAccount.builder()
+                    .userId(userId)
+                    .accountNumber("ACC-BENCH-" + UUID.randomUUID())
+                    .currency(Currency.EUR)
+                    .status(AccountStatus.ACTIVE)
+                    .balance(new BigDecimal("1000000.00"))
+                    .build()).getId());
+        }
+        BigDecimal totalBefore = totalBalance();
+
+        run(TransferExecutionMode.JPA, userId, accountIds, TRANSFERS / 10);
+        run(TransferExecutionMode.STORED_PROCEDURE, userId, accountIds, TRANSFERS / 10);
+
+        long[] jpa = run(TransferExecutionMode.JPA, userId, accountIds, TRANSFERS);
+        long[] procedure = run(TransferExecutionMode.STORED_PROCEDURE, userId, accountIds, TRANSFERS);
+
+        report(TransferExecutionMode.JPA, jpa);
+        report(TransferExecutionMode.STORED_PROCEDURE, procedure);
+
+        assertEquals(0, totalBefore.compareTo(totalBalance()));
+    }
+
+    private long[] run(TransferExecutionMode mode, UUID userId, List<UUID> accountIds, int transfers)
+            throws Exception {
+        ReflectionTestUtils.setField(transferService, "executionMode", mode);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            long started = System.nanoTime();
+            List<Future<Long>> futures = new ArrayList<>();
+            for (int i = 0; i < transfers; i++) {
+                futures.add(executor.submit(() -> {
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    UUID from = accountIds.get(random.nextInt(accountIds.size()));
+                    UUID to = from;
+                    while (to.equals(from)) {
+                        to = accountIds.get(random.nextInt(accountIds.size()));
+                    }
+                    long begin = System.nanoTime();
+                    transferService.transfer(userId, new TransferRequest(from, to, new BigDecimal("1.00")));
+                    return System.nanoTime() - begin;
+                }));
+            }
+            long[] latencies = new long[transfers + 1];
+            for (int i = 0; i < transfers; i++) {
+                latencies[i] = futures.get(i).get();
+            }
+            latencies[transfers] = System.nanoTime() - started;
+            return latencies;
+        } finally {
+            executor.shutdown();
+            ReflectionTestUtils.setField(transferService, "executionMode", TransferExecutionMode.JPA);
+        }
+    }
+
+    private void report(TransferExecutionMode mode, long[] result) {
+        long elapsed = result[result.length - 1];
+        long[] latencies = Arrays.copyOf(result, result.length - 1);
+        Arrays.sort(latencies);
+        log.info("Transfer benchmark: mode={}, transfers={}, threads={}, throughput={}/s, p50={}ms, p99={}ms",
+                mode, latencies.length, THREADS,
+                String.format("%.1f", latencies.length * 1_000_000_000.0 / elapsed),
+                String.format("%.2f", latencies[latencies.length / 2] / 1_000_000.0),
+                String.format("%.2f", latencies[(int) (latencies.length * 0.99)] / 1_000_000.0));
+    }
+
+    private BigDecimal totalBalance() {
+        return bankAccountRepository.findAll().stream()
+                .map(BankAccount::getBalance)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+    }
+}
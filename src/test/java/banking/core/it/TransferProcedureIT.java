@@ -0,0 +1,149 @@
+package banking.core.it;
+
+import banking.core.dto.requests.TransferRequest;
+import banking.core.dto.requests.UpdateAccountStatusRequest;
+import banking.core.dto.requests.UpdateBalanceStripesRequest;
+import banking.core.error.exception.BankAccountNotFoundException;
+import banking.core.error.exception.TransferBusinessException;
+import banking.core.model.entity.BankAccount;
+import banking.core.model.entity.OutboxEvent;
+import banking.core.model.enums.AccountStatus;
+import banking.core.model.enums.Currency;
+import banking.core.repository.BalanceStripeRepository;
+import banking.core.repository.BankAccountRepository;
+import banking.core.repository.OutboxEventRepository;
+import banking.core.repository.TransactionRepository;
+import banking.core.service.BankAccountService;
+import banking.core.service.TransferService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "banking.transfer.execution-mode=STORED_PROCEDURE")
+public class TransferProcedureIT extends IntegrationTestBase {
+    @Autowired
+    TransferService transferService;
+    @Autowired
+    BankAccountService bankAccountService;
+    @Autowired
+    BankAccountRepository bankAccountRepository;
+    @Autowired
+    BalanceStripeRepository balanceStripeRepository;
+    @Autowired
+    TransactionRepository transactionRepository;
+    @Autowired
+    OutboxEventRepository outboxEventRepository;
+    @Autowired
+    ObjectMapper objectMapper;
+
+    @BeforeEach
+    void cleanDb() {
+        transactionRepository.deleteAll();
+        outboxEventRepository.deleteAll();
+        balanceStripeRepository.deleteAll();
+        bankAccountRepository.deleteAll();
+    }
+
+    @Test
+    void transfer_movesMoney_createsTransaction_andOutboxEvent() throws Exception {
+        UUID userId = UUID.randomUUID();
+        BankAccount from = createAccount(userId, Currency.EUR, "100.00");
+        BankAccount to = createAccount(UUID.randomUUID(), Currency.EUR, "10.00");
+
+        var response = transferService.transfer(userId,
+                new TransferRequest(from.getId(), to.getId(), new BigDecimal("25.00")));
+
+        assertEquals(0, balanceOf(from).compareTo(new BigDecimal("75.00")));
+        assertEquals(0, balanceOf(to).compareTo(new BigDecimal("35.00")));
+
+        var transaction = transactionRepository.findById(response.getTransactionId()).orElseThrow();
+        assertEquals(from.getId(), transaction.getFromAccount().getId());
+        assertEquals(to.getId(), transaction.getToAccount().getId());
+
+        OutboxEvent event = outboxEventRepository.findAll().get(0);
+        assertEquals(response.getTransactionId(), event.getAggregateId());
+        assertEquals("banking.transfers", event.getTopic());
+        JsonNode payload = objectMapper.readTree(event.getPayload());
+        assertEquals("TRANSFER_COMPLETED", payload.get("eventType").asText());
+        assertEquals("EUR", payload.get("data").get("currency").asText());
+        assertEquals(0, payload.get("data").get("amount").decimalValue()
+                .compareTo(new BigDecimal("25.00")));
+    }
+
+    @Test
+    void transfer_rejectionsMatchJpaPath_andLeaveBalancesUntouched() {
+        UUID userId = UUID.randomUUID();
+        BankAccount from = createAccount(userId, Currency.EUR, "10.00");
+        BankAccount to = createAccount(UUID.randomUUID(), Currency.EUR, "0.00");
+        BankAccount usd = createAccount(UUID.randomUUID(), Currency.USD, "0.00");
+
+        var insufficient = assertThrows(TransferBusinessException.class, () -> transferService.transfer(userId,
+                new TransferRequest(from.getId(), to.getId(), new BigDecimal("10.01"))));
+        assertEquals("Insufficient funds", insufficient.getMessage());
+
+        var currency = assertThrows(TransferBusinessException.class, () -> transferService.transfer(userId,
+                new TransferRequest(from.getId(), usd.getId(), new BigDecimal("1.00"))));
+        assertEquals("Bank Accounts must have same currency", currency.getMessage());
+
+        var notOwned = assertThrows(TransferBusinessException.class, () -> transferService.transfer(
+                UUID.randomUUID(), new TransferRequest(from.getId(), to.getId(), new BigDecimal("1.00"))));
+        assertEquals("Source Bank Account does not belong to the current user", notOwned.getMessage());
+
+        assertThrows(BankAccountNotFoundException.class, () -> transferService.transfer(userId,
+                new TransferRequest(from.getId(), UUID.randomUUID(), new BigDecimal("1.00"))));
+
+        bankAccountService.updateStatus(to.getUserId(), to.getId(),
+                new UpdateAccountStatusRequest(AccountStatus.BLOCKED));
+        var blocked = assertThrows(TransferBusinessException.class, () -> transferService.transfer(userId,
+                new TransferRequest(from.getId(), to.getId(), new BigDecimal("1.00"))));
+        assertEquals("Destination Bank Account is blocked", blocked.getMessage());
+
+        assertEquals(0, balanceOf(from).compareTo(new BigDecimal("10.00")));
+        assertEquals(0, transactionRepository.count());
+    }
+
+    @Test
+    void transfer_creditsStripedDestination_andSweepsStripedSource() {
+        UUID userId = UUID.randomUUID();
+        BankAccount source = createAccount(userId, Currency.EUR, "0.00");
+        bankAccountService.updateBalanceStripes(source.getId(), new UpdateBalanceStripesRequest(4));
+        BankAccount funding = createAccount(UUID.randomUUID(), Currency.EUR, "100.00");
+        transferService.transfer(funding.getUserId(),
+                new TransferRequest(funding.getId(), source.getId(), new BigDecimal("40.00")));
+
+        UUID merchantId = UUID.randomUUID();
+        BankAccount merchant = createAccount(merchantId, Currency.EUR, "0.00");
+        bankAccountService.updateBalanceStripes(merchant.getId(), new UpdateBalanceStripesRequest(4));
+
+        transferService.transfer(userId, new TransferRequest(source.getId(), merchant.getId(), new BigDecimal("30.00")));
+
+        assertEquals(0, bankAccountService.getBalance(userId, source.getId()).getBalance()
+                .compareTo(new BigDecimal("10.00")));
+        assertEquals(0, bankAccountService.getBalance(merchantId, merchant.getId()).getBalance()
+                .compareTo(new BigDecimal("30.00")));
+        assertEquals(0, balanceStripeRepository.sumBalanceByAccountId(merchant.getId())
+                .compareTo(new BigDecimal("30.00")));
+    }
+
+    private BigDecimal balanceOf(BankAccount account) {
+        return bankAccountRepository.findById(account.getId()).orElseThrow().getBalance();
+    }
+
+    private BankAccount createAccount(UUID userId, Currency currency, String balance) {
+        return bankAccountRepository.save(BankAccount.builder()
+                .userId(userId)
+                .accountNumber("ACC-" + UUID.randomUUID())
+                .currency(currency)
+                .status(AccountStatus.ACTIVE)
+                .balance(new BigDecimal(balance))
+                .build());
+    }
+}
@@ -1,12 +1,15 @@
 package banking.core.it;
 
 import banking.core.dto.requests.TransferRequest;
+import banking.core.dto.requests.UpdateAccountStatusRequest;
+import banking.core.error.exception.TransferBusinessException;
 import banking.core.model.entity.BankAccount;
 import banking.core.model.enums.AccountStatus;
 import banking.core.model.enums.Currency;
 import banking.core.repository.BankAccountRepository;
 import banking.core.repository.OutboxEventRepository;
 import banking.core.repository.TransactionRepository;
+import banking.core.service.BankAccountService;
 import banking.core.service.TransferService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -14,7 +17,12 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -23,6 +31,8 @@ public class TransferServiceIT extends IntegrationTestBase {
     @Autowired
     TransferService transferService;
     @Autowired
+    BankAccountService bankAccountService;
+    @Autowired
     BankAccountRepository bankAccountRepository;
     @Autowired
     TransactionRepository transactionRepository;
@@ -83,4 +93,80 @@ public class TransferServiceIT extends IntegrationTestBase {
         assertEquals(outboxBefore + 1, outboxEventRepository.count(),
                 "Expected exactly 1 new outbox event");
     }
+
+    @Test
+    void transfer_concurrentTransfersIntoSameAccount_allComplete() throws Exception {
+        UUID userId = UUID.randomUUID();
+
+        BankAccount to = bankAccountRepository.save(BankAccount.builder()
+                .userId(UUID.randomUUID())
+                .accountNumber("ACC-HOT-" + UUID.randomUUID())
+                .currency(Currency.EUR)
+                .status(AccountStatus.ACTIVE)
+                .balance(new BigDecimal("0.00"))
+                .build());
+
+        List<BankAccount> sources = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            sources.add(bankAccountRepository.save(BankAccount.builder()
+                    .userId(userId)
+                    .accountNumber("ACC-SRC-" + UUID.randomUUID())
+                    .currency(Currency.EUR)
+                    .status(AccountStatus.ACTIVE)
+                    .balance(new BigDecimal("50.00"))
+                    .build()));
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(10);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (BankAccount source : sources) {
+                futures.add(executor.submit(() -> transferService.transfer(userId,
+                        new TransferRequest(source.getId(), to.getId(), new BigDecimal("5.00")))));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        var toAfter = bankAccountRepository.findById(to.getId()).orElseThrow();
+        assertEquals(0, toAfter.getBalance().compareTo(new BigDecimal("50.00")));
+    }
+
+    @Test
+    void transfer_seesStatusChangeDespiteCachedMetadata() {
+        UUID userId = UUID.randomUUID();
+        UUID receiverId = UUID.randomUUID();
+
+        BankAccount from = bankAccountRepository.save(BankAccount.builder()
+                .userId(userId)
+                .accountNumber("ACC-FROM-" + UUID.randomUUID())
+                .currency(Currency.EUR)
+                .status(AccountStatus.ACTIVE)
+                .balance(new BigDecimal("100.00"))
+                .build());
+
+        BankAccount to = bankAccountRepository.save(BankAccount.builder()
+                .userId(receiverId)
+                .accountNumber("ACC-TO-" + UUID.randomUUID())
+                .currency(Currency.EUR)
+                .status(AccountStatus.ACTIVE)
+                .balance(BigDecimal.ZERO)
+                .build());
+
+        var request = new TransferRequest(from.getId(), to.getId(), new BigDecimal("10.00"));
+        transferService.transfer(userId, request);
+
+        bankAccountService.updateStatus(receiverId, to.getId(), new UpdateAccountStatusRequest(AccountStatus.BLOCKED));
+        var ex = assertThrows(TransferBusinessException.class, () -> transferService.transfer(userId, request));
+        assertEquals("Destination Bank Account is blocked", ex.getMessage());
+
+        bankAccountService.updateStatus(receiverId, to.getId(), new UpdateAccountStatusRequest(AccountStatus.ACTIVE));
+        transferService.transfer(userId, request);
+
+        assertEquals(0, bankAccountRepository.findById(to.getId()).orElseThrow().getBalance()
+                .compareTo(new BigDecimal("20.00")));
+    }
 }
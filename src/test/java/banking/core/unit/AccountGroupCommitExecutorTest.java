@@ -0,0 +1,155 @@
+package banking.core.unit;
+
+import banking.core.dto.responses.TransferResponse;
+import banking.core.error.exception.TransferBusinessException;
+import banking.core.model.enums.TransactionType;
+import banking.core.service.concurrency.AccountGroupCommitExecutor;
+import banking.core.service.concurrency.BalanceOperation;
+import banking.core.service.concurrency.RetryingTransactionExecutor;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class AccountGroupCommitExecutorTest {
+    @Mock
+    private RetryingTransactionExecutor retryingTransactionExecutor;
+
+    private AccountGroupCommitExecutor executor;
+    private ExecutorService callers;
+
+    @BeforeEach
+    void setUp() {
+        executor = new AccountGroupCommitExecutor(retryingTransactionExecutor, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(executor, "enabled", true);
+        ReflectionTestUtils.setField(executor, "windowMs", 100L);
+        ReflectionTestUtils.setField(executor, "maxBatchSize", 8);
+        ReflectionTestUtils.setField(executor, "workers", 2);
+        ReflectionTestUtils.setField(executor, "timeoutMs", 5000L);
+        ReflectionTestUtils.invokeMethod(executor, "start");
+        callers = Executors.newFixedThreadPool(8);
+        lenient().when(retryingTransactionExecutor.execute(eq("group-commit"), any()))
+                .thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(1).get());
+    }
+
+    @AfterEach
+    void tearDown() {
+        callers.shutdown();
+        ReflectionTestUtils.invokeMethod(executor, "stop");
+    }
+
+    @Test
+    public void submit_concurrentOperations_areAppliedInOneBatch() throws Exception {
+        UUID accountId = UUID.randomUUID();
+        List<Integer> batchSizes = new CopyOnWriteArrayList<>();
+
+        List<Future<TransferResponse>> futures = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            futures.add(callers.submit(() -> executor.submit(deposit(accountId), operations -> {
+                batchSizes.add(operations.size());
+                operations.forEach(operation -> operation.succeed(new TransferResponse(UUID.randomUUID())));
+            })));
+        }
+        for (Future<TransferResponse> future : futures) {
+            assertNotNull(future.get().getTransactionId());
+        }
+
+        assertEquals(List.of(4), batchSizes);
+        verify(retryingTransactionExecutor, times(1)).execute(eq("group-commit"), any());
+    }
+
+    @Test
+    public void submit_failedOperation_doesNotAffectOthers() throws Exception {
+        UUID accountId = UUID.randomUUID();
+        BalanceOperation failing = new BalanceOperation(UUID.randomUUID(), accountId, TransactionType.WITHDRAWAL,
+                new BigDecimal("100.00"));
+
+        Future<TransferResponse> ok = callers.submit(() -> executor.submit(deposit(accountId), this::applyWithLimit));
+        Future<TransferResponse> failed = callers.submit(() -> executor.submit(failing, this::applyWithLimit));
+
+        assertNotNull(ok.get().getTransactionId());
+        var exception = assertThrows(ExecutionException.class, failed::get);
+        assertInstanceOf(TransferBusinessException.class, exception.getCause());
+    }
+
+    @Test
+    public void submit_transactionFailure_failsWholeBatch() {
+        UUID accountId = UUID.randomUUID();
+        when(retryingTransactionExecutor.execute(eq("group-commit"), any()))
+                .thenThrow(new IllegalStateException("database unavailable"));
+
+        assertThrows(IllegalStateException.class, () -> executor.submit(deposit(accountId),
+                operations -> operations.forEach(operation -> operation.succeed(new TransferResponse(UUID.randomUUID())))));
+    }
+
+    @Test
+    public void submit_timeoutWhileQueued_withdrawsOperation() throws Exception {
+        UUID accountId = UUID.randomUUID();
+        ReflectionTestUtils.setField(executor, "windowMs", 300L);
+        ReflectionTestUtils.setField(executor, "timeoutMs", 50L);
+        List<BalanceOperation> applied = new CopyOnWriteArrayList<>();
+
+        assertThrows(TransferBusinessException.class, () -> executor.submit(deposit(accountId), applied::addAll));
+        Thread.sleep(500);
+
+        assertTrue(applied.isEmpty());
+        verify(retryingTransactionExecutor, never()).execute(eq("group-commit"), any());
+    }
+
+    @Test
+    public void submit_timeoutWhileApplying_waitsForOutcome() {
+        UUID accountId = UUID.randomUUID();
+        ReflectionTestUtils.setField(executor, "windowMs", 0L);
+        ReflectionTestUtils.setField(executor, "timeoutMs", 50L);
+        UUID transactionId = UUID.randomUUID();
+
+        TransferResponse response = executor.submit(deposit(accountId), operations -> {
+            sleep(300);
+            operations.forEach(operation -> operation.succeed(new TransferResponse(transactionId)));
+        });
+
+        assertEquals(transactionId, response.getTransactionId());
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void applyWithLimit(List<BalanceOperation> operations) {
+        for (BalanceOperation operation : operations) {
+            if (operation.getAmount().compareTo(new BigDecimal("50.00")) > 0) {
+                operation.fail(new TransferBusinessException("Insufficient funds"));
+            } else {
+                operation.succeed(new TransferResponse(UUID.randomUUID()));
+            }
+        }
+    }
+
+    private BalanceOperation deposit(UUID accountId) {
+        return new BalanceOperation(UUID.randomUUID(), accountId, TransactionType.DEPOSIT, new BigDecimal("10.00"));
+    }
+}
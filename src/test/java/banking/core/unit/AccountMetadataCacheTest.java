@@ -0,0 +1,72 @@
+package banking.core.unit;
+
+import banking.core.model.enums.Currency;
+import banking.core.repository.BankAccountRepository;
+import banking.core.repository.projection.AccountMetadata;
+import banking.core.service.cache.AccountMetadataCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class AccountMetadataCacheTest {
+    @Mock
+    private BankAccountRepository bankAccountRepository;
+
+    private AccountMetadataCache accountMetadataCache;
+
+    @BeforeEach
+    void setUp() {
+        accountMetadataCache = new AccountMetadataCache(bankAccountRepository);
+        ReflectionTestUtils.setField(accountMetadataCache, "enabled", true);
+        ReflectionTestUtils.setField(accountMetadataCache, "maxSize", 2);
+    }
+
+    @Test
+    public void find_loadsMetadataOnce() {
+        UUID accountId = UUID.randomUUID();
+        when(bankAccountRepository.findMetadataById(accountId)).thenReturn(Optional.of(metadata(accountId)));
+
+        assertTrue(accountMetadataCache.find(accountId).isPresent());
+        assertTrue(accountMetadataCache.find(accountId).isPresent());
+
+        verify(bankAccountRepository, times(1)).findMetadataById(accountId);
+    }
+
+    @Test
+    public void find_missingAccount_isNotCached() {
+        UUID accountId = UUID.randomUUID();
+        when(bankAccountRepository.findMetadataById(accountId)).thenReturn(Optional.empty());
+
+        assertTrue(accountMetadataCache.find(accountId).isEmpty());
+        assertTrue(accountMetadataCache.find(accountId).isEmpty());
+
+        verify(bankAccountRepository, times(2)).findMetadataById(accountId);
+    }
+
+    @Test
+    public void find_staysWithinMaxSize() {
+        for (int i = 0; i < 5; i++) {
+            UUID accountId = UUID.randomUUID();
+            when(bankAccountRepository.findMetadataById(accountId)).thenReturn(Optional.of(metadata(accountId)));
+            accountMetadataCache.find(accountId);
+        }
+
+        Map<?, ?> entries = (Map<?, ?>) ReflectionTestUtils.getField(accountMetadataCache, "entries");
+        assertEquals(2, entries.size());
+    }
+
+    private AccountMetadata metadata(UUID accountId) {
+        return new AccountMetadata(accountId, UUID.randomUUID(), Currency.EUR);
+    }
+}
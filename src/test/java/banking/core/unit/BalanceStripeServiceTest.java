@@ -0,0 +1,129 @@
+package banking.core.unit;
+
+import banking.core.model.entity.BalanceStripe;
+import banking.core.model.entity.BankAccount;
+import banking.core.repository.BalanceStripeRepository;
+import banking.core.repository.BankAccountRepository;
+import banking.core.service.BalanceStripeService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class BalanceStripeServiceTest {
+    @Mock
+    private BalanceStripeRepository balanceStripeRepository;
+
+    @Mock
+    private BankAccountRepository bankAccountRepository;
+
+    @InjectMocks
+    private BalanceStripeService balanceStripeService;
+
+    @Test
+    public void totalBalance_whenNotStriped_returnsAccountBalance() {
+        BankAccount account = createAccount(new BigDecimal("10.00"), 0);
+
+        assertEquals(new BigDecimal("10.00"), balanceStripeService.totalBalance(account));
+        verifyNoInteractions(balanceStripeRepository);
+    }
+
+    @Test
+    public void totalBalance_whenStriped_addsStripes() {
+        BankAccount account = createAccount(new BigDecimal("10.00"), 4);
+        when(balanceStripeRepository.sumBalanceByAccountId(account.getId())).thenReturn(new BigDecimal("5.50"));
+
+        assertEquals(0, balanceStripeService.totalBalance(account).compareTo(new BigDecimal("15.50")));
+    }
+
+    @Test
+    public void credit_updatesStripeWithinRange() {
+        BankAccount account = createAccount(BigDecimal.ZERO, 4);
+        when(balanceStripeRepository.credit(eq(account.getId()), anyInt(), any())).thenReturn(1);
+
+        balanceStripeService.credit(account, new BigDecimal("3.00"));
+
+        ArgumentCaptor<Integer> stripeNo = ArgumentCaptor.forClass(Integer.class);
+        verify(balanceStripeRepository).credit(eq(account.getId()), stripeNo.capture(), eq(new BigDecimal("3.00")));
+        assertTrue(stripeNo.getValue() >= 0 && stripeNo.getValue() < 4);
+    }
+
+    @Test
+    public void credit_whenStripeMissing_throws() {
+        BankAccount account = createAccount(BigDecimal.ZERO, 2);
+        when(balanceStripeRepository.credit(eq(account.getId()), anyInt(), any())).thenReturn(0);
+
+        assertThrows(IllegalStateException.class, () -> balanceStripeService.credit(account, BigDecimal.ONE));
+    }
+
+    @Test
+    public void sweepStripes_movesStripesIntoAccountBalance() {
+        BankAccount account = createAccount(new BigDecimal("1.00"), 3);
+        BalanceStripe first = createStripe(account.getId(), 0, new BigDecimal("2.00"));
+        BalanceStripe second = createStripe(account.getId(), 1, BigDecimal.ZERO);
+        BalanceStripe third = createStripe(account.getId(), 2, new BigDecimal("4.50"));
+        when(balanceStripeRepository.findByAccountIdForUpdate(account.getId()))
+                .thenReturn(List.of(first, second, third));
+
+        BigDecimal swept = balanceStripeService.sweepStripes(account);
+
+        assertEquals(0, swept.compareTo(new BigDecimal("6.50")));
+        assertEquals(0, account.getBalance().compareTo(new BigDecimal("7.50")));
+        assertEquals(0, first.getBalance().signum());
+        assertEquals(0, third.getBalance().signum());
+    }
+
+    @Test
+    public void sweepStripes_whenNotStriped_doesNothing() {
+        BankAccount account = createAccount(new BigDecimal("1.00"), 0);
+
+        assertEquals(BigDecimal.ZERO, balanceStripeService.sweepStripes(account));
+        verifyNoInteractions(balanceStripeRepository);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void restripe_replacesStripes() {
+        BankAccount account = createAccount(new BigDecimal("1.00"), 2);
+        when(balanceStripeRepository.findByAccountIdForUpdate(account.getId()))
+                .thenReturn(List.of(createStripe(account.getId(), 0, new BigDecimal("1.00"))));
+
+        balanceStripeService.restripe(account, 8);
+
+        ArgumentCaptor<List<BalanceStripe>> captor = ArgumentCaptor.forClass(List.class);
+        verify(balanceStripeRepository).deleteByAccountId(account.getId());
+        verify(balanceStripeRepository).saveAll(captor.capture());
+        assertEquals(8, captor.getValue().size());
+        assertEquals(8, account.getBalanceStripes());
+        assertEquals(0, account.getBalance().compareTo(new BigDecimal("2.00")));
+    }
+
+    private static BankAccount createAccount(BigDecimal balance, int stripes) {
+        return BankAccount.builder()
+                .id(UUID.randomUUID())
+                .userId(UUID.randomUUID())
+                .balance(balance)
+                .balanceStripes(stripes)
+                .build();
+    }
+
+    private static BalanceStripe createStripe(UUID accountId, int stripeNo, BigDecimal balance) {
+        return BalanceStripe.builder()
+                .id(UUID.randomUUID())
+                .accountId(accountId)
+                .stripeNo(stripeNo)
+                .balance(balance)
+                .build();
+    }
+}
@@ -0,0 +1,243 @@
+package banking.core.unit;
+
+import banking.core.dto.requests.TransferRequest;
+import banking.core.dto.responses.BatchTransferItemResponse;
+import banking.core.dto.responses.BatchTransferResponse;
+import banking.core.dto.responses.TransferResponse;
+import banking.core.error.exception.IdempotencyKeyMismatchException;
+import banking.core.model.entity.IdempotencyRecord;
+import banking.core.model.enums.BatchTransferItemStatus;
+import banking.core.model.enums.BatchTransferMode;
+import banking.core.repository.IdempotencyRecordRepository;
+import banking.core.service.concurrency.RetryingTransactionExecutor;
+import banking.core.service.idempotency.IdempotencyService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class IdempotencyServiceTest {
+    @Mock
+    private IdempotencyRecordRepository idempotencyRecordRepository;
+
+    @Mock
+    private RetryingTransactionExecutor retryingTransactionExecutor;
+
+    private IdempotencyService idempotencyService;
+
+    private final UUID userId = UUID.randomUUID();
+    private final TransferRequest request = new TransferRequest(UUID.randomUUID(), UUID.randomUUID(),
+            new BigDecimal("10.00"));
+
+    @BeforeEach
+    void setUp() {
+        idempotencyService = new IdempotencyService(idempotencyRecordRepository, retryingTransactionExecutor,
+                new ObjectMapper());
+        ReflectionTestUtils.setField(idempotencyService, "cacheSize", 100);
+        ReflectionTestUtils.setField(idempotencyService, "ttlHours", 24L);
+        ReflectionTestUtils.setField(idempotencyService, "inFlightWaitMs", 5000L);
+        lenient().when(retryingTransactionExecutor.execute(anyString(), any()))
+                .thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(1).get());
+    }
+
+    @Test
+    public void execute_withoutKey_runsActionDirectly() {
+        UUID txId = UUID.randomUUID();
+
+        var response = idempotencyService.execute(userId, null, "TRANSFER", fingerprint(request),
+                () -> new TransferResponse(txId));
+
+        assertEquals(txId, response.getTransactionId());
+        verifyNoInteractions(idempotencyRecordRepository, retryingTransactionExecutor);
+    }
+
+    @Test
+    public void execute_replay_servedFromCache_withoutRunningAction() {
+        UUID txId = UUID.randomUUID();
+        when(idempotencyRecordRepository.claim(eq(userId), eq("key-1"), eq("TRANSFER"), anyString())).thenReturn(1);
+        AtomicInteger calls = new AtomicInteger();
+
+        var first = idempotencyService.execute(userId, "key-1", "TRANSFER", fingerprint(request), () -> {
+            calls.incrementAndGet();
+            return new TransferResponse(txId);
+        });
+        var replay = idempotencyService.execute(userId, "key-1", "TRANSFER", fingerprint(request), () -> {
+            calls.incrementAndGet();
+            return new TransferResponse(UUID.randomUUID());
+        });
+
+        assertEquals(txId, first.getTransactionId());
+        assertEquals(txId, replay.getTransactionId());
+        assertEquals(1, calls.get());
+        verify(idempotencyRecordRepository).complete(eq(userId), eq("key-1"), eq(txId), anyString());
+        verify(idempotencyRecordRepository, times(1)).claim(any(), any(), any(), any());
+    }
+
+    @Test
+    public void execute_replay_servedFromStore_whenAlreadyClaimed() {
+        UUID txId = UUID.randomUUID();
+        when(idempotencyRecordRepository.claim(eq(userId), eq("key-2"), eq("TRANSFER"), anyString())).thenReturn(1);
+        idempotencyService.execute(userId, "key-2", "TRANSFER", fingerprint(request), () -> new TransferResponse(txId));
+
+        IdempotencyService otherInstance = new IdempotencyService(idempotencyRecordRepository,
+                retryingTransactionExecutor, new ObjectMapper());
+        ReflectionTestUtils.setField(otherInstance, "cacheSize", 100);
+        ReflectionTestUtils.setField(otherInstance, "ttlHours", 24L);
+        var hash = captureRequestHash();
+        when(idempotencyRecordRepository.claim(eq(userId), eq("key-2"), eq("TRANSFER"), anyString())).thenReturn(0);
+        when(idempotencyRecordRepository.findByUserIdAndIdempotencyKey(userId, "key-2"))
+                .thenReturn(Optional.of(IdempotencyRecord.builder()
+                        .userId(userId)
+                        .idempotencyKey("key-2")
+                        .operation("TRANSFER")
+                        .requestHash(hash)
+                        .transactionId(txId)
+                        .createdAt(LocalDateTime.now())
+                        .build()));
+
+        var replay = otherInstance.execute(userId, "key-2", "TRANSFER", fingerprint(request), () -> {
+            throw new AssertionError("action must not run on replay");
+        });
+
+        assertEquals(txId, replay.getTransactionId());
+    }
+
+    @Test
+    public void execute_sameKeyDifferentRequest_throwsMismatch() {
+        when(idempotencyRecordRepository.claim(eq(userId), eq("key-3"), eq("TRANSFER"), anyString())).thenReturn(1);
+        idempotencyService.execute(userId, "key-3", "TRANSFER", fingerprint(request),
+                () -> new TransferResponse(UUID.randomUUID()));
+
+        var other = new TransferRequest(request.getFromAccountId(), request.getToAccountId(), new BigDecimal("11.00"));
+
+        assertThrows(IdempotencyKeyMismatchException.class, () -> idempotencyService.execute(userId, "key-3",
+                "TRANSFER", fingerprint(other), () -> new TransferResponse(UUID.randomUUID())));
+    }
+
+    @Test
+    public void execute_concurrentDuplicate_waitsForInFlightRequest() throws Exception {
+        UUID txId = UUID.randomUUID();
+        when(idempotencyRecordRepository.claim(eq(userId), eq("key-4"), eq("TRANSFER"), anyString())).thenReturn(1);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger calls = new AtomicInteger();
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<TransferResponse> leader = executor.submit(() -> idempotencyService.execute(userId, "key-4",
+                    "TRANSFER", fingerprint(request), () -> {
+                        calls.incrementAndGet();
+                        started.countDown();
+                        await(release);
+                        return new TransferResponse(txId);
+                    }));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            Future<TransferResponse> follower = executor.submit(() -> idempotencyService.execute(userId, "key-4",
+                    "TRANSFER", fingerprint(request), () -> {
+                        calls.incrementAndGet();
+                        return new TransferResponse(UUID.randomUUID());
+                    }));
+            release.countDown();
+
+            assertEquals(txId, leader.get(5, TimeUnit.SECONDS).getTransactionId());
+            assertEquals(txId, follower.get(5, TimeUnit.SECONDS).getTransactionId());
+            assertEquals(1, calls.get());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void execute_replayWithDifferentAmountScale_isNotAMismatch() {
+        UUID txId = UUID.randomUUID();
+        when(idempotencyRecordRepository.claim(eq(userId), eq("key-5"), eq("TRANSFER"), anyString())).thenReturn(1);
+        idempotencyService.execute(userId, "key-5", "TRANSFER", fingerprint(request), () -> new TransferResponse(txId));
+
+        var rescaled = new TransferRequest(request.getFromAccountId(), request.getToAccountId(), new BigDecimal("10"));
+        var replay = idempotencyService.execute(userId, "key-5", "TRANSFER", fingerprint(rescaled), () -> {
+            throw new AssertionError("action must not run on replay");
+        });
+
+        assertEquals(txId, replay.getTransactionId());
+    }
+
+    @Test
+    public void execute_batchResponse_isStoredAndReplayedFromStore() {
+        var response = new BatchTransferResponse(BatchTransferMode.BEST_EFFORT, 1, 1, List.of(
+                new BatchTransferItemResponse(0, BatchTransferItemStatus.COMPLETED, UUID.randomUUID(), null),
+                new BatchTransferItemResponse(1, BatchTransferItemStatus.FAILED, null, "Insufficient funds")));
+        when(idempotencyRecordRepository.claim(eq(userId), eq("key-6"), eq("TRANSFER_BATCH"), anyString()))
+                .thenReturn(1);
+        idempotencyService.execute(userId, "key-6", "TRANSFER_BATCH", fingerprint(request),
+                BatchTransferResponse.class, () -> response);
+
+        ArgumentCaptor<String> body = ArgumentCaptor.forClass(String.class);
+        verify(idempotencyRecordRepository).complete(eq(userId), eq("key-6"), isNull(), body.capture());
+
+        IdempotencyService otherInstance = new IdempotencyService(idempotencyRecordRepository,
+                retryingTransactionExecutor, new ObjectMapper());
+        ReflectionTestUtils.setField(otherInstance, "cacheSize", 100);
+        ReflectionTestUtils.setField(otherInstance, "ttlHours", 24L);
+        var hash = captureRequestHash();
+        when(idempotencyRecordRepository.claim(eq(userId), eq("key-6"), eq("TRANSFER_BATCH"), anyString()))
+                .thenReturn(0);
+        when(idempotencyRecordRepository.findByUserIdAndIdempotencyKey(userId, "key-6"))
+                .thenReturn(Optional.of(IdempotencyRecord.builder()
+                        .userId(userId)
+                        .idempotencyKey("key-6")
+                        .operation("TRANSFER_BATCH")
+                        .requestHash(hash)
+                        .responseBody(body.getValue())
+                        .createdAt(LocalDateTime.now())
+                        .build()));
+
+        var replay = otherInstance.execute(userId, "key-6", "TRANSFER_BATCH", fingerprint(request),
+                BatchTransferResponse.class, () -> {
+                    throw new AssertionError("action must not run on replay");
+                });
+
+        assertEquals(1, replay.getCompleted());
+        assertEquals(response.getResults().get(0).getTransactionId(), replay.getResults().get(0).getTransactionId());
+        assertEquals("Insufficient funds", replay.getResults().get(1).getError());
+    }
+
+    private static List<Object> fingerprint(TransferRequest request) {
+        return List.of(request.getFromAccountId(), request.getToAccountId(), request.getAmount());
+    }
+
+    private String captureRequestHash() {
+        ArgumentCaptor<String> captor = ArgumentCaptor.forClass(String.class);
+        verify(idempotencyRecordRepository, atLeastOnce()).claim(any(), any(), any(), captor.capture());
+        return captor.getValue();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
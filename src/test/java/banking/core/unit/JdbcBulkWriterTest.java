@@ -0,0 +1,81 @@
+package banking.core.unit;
+
+import banking.core.service.bulk.JdbcBulkWriter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Collection;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class JdbcBulkWriterTest {
+    private static final ParameterizedPreparedStatementSetter<Integer> SETTER = (ps, row) -> ps.setInt(1, row);
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private JdbcBulkWriter jdbcBulkWriter;
+
+    @BeforeEach
+    void setUp() {
+        jdbcBulkWriter = new JdbcBulkWriter(jdbcTemplate);
+        ReflectionTestUtils.setField(jdbcBulkWriter, "batchSize", 4);
+    }
+
+    @Test
+    public void flushesEveryBatchSizeRows_inRegistrationOrder() {
+        try (JdbcBulkWriter.Session session = jdbcBulkWriter.open()) {
+            var parents = session.statement("INSERT parent", SETTER);
+            var children = session.statement("INSERT child", SETTER);
+            for (int i = 0; i < 3; i++) {
+                parents.add(i);
+                children.add(i);
+            }
+            assertEquals(4, session.writtenRows());
+        }
+
+        InOrder inOrder = inOrder(jdbcTemplate);
+        inOrder.verify(jdbcTemplate).batchUpdate(eq("INSERT parent"), eq(List.of(0, 1)), eq(2), eq(SETTER));
+        inOrder.verify(jdbcTemplate).batchUpdate(eq("INSERT child"), eq(List.of(0, 1)), eq(2), eq(SETTER));
+        inOrder.verify(jdbcTemplate).batchUpdate(eq("INSERT parent"), eq(List.of(2)), eq(1), eq(SETTER));
+        inOrder.verify(jdbcTemplate).batchUpdate(eq("INSERT child"), eq(List.of(2)), eq(1), eq(SETTER));
+        verifyNoMoreInteractions(jdbcTemplate);
+    }
+
+    @Test
+    public void close_withNothingPending_sendsNothing() {
+        try (JdbcBulkWriter.Session session = jdbcBulkWriter.open()) {
+            session.statement("INSERT parent", SETTER);
+        }
+
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void bufferIsReleasedAfterFlush() {
+        ArgumentCaptor<Collection<Integer>> sent = ArgumentCaptor.forClass(Collection.class);
+        try (JdbcBulkWriter.Session session = jdbcBulkWriter.open()) {
+            var statement = session.statement("INSERT parent", SETTER);
+            for (int i = 0; i < 10; i++) {
+                statement.add(i);
+            }
+            assertEquals(8, session.writtenRows());
+        }
+
+        verify(jdbcTemplate, times(3)).batchUpdate(eq("INSERT parent"), sent.capture(), anyInt(), eq(SETTER));
+        assertEquals(List.of(4, 4, 2), sent.getAllValues().stream().map(Collection::size).toList());
+    }
+}
@@ -0,0 +1,97 @@
+package banking.core.unit;
+
+import banking.core.model.entity.OutboxEvent;
+import banking.core.service.processor.OutboxAckWriter;
+import banking.core.service.processor.OutboxTxService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class OutboxAckWriterTest {
+    @Mock
+    private OutboxTxService outboxTxService;
+
+    @InjectMocks
+    private OutboxAckWriter outboxAckWriter;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(outboxAckWriter, "queueCapacity", 2);
+        ReflectionTestUtils.setField(outboxAckWriter, "flushIntervalMs", 50L);
+        ReflectionTestUtils.setField(outboxAckWriter, "maxRetries", 3);
+        ReflectionTestUtils.invokeMethod(outboxAckWriter, "start");
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReflectionTestUtils.invokeMethod(outboxAckWriter, "stop");
+    }
+
+    @Test
+    public void acksArrivingTogether_areWrittenInOneBatch() {
+        OutboxEvent failed = OutboxEvent.builder().id(2L).build();
+
+        outboxAckWriter.reserve();
+        outboxAckWriter.reserve();
+        outboxAckWriter.sent(1L);
+        outboxAckWriter.failed(failed);
+
+        verify(outboxTxService, timeout(5000)).completeBatch(List.of(1L), List.of(failed), List.of(), 3);
+        verify(outboxTxService, timeout(5000)).forget(List.of(1L, 2L));
+        verifyNoMoreInteractions(outboxTxService);
+    }
+
+    @Test
+    public void reserve_blocksWhileQueueIsFull() throws Exception {
+        CountDownLatch flushing = new CountDownLatch(1);
+        CountDownLatch releaseFlush = new CountDownLatch(1);
+        when(outboxTxService.completeBatch(any(), any(), any(), anyInt())).thenAnswer(invocation -> {
+            flushing.countDown();
+            releaseFlush.await(5, TimeUnit.SECONDS);
+            return 2;
+        });
+
+        outboxAckWriter.reserve();
+        outboxAckWriter.reserve();
+        outboxAckWriter.sent(1L);
+        outboxAckWriter.released(2L);
+        assertTrue(flushing.await(5, TimeUnit.SECONDS));
+
+        CompletableFuture<Void> third = CompletableFuture.runAsync(outboxAckWriter::reserve);
+        assertThrows(Exception.class, () -> third.get(200, TimeUnit.MILLISECONDS));
+
+        releaseFlush.countDown();
+        third.get(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    public void failedFlush_stillFreesCapacity_andStopsRenewingLeases() throws Exception {
+        when(outboxTxService.completeBatch(any(), any(), any(), anyInt())).thenThrow(new RuntimeException("db down"));
+
+        outboxAckWriter.reserve();
+        outboxAckWriter.reserve();
+        outboxAckWriter.sent(1L);
+        outboxAckWriter.sent(2L);
+
+        CompletableFuture.runAsync(() -> {
+            outboxAckWriter.reserve();
+            outboxAckWriter.reserve();
+        }).get(5, TimeUnit.SECONDS);
+        verify(outboxTxService).forget(List.of(1L, 2L));
+    }
+}
@@ -0,0 +1,83 @@
+package banking.core.unit;
+
+import banking.core.model.entity.OutboxEvent;
+import banking.core.service.processor.OutboxFastPath;
+import banking.core.service.processor.OutboxProcessor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class OutboxFastPathTest {
+    @Mock
+    private OutboxProcessor outboxProcessor;
+
+    @InjectMocks
+    private OutboxFastPath outboxFastPath;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(outboxFastPath, "enabled", true);
+        ReflectionTestUtils.setField(outboxFastPath, "queueCapacity", 100);
+        ReflectionTestUtils.setField(outboxFastPath, "batchSize", 100);
+        ReflectionTestUtils.invokeMethod(outboxFastPath, "start");
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        ReflectionTestUtils.invokeMethod(outboxFastPath, "stop");
+    }
+
+    @Test
+    public void publishAfterCommit_dispatchesAllEventsOfTransactionTogether() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        outboxFastPath.publishAfterCommit(OutboxEvent.builder().id(1L).build());
+        outboxFastPath.publishAfterCommit(OutboxEvent.builder().id(2L).build());
+
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        assertEquals(1, synchronizations.size());
+        verifyNoInteractions(outboxProcessor);
+
+        synchronizations.get(0).afterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+
+        verify(outboxProcessor, timeout(5000)).dispatchCommitted(List.of(1L, 2L));
+        assertNull(TransactionSynchronizationManager.getResource(outboxFastPath));
+    }
+
+    @Test
+    public void publishAfterCommit_rolledBack_leavesNothingToDispatch() throws InterruptedException {
+        TransactionSynchronizationManager.initSynchronization();
+
+        outboxFastPath.publishAfterCommit(OutboxEvent.builder().id(3L).build());
+        TransactionSynchronizationManager.getSynchronizations().get(0)
+                .afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        Thread.sleep(100);
+        verify(outboxProcessor, never()).dispatchCommitted(any());
+    }
+
+    @Test
+    public void publishAfterCommit_withoutTransaction_isLeftToPoller() {
+        outboxFastPath.publishAfterCommit(OutboxEvent.builder().id(4L).build());
+
+        assertFalse(TransactionSynchronizationManager.isSynchronizationActive());
+        verifyNoInteractions(outboxProcessor);
+    }
+}
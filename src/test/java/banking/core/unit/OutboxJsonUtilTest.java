@@ -0,0 +1,43 @@
+package banking.core.unit;
+
+import banking.core.dto.events.SystemErrorEvent;
+import banking.core.dto.events.TransferEvent;
+import banking.core.service.publisher.util.OutboxJsonUtil;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class OutboxJsonUtilTest {
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final OutboxJsonUtil outboxJsonUtil = new OutboxJsonUtil(objectMapper);
+
+    @Test
+    public void toBytes_wrapsEventInEnvelope() throws Exception {
+        UUID transactionId = UUID.randomUUID();
+        TransferEvent event = new TransferEvent(transactionId, UUID.randomUUID(), UUID.randomUUID(),
+                UUID.randomUUID(), new BigDecimal("25.00"), "EUR", "2026-01-01T00:00:00");
+
+        JsonNode json = objectMapper.readTree(outboxJsonUtil.toBytes(event, "TRANSFER_COMPLETED"));
+
+        assertEquals("TRANSFER_COMPLETED", json.get("eventType").asText());
+        assertEquals(transactionId.toString(), json.get("data").get("transactionId").asText());
+        assertEquals(0, json.get("data").get("amount").decimalValue().compareTo(new BigDecimal("25.00")));
+        assertEquals("EUR", json.get("data").get("currency").asText());
+    }
+
+    @Test
+    public void toBytes_keepsNullFields() throws Exception {
+        SystemErrorEvent event = new SystemErrorEvent(UUID.randomUUID(), "core", "transfer", "boom", null, null,
+                "2026-01-01T00:00:00");
+
+        JsonNode json = objectMapper.readTree(outboxJsonUtil.toBytes(event, "SYSTEM_ERROR"));
+
+        assertTrue(json.get("data").get("exceptionClass").isNull());
+        assertEquals("boom", json.get("data").get("message").asText());
+    }
+}
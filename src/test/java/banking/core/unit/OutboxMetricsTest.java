@@ -0,0 +1,130 @@
+package banking.core.unit;
+
+import banking.core.model.entity.OutboxEvent;
+import banking.core.repository.OutboxEventRepository;
+import banking.core.repository.projection.OutboxBacklog;
+import banking.core.service.processor.OutboxMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class OutboxMetricsTest {
+    @Mock
+    private OutboxEventRepository outboxEventRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+    private OutboxMetrics outboxMetrics;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        outboxMetrics = new OutboxMetrics(outboxEventRepository, meterRegistry);
+        ReflectionTestUtils.invokeMethod(outboxMetrics, "start");
+    }
+
+    @Test
+    public void refreshBacklog_setsGaugesPerTopicAndStatus_andResetsDrainedOnes() {
+        LocalDateTime oldest = LocalDateTime.now().minusMinutes(2);
+        when(outboxEventRepository.countBacklog()).thenReturn(List.of(
+                backlog("banking.transfers", "PENDING", 5, oldest),
+                backlog("banking.transfers", "FAILED", 1, oldest.minusHours(1))));
+
+        outboxMetrics.refreshBacklog();
+
+        assertEquals(5, events("banking.transfers", "PENDING"));
+        assertEquals(0, events("banking.transfers", "IN_PROGRESS"));
+        assertEquals(1, events("banking.transfers", "FAILED"));
+        double age = meterRegistry.get("banking.outbox.oldest.pending.age").gauge().value();
+        assertTrue(age >= 119 && age < 180, "age=" + age);
+
+        when(outboxEventRepository.countBacklog()).thenReturn(List.of());
+
+        outboxMetrics.refreshBacklog();
+
+        assertEquals(0, events("banking.transfers", "PENDING"));
+        assertEquals(0, events("banking.transfers", "FAILED"));
+        assertEquals(0, meterRegistry.get("banking.outbox.oldest.pending.age").gauge().value());
+    }
+
+    @Test
+    public void refreshBacklog_flagsMissingPartitionForTomorrow() {
+        when(outboxEventRepository.countBacklog()).thenReturn(List.of());
+        when(outboxEventRepository.existsPartitionForTomorrow()).thenReturn(false, true);
+
+        outboxMetrics.refreshBacklog();
+        assertEquals(1, meterRegistry.get("banking.outbox.partitions.tomorrow.missing").gauge().value());
+
+        outboxMetrics.refreshBacklog();
+        assertEquals(0, meterRegistry.get("banking.outbox.partitions.tomorrow.missing").gauge().value());
+    }
+
+    @Test
+    public void recordSendOutcomes_countsByTopicAndResult_andTimesDelivery() {
+        OutboxEvent event = OutboxEvent.builder()
+                .id(1L)
+                .aggregateId(UUID.randomUUID())
+                .topic("banking.accounts")
+                .createdAt(LocalDateTime.now().minusSeconds(1))
+                .build();
+
+        outboxMetrics.recordSent(event);
+        outboxMetrics.recordSent(event);
+        outboxMetrics.recordFailed(event);
+        outboxMetrics.recordBatch("lane-2", 3);
+        outboxMetrics.recordBatch("lane-2", 7);
+
+        assertEquals(2, meterRegistry.get("banking.outbox.send")
+                .tags("topic", "banking.accounts", "result", "success").counter().count());
+        assertEquals(1, meterRegistry.get("banking.outbox.send")
+                .tags("topic", "banking.accounts", "result", "failure").counter().count());
+        assertEquals(2, meterRegistry.get("banking.outbox.publish.latency").tag("topic", "banking.accounts")
+                .timer().count());
+        assertEquals(10, meterRegistry.get("banking.outbox.batch.size").tag("source", "lane")
+                .summary().totalAmount());
+
+        OutboxMetrics.BatchStats lane = outboxMetrics.batches().get("lane-2");
+        assertEquals(2, lane.getBatches());
+        assertEquals(10, lane.getEvents());
+        assertEquals(7, lane.getLastSize());
+    }
+
+    private double events(String topic, String status) {
+        return meterRegistry.get("banking.outbox.events").tags("topic", topic, "status", status).gauge().value();
+    }
+
+    private static OutboxBacklog backlog(String topic, String status, long events, LocalDateTime oldestCreatedAt) {
+        return new OutboxBacklog() {
+            @Override
+            public String getTopic() {
+                return topic;
+            }
+
+            @Override
+            public String getStatus() {
+                return status;
+            }
+
+            @Override
+            public long getEvents() {
+                return events;
+            }
+
+            @Override
+            public LocalDateTime getOldestCreatedAt() {
+                return oldestCreatedAt;
+            }
+        };
+    }
+}
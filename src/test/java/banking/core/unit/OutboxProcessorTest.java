@@ -3,23 +3,35 @@ package banking.core.unit;
 import banking.core.model.entity.OutboxEvent;
 import banking.core.model.enums.EventStatus;
 import banking.core.repository.OutboxEventRepository;
+import banking.core.service.processor.OutboxAckWriter;
+import banking.core.service.processor.OutboxMetrics;
 import banking.core.service.processor.OutboxProcessor;
 import banking.core.service.processor.OutboxTxService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.KafkaException;
+import org.springframework.kafka.core.KafkaOperations;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.kafka.support.SendResult;
+import org.springframework.test.util.ReflectionTestUtils;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicReference;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 
@@ -34,11 +46,30 @@ public class OutboxProcessorTest {
     private OutboxTxService outboxTxService;
 
     @Mock
-    private KafkaTemplate<String, String> kafkaTemplate;
+    private OutboxAckWriter outboxAckWriter;
+
+    @Mock
+    private OutboxMetrics outboxMetrics;
+
+    @Mock
+    private KafkaTemplate<String, byte[]> kafkaTemplate;
 
     @InjectMocks
     private OutboxProcessor outboxProcessor;
 
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(outboxProcessor, "batchSize", 100);
+        ReflectionTestUtils.setField(outboxProcessor, "lanes", 1);
+        ReflectionTestUtils.setField(outboxProcessor, "maxRetries", 3);
+        ReflectionTestUtils.invokeMethod(outboxProcessor, "start");
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReflectionTestUtils.invokeMethod(outboxProcessor, "stop");
+    }
+
     @Test
     public void processOutboxMessages_success_marksSent() {
         UUID aggregateId = UUID.randomUUID();
@@ -46,44 +77,247 @@ public class OutboxProcessorTest {
         OutboxEvent event = createEvent(1L, "TRANSACTION", aggregateId, "banking.transfers",
                 createPayload("TRANSFER_COMPLETED"));
 
-        when(outboxEventRepository.findTop100ByStatusAndRetryCountLessThanOrderByCreatedAtAsc(eq(EventStatus.PENDING),
-                anyInt())).thenReturn(List.of(event));
-
-        when(outboxTxService.tryMarkInProgress(1L)).thenReturn(true);
-        when(outboxTxService.tryMarkSent(1L)).thenReturn(true);
+        when(outboxTxService.claimLane(0, 1, 100, 3)).thenReturn(List.of(event));
 
-        when(kafkaTemplate.send(eq("banking.transfers"), eq(aggregateId.toString()), anyString()))
+        when(kafkaTemplate.send(eq("banking.transfers"), eq(aggregateId.toString()), any(byte[].class)))
                 .thenReturn(CompletableFuture.completedFuture(null));
 
         outboxProcessor.processOutboxMessages();
 
-        verify(outboxTxService).tryMarkInProgress(1L);
-        verify(kafkaTemplate).send(eq("banking.transfers"), eq(aggregateId.toString()), anyString());
-        verify(outboxTxService).tryMarkSent(1L);
+        verify(kafkaTemplate).send(eq("banking.transfers"), eq(aggregateId.toString()), any(byte[].class));
+        verify(outboxAckWriter).reserve();
+        verify(outboxAckWriter).sent(1L);
+        verifyNoMoreInteractions(outboxAckWriter);
+        verify(outboxMetrics).recordBatch("lane-0", 1);
+        verify(outboxMetrics).recordSent(event);
     }
 
     @Test
-    public void processOutboxMessages_failure_callsHandleFailure() {
+    public void processOutboxMessages_failure_reportsFailedEvent() {
         UUID aggregateId = UUID.randomUUID();
 
         OutboxEvent event = createEvent(2L, "ERROR", aggregateId, "system.errors",
                 createPayload("SYSTEM_ERROR"));
 
-        when(outboxEventRepository.findTop100ByStatusAndRetryCountLessThanOrderByCreatedAtAsc(eq(EventStatus.PENDING),
-                anyInt())).thenReturn(List.of(event));
+        when(outboxTxService.claimLane(0, 1, 100, 3)).thenReturn(List.of(event));
 
-        when(outboxTxService.tryMarkInProgress(2L)).thenReturn(true);
-
-        CompletableFuture<SendResult<String, String>> failed = CompletableFuture
+        CompletableFuture<SendResult<String, byte[]>> failed = CompletableFuture
                 .failedFuture(new RuntimeException("kafka down"));
 
-        when(kafkaTemplate.send(eq("system.errors"), eq(aggregateId.toString()), anyString()))
+        when(kafkaTemplate.send(eq("system.errors"), eq(aggregateId.toString()), any(byte[].class)))
                 .thenReturn(failed);
 
         outboxProcessor.processOutboxMessages();
 
-        verify(outboxTxService).tryMarkInProgress(2L);
-        verify(outboxTxService).handleFailure(eq(2L), eq(3), contains("kafka down"));
+        verify(outboxAckWriter).failed(event);
+        verify(outboxAckWriter, never()).sent(any());
+        verify(outboxMetrics).recordFailed(event);
+        assertTrue(event.getErrorReason().contains("kafka down"));
+    }
+
+    @Test
+    public void processOutboxMessages_mixedResults_handedToAckWriter() {
+        OutboxEvent sent = createEvent(3L, "TRANSACTION", UUID.randomUUID(), "banking.transfers",
+                createPayload("TRANSFER_COMPLETED"));
+        OutboxEvent failed = createEvent(4L, "TRANSACTION", UUID.randomUUID(), "banking.transactions",
+                createPayload("DEPOSIT_COMPLETED"));
+
+        when(outboxTxService.claimLane(0, 1, 100, 3)).thenReturn(List.of(sent, failed));
+        when(kafkaTemplate.send(eq("banking.transfers"), anyString(), any(byte[].class)))
+                .thenReturn(CompletableFuture.completedFuture(null));
+        when(kafkaTemplate.send(eq("banking.transactions"), anyString(), any(byte[].class)))
+                .thenReturn(CompletableFuture.failedFuture(new RuntimeException("timeout")));
+
+        outboxProcessor.processOutboxMessages();
+
+        verify(outboxAckWriter, times(2)).reserve();
+        verify(outboxAckWriter).sent(3L);
+        verify(outboxAckWriter).failed(failed);
+        verify(outboxTxService, never()).completeBatch(any(), any(), any(), anyInt());
+    }
+
+    @Test
+    public void processOutboxMessages_nothingClaimed_doesNotAcknowledge() {
+        when(outboxTxService.claimLane(0, 1, 100, 3)).thenReturn(List.of());
+
+        outboxProcessor.processOutboxMessages();
+
+        verifyNoInteractions(kafkaTemplate);
+        verifyNoInteractions(outboxAckWriter);
+    }
+
+    @Test
+    public void processOutboxMessages_failedEvent_holdsBackLaterEventsOfSameAggregate() {
+        UUID aggregateId = UUID.randomUUID();
+        OutboxEvent created = createEvent(5L, "BANK_ACCOUNT", aggregateId, "banking.accounts",
+                createPayload("ACCOUNT_CREATED"));
+        OutboxEvent closed = createEvent(6L, "BANK_ACCOUNT", aggregateId, "banking.accounts",
+                createPayload("ACCOUNT_CLOSED"));
+
+        when(outboxTxService.claimLane(0, 1, 100, 3)).thenReturn(List.of(created, closed));
+        when(kafkaTemplate.send(eq("banking.accounts"), eq(aggregateId.toString()),
+                payloadContaining("ACCOUNT_CREATED")))
+                .thenReturn(CompletableFuture.failedFuture(new RuntimeException("kafka down")));
+
+        outboxProcessor.processOutboxMessages();
+
+        verify(kafkaTemplate, never()).send(anyString(), anyString(), payloadContaining("ACCOUNT_CLOSED"));
+        verify(outboxAckWriter).failed(created);
+        verify(outboxAckWriter).released(6L);
+        verify(outboxAckWriter, never()).sent(any());
+    }
+
+    @Test
+    public void processOutboxMessages_sendsSameAggregateInOrder() {
+        UUID aggregateId = UUID.randomUUID();
+        OutboxEvent created = createEvent(7L, "BANK_ACCOUNT", aggregateId, "banking.accounts",
+                createPayload("ACCOUNT_CREATED"));
+        OutboxEvent closed = createEvent(8L, "BANK_ACCOUNT", aggregateId, "banking.accounts",
+                createPayload("ACCOUNT_CLOSED"));
+
+        CompletableFuture<SendResult<String, byte[]>> firstAck = new CompletableFuture<>();
+        when(outboxTxService.claimLane(0, 1, 100, 3)).thenReturn(List.of(created, closed));
+        when(kafkaTemplate.send(eq("banking.accounts"), eq(aggregateId.toString()),
+                payloadContaining("ACCOUNT_CREATED")))
+                .thenAnswer(invocation -> {
+                    verify(kafkaTemplate, never())
+                            .send(anyString(), anyString(), payloadContaining("ACCOUNT_CLOSED"));
+                    firstAck.complete(null);
+                    return firstAck;
+                });
+        when(kafkaTemplate.send(eq("banking.accounts"), eq(aggregateId.toString()),
+                payloadContaining("ACCOUNT_CLOSED")))
+                .thenReturn(CompletableFuture.completedFuture(null));
+
+        outboxProcessor.processOutboxMessages();
+
+        var inOrder = inOrder(kafkaTemplate);
+        inOrder.verify(kafkaTemplate).send(anyString(), anyString(), payloadContaining("ACCOUNT_CREATED"));
+        inOrder.verify(kafkaTemplate).send(anyString(), anyString(), payloadContaining("ACCOUNT_CLOSED"));
+        var ackOrder = inOrder(outboxAckWriter);
+        ackOrder.verify(outboxAckWriter).sent(7L);
+        ackOrder.verify(outboxAckWriter).sent(8L);
+    }
+
+    @Test
+    public void dispatchCommitted_sendsClaimedEventsAndMarksSent() {
+        UUID aggregateId = UUID.randomUUID();
+        OutboxEvent event = createEvent(9L, "TRANSACTION", aggregateId, "banking.transactions",
+                createPayload("DEPOSIT_COMPLETED"));
+
+        when(outboxTxService.claimCommitted(List.of(9L, 10L), 1, 3)).thenReturn(List.of(event));
+        when(kafkaTemplate.send(eq("banking.transactions"), eq(aggregateId.toString()), any(byte[].class)))
+                .thenReturn(CompletableFuture.completedFuture(null));
+
+        assertEquals(1, outboxProcessor.dispatchCommitted(List.of(9L, 10L)));
+        verify(outboxAckWriter).sent(9L);
+        verify(outboxTxService, never()).claimLane(anyInt(), anyInt(), anyInt(), anyInt());
+    }
+
+    @Test
+    public void processOutboxMessages_nextEventOfAggregate_isNotSentFromProducerThread() {
+        UUID aggregateId = UUID.randomUUID();
+        OutboxEvent first = createEvent(21L, "BANK_ACCOUNT", aggregateId, "banking.accounts",
+                createPayload("ACCOUNT_CREATED"));
+        OutboxEvent second = createEvent(22L, "BANK_ACCOUNT", aggregateId, "banking.accounts",
+                createPayload("ACCOUNT_CLOSED"));
+        CompletableFuture<SendResult<String, byte[]>> firstAck = new CompletableFuture<>();
+        AtomicReference<String> secondSentFrom = new AtomicReference<>();
+
+        when(outboxTxService.claimLane(0, 1, 100, 3)).thenReturn(List.of(first, second));
+        when(kafkaTemplate.send(eq("banking.accounts"), eq(aggregateId.toString()), any(byte[].class)))
+                .thenReturn(firstAck)
+                .thenAnswer(invocation -> {
+                    secondSentFrom.set(Thread.currentThread().getName());
+                    return CompletableFuture.completedFuture(null);
+                });
+        Thread producerThread = new Thread(() -> {
+            sleep(100);
+            firstAck.complete(null);
+        }, "kafka-producer-network-thread");
+        producerThread.start();
+
+        outboxProcessor.processOutboxMessages();
+
+        assertTrue(secondSentFrom.get().startsWith("outbox-send-"), secondSentFrom.get());
+        verify(outboxAckWriter).sent(21L);
+        verify(outboxAckWriter).sent(22L);
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void processOutboxMessages_transactional_publishesBatchInOneKafkaTransaction() {
+        ReflectionTestUtils.setField(outboxProcessor, "transactional", true);
+        OutboxEvent first = createEvent(11L, "TRANSACTION", UUID.randomUUID(), "banking.transactions",
+                createPayload("DEPOSIT_COMPLETED"));
+        OutboxEvent second = createEvent(12L, "TRANSACTION", UUID.randomUUID(), "banking.transactions",
+                createPayload("WITHDRAWAL_COMPLETED"));
+        KafkaOperations<String, byte[]> operations = mock(KafkaOperations.class);
+
+        when(outboxTxService.claimLane(0, 1, 100, 3)).thenReturn(List.of(first, second));
+        when(kafkaTemplate.executeInTransaction(any())).thenAnswer(invocation ->
+                invocation.<KafkaOperations.OperationsCallback<String, byte[], Object>>getArgument(0)
+                        .doInOperations(operations));
+
+        outboxProcessor.processOutboxMessages();
+
+        verify(operations, times(2)).send(eq("banking.transactions"), anyString(), any(byte[].class));
+        verify(kafkaTemplate, never()).send(anyString(), anyString(), any(byte[].class));
+        verify(outboxTxService).completeBatch(List.of(11L, 12L), List.of(), List.of(), 3);
+        verify(outboxTxService).forget(List.of(11L, 12L));
+        verifyNoInteractions(outboxAckWriter);
+    }
+
+    @Test
+    public void processOutboxMessages_transactional_ackNotWritten_stopsRenewingLeases() {
+        ReflectionTestUtils.setField(outboxProcessor, "transactional", true);
+        OutboxEvent event = createEvent(16L, "TRANSACTION", UUID.randomUUID(), "banking.transactions",
+                createPayload("DEPOSIT_COMPLETED"));
+
+        when(outboxTxService.claimLane(0, 1, 100, 3)).thenReturn(List.of(event));
+        when(outboxTxService.completeBatch(List.of(16L), List.of(), List.of(), 3))
+                .thenThrow(new IllegalStateException("db down"));
+
+        assertThrows(IllegalStateException.class, () -> outboxProcessor.processOutboxMessages());
+
+        verify(outboxTxService).forget(List.of(16L));
+    }
+
+    @Test
+    public void processOutboxMessages_transactionAborted_retriesFirstEventOfEachAggregate() {
+        ReflectionTestUtils.setField(outboxProcessor, "transactional", true);
+        UUID aggregateId = UUID.randomUUID();
+        OutboxEvent created = createEvent(13L, "BANK_ACCOUNT", aggregateId, "banking.accounts",
+                createPayload("ACCOUNT_CREATED"));
+        OutboxEvent closed = createEvent(14L, "BANK_ACCOUNT", aggregateId, "banking.accounts",
+                createPayload("ACCOUNT_CLOSED"));
+        OutboxEvent other = createEvent(15L, "TRANSACTION", UUID.randomUUID(), "banking.transactions",
+                createPayload("DEPOSIT_COMPLETED"));
+
+        when(outboxTxService.claimLane(0, 1, 100, 3)).thenReturn(List.of(created, closed, other));
+        when(kafkaTemplate.executeInTransaction(any())).thenThrow(new KafkaException("transaction aborted"));
+
+        outboxProcessor.processOutboxMessages();
+
+        verify(outboxTxService).completeBatch(List.of(), List.of(created, other), List.of(14L), 3);
+        assertEquals("transaction aborted", created.getErrorReason());
+    }
+
+    @Test
+    public void createPartitions_createsPartitionsAhead() {
+        ReflectionTestUtils.setField(outboxProcessor, "premakeDays", 3);
+
+        outboxProcessor.createPartitions();
+
+        verify(outboxEventRepository).createPartitions(3);
     }
 
     private static OutboxEvent createEvent(Long id, String aggregateType, UUID aggregateId, String topic, ObjectNode payload) {
@@ -92,13 +326,17 @@ public class OutboxProcessorTest {
                 .aggregateType(aggregateType)
                 .aggregateId(aggregateId)
                 .topic(topic)
-                .payload(payload)
+                .payload(payload.toString().getBytes(StandardCharsets.UTF_8))
                 .status(EventStatus.PENDING)
                 .retryCount(0)
                 .createdAt(LocalDateTime.now())
                 .build();
     }
 
+    private static byte[] payloadContaining(String text) {
+        return argThat(payload -> payload != null && new String(payload, StandardCharsets.UTF_8).contains(text));
+    }
+
     private static ObjectNode createPayload(String eventType) {
         ObjectNode node = MAPPER.createObjectNode();
         node.put("eventType", eventType);
@@ -4,14 +4,16 @@ import banking.core.model.entity.OutboxEvent;
 import banking.core.model.enums.EventStatus;
 import banking.core.repository.OutboxEventRepository;
 import banking.core.service.processor.OutboxTxService;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.time.LocalDateTime;
-import java.util.Optional;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -24,111 +26,153 @@ public class OutboxTxServiceTest {
     @InjectMocks
     private OutboxTxService outboxTxService;
 
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(outboxTxService, "initialBackoffMs", 1000L);
+        ReflectionTestUtils.setField(outboxTxService, "maxBackoffMs", 300000L);
+        ReflectionTestUtils.setField(outboxTxService, "leaseMs", 30000L);
+        ReflectionTestUtils.setField(outboxTxService, "owner", "node-1");
+    }
+
     @Test
-    public void handleFailure_whenMaxRetriesReached_marksFailed() {
-        long id = 10L;
+    public void completeBatch_whenMaxRetriesReached_marksFailed() {
+        OutboxEvent event = failedEvent(10L, 2, "error");
 
-        OutboxEvent event = OutboxEvent.builder()
-                .id(id)
-                .retryCount(2)
-                .status(EventStatus.IN_PROGRESS)
-                .build();
+        outboxTxService.completeBatch(List.of(), List.of(event), List.of(), 3);
+
+        verify(outboxEventRepository).markFailedOrRetry(List.of(10L), "FAILED", "error", 1000L, 300000L, "node-1");
+        verify(outboxEventRepository, never()).markSent(any(), any(), any(), any(), any());
+    }
 
-        when(outboxEventRepository.findById(id)).thenReturn(Optional.of(event));
+    @Test
+    public void completeBatch_whenStillCanRetry_marksPending() {
+        OutboxEvent event = failedEvent(11L, 0, "error");
 
-        outboxTxService.handleFailure(id, 3, "error");
+        outboxTxService.completeBatch(List.of(), List.of(event), List.of(), 3);
 
-        verify(outboxEventRepository).markFailedOrRetry(eq(id), eq(EventStatus.IN_PROGRESS), eq(EventStatus.FAILED),
-                eq("error"));
+        verify(outboxEventRepository).markFailedOrRetry(List.of(11L), "PENDING", "error", 1000L, 300000L, "node-1");
     }
 
     @Test
-    public void handleFailure_whenStillCanRetry_marksPending() {
-        long id = 11L;
+    public void completeBatch_groupsFailuresByOutcomeAndError() {
+        OutboxEvent first = failedEvent(1L, 0, "kafka down");
+        OutboxEvent second = failedEvent(2L, 1, "kafka down");
+        OutboxEvent exhausted = failedEvent(3L, 2, "kafka down");
+        OutboxEvent other = failedEvent(4L, 0, "timeout");
+
+        when(outboxEventRepository.markFailedOrRetry(anyCollection(), anyString(), anyString(), anyLong(), anyLong(),
+                anyString()))
+                .thenReturn(1);
+        when(outboxEventRepository.markFailedOrRetry(eq(List.of(1L, 2L)), anyString(), anyString(), anyLong(),
+                anyLong(), anyString())).thenReturn(2);
+
+        int updated = outboxTxService.completeBatch(List.of(), List.of(first, second, exhausted, other), List.of(),
+                3);
+
+        assertEquals(4, updated);
+        verify(outboxEventRepository).markFailedOrRetry(List.of(1L, 2L), "PENDING", "kafka down", 1000L, 300000L,
+                "node-1");
+        verify(outboxEventRepository).markFailedOrRetry(List.of(3L), "FAILED", "kafka down", 1000L, 300000L,
+                "node-1");
+        verify(outboxEventRepository).markFailedOrRetry(List.of(4L), "PENDING", "timeout", 1000L, 300000L, "node-1");
+    }
 
-        OutboxEvent event = OutboxEvent.builder()
-                .id(id)
-                .retryCount(0)
-                .status(EventStatus.IN_PROGRESS)
-                .build();
+    @Test
+    public void completeBatch_marksSentInOneUpdate() {
+        when(outboxEventRepository.markSent(eq(List.of(5L, 6L)), eq(EventStatus.IN_PROGRESS), eq(EventStatus.SENT),
+                any(LocalDateTime.class), eq("node-1"))).thenReturn(2);
 
-        when(outboxEventRepository.findById(id)).thenReturn(Optional.of(event));
+        int updated = outboxTxService.completeBatch(List.of(5L, 6L), List.of(), List.of(), 3);
 
-        outboxTxService.handleFailure(id, 3, "error");
+        assertEquals(2, updated);
+        verify(outboxEventRepository, never())
+                .markFailedOrRetry(any(), any(), any(), anyLong(), anyLong(), anyString());
+    }
+
+    @Test
+    public void completeBatch_nothingToAcknowledge_doesNothing() {
+        assertEquals(0, outboxTxService.completeBatch(List.of(), List.of(), List.of(), 3));
 
-        verify(outboxEventRepository).markFailedOrRetry(eq(id), eq(EventStatus.IN_PROGRESS), eq(EventStatus.PENDING),
-                eq("error"));
+        verifyNoInteractions(outboxEventRepository);
     }
 
     @Test
-    public void tryMarkInProgress_returnsTrue_whenUpdated() {
-        when(outboxEventRepository.markInProgress(1L, EventStatus.PENDING, EventStatus.IN_PROGRESS))
+    public void completeBatch_releasesHeldBackEvents() {
+        when(outboxEventRepository.release(List.of(7L), EventStatus.IN_PROGRESS, EventStatus.PENDING, "node-1"))
                 .thenReturn(1);
 
-        boolean ok = outboxTxService.tryMarkInProgress(1L);
-
-        assertTrue(ok);
-        verify(outboxEventRepository).markInProgress(1L, EventStatus.PENDING, EventStatus.IN_PROGRESS);
+        assertEquals(1, outboxTxService.completeBatch(List.of(), List.of(), List.of(7L), 3));
     }
 
     @Test
-    public void handleFailure_whenEventNotFound_doesNothing() {
-        long id = 12L;
+    public void claimLane_returnsEventsInCreationOrder() {
+        LocalDateTime now = LocalDateTime.now();
+        OutboxEvent newer = OutboxEvent.builder().id(2L).createdAt(now).build();
+        OutboxEvent older = OutboxEvent.builder().id(1L).createdAt(now.minusSeconds(1)).build();
 
-        when(outboxEventRepository.findById(id)).thenReturn(Optional.empty());
+        when(outboxEventRepository.tryLockLane(1)).thenReturn(true);
+        when(outboxEventRepository.claimPending(1, 4, 100, 3, "node-1", 30000L)).thenReturn(List.of(newer, older));
 
-        assertDoesNotThrow(() -> outboxTxService.handleFailure(id, 3, "error"));
+        List<OutboxEvent> claimed = outboxTxService.claimLane(1, 4, 100, 3);
 
-        verify(outboxEventRepository, never()).markFailedOrRetry(anyLong(), any(), any(), anyString());
+        assertEquals(List.of(older, newer), claimed);
     }
 
     @Test
-    public void tryMarkInProgress_returnsFalse_whenNotUpdated() {
-        when(outboxEventRepository.markInProgress(1L, EventStatus.PENDING, EventStatus.IN_PROGRESS))
-                .thenReturn(0);
+    public void claimLane_laneBusy_claimsNothing() {
+        when(outboxEventRepository.tryLockLane(1)).thenReturn(false);
 
-        boolean ok = outboxTxService.tryMarkInProgress(1L);
-
-        assertFalse(ok);
-        verify(outboxEventRepository).markInProgress(1L, EventStatus.PENDING, EventStatus.IN_PROGRESS);
+        assertTrue(outboxTxService.claimLane(1, 4, 100, 3).isEmpty());
+        verify(outboxEventRepository, never())
+                .claimPending(anyInt(), anyInt(), anyInt(), anyInt(), anyString(), anyLong());
     }
 
     @Test
-    public void tryMarkSent_returnsTrue_whenUpdated() {
-        when(outboxEventRepository.markSent(eq(5L), eq(EventStatus.IN_PROGRESS), eq(EventStatus.SENT),
-                any(LocalDateTime.class))).thenReturn(1);
+    public void claimCommitted_claimsOnlyInLanesItCouldLock() {
+        List<Long> ids = List.of(1L, 2L, 3L);
+        OutboxEvent event = OutboxEvent.builder().id(1L).createdAt(LocalDateTime.now()).build();
 
-        boolean ok = outboxTxService.tryMarkSent(5L);
+        when(outboxEventRepository.findLanes(ids, 4)).thenReturn(List.of(0, 2));
+        when(outboxEventRepository.tryLockLane(0)).thenReturn(false);
+        when(outboxEventRepository.tryLockLane(2)).thenReturn(true);
+        when(outboxEventRepository.claimByIds(ids, 4, List.of(2), 3, "node-1", 30000L)).thenReturn(List.of(event));
 
-        assertTrue(ok);
-        verify(outboxEventRepository).markSent(eq(5L), eq(EventStatus.IN_PROGRESS), eq(EventStatus.SENT),
-                any(LocalDateTime.class));
+        assertEquals(List.of(event), outboxTxService.claimCommitted(ids, 4, 3));
     }
 
     @Test
-    public void tryMarkSent_returnsFalse_whenNotUpdated() {
-        when(outboxEventRepository.markSent(eq(5L), eq(EventStatus.IN_PROGRESS), eq(EventStatus.SENT),
-                any(LocalDateTime.class)))
-                .thenReturn(0);
-
-        boolean ok = outboxTxService.tryMarkSent(5L);
-
-        assertFalse(ok);
-        verify(outboxEventRepository).markSent(eq(5L), eq(EventStatus.IN_PROGRESS), eq(EventStatus.SENT),
-                any(LocalDateTime.class));
+    public void renewLeases_extendsOnlyEventsStillHeld() {
+        LocalDateTime now = LocalDateTime.now();
+        when(outboxEventRepository.tryLockLane(1)).thenReturn(true);
+        when(outboxEventRepository.claimPending(1, 4, 100, 3, "node-1", 30000L)).thenReturn(List.of(
+                OutboxEvent.builder().id(1L).createdAt(now).build(),
+                OutboxEvent.builder().id(2L).createdAt(now).build()));
+        outboxTxService.claimLane(1, 4, 100, 3);
+        outboxTxService.forget(List.of(1L));
+        when(outboxEventRepository.renewLeases(List.of(2L), "node-1", 30000L)).thenReturn(1);
+
+        assertEquals(1, outboxTxService.renewLeases());
     }
 
     @Test
-    public void rollback_delegatesToRepository() {
-        LocalDateTime cutoff = LocalDateTime.now().minusMinutes(30);
+    public void renewLeases_nothingHeld_doesNothing() {
+        assertEquals(0, outboxTxService.renewLeases());
+        verifyNoInteractions(outboxEventRepository);
+    }
 
-        when(outboxEventRepository.rollbackInCaseOfUnexpectedFailure(EventStatus.PENDING, EventStatus.IN_PROGRESS,
-                cutoff)).thenReturn(7);
+    @Test
+    public void reapExpiredLeases_delegatesToRepository() {
+        when(outboxEventRepository.reapExpiredLeases()).thenReturn(7);
 
-        int result = outboxTxService.rollback(cutoff);
+        assertEquals(7, outboxTxService.reapExpiredLeases());
+    }
 
-        assertEquals(7, result);
-        verify(outboxEventRepository).rollbackInCaseOfUnexpectedFailure(EventStatus.PENDING, EventStatus.IN_PROGRESS,
-                cutoff);
+    private static OutboxEvent failedEvent(Long id, int retryCount, String error) {
+        return OutboxEvent.builder()
+                .id(id)
+                .retryCount(retryCount)
+                .status(EventStatus.IN_PROGRESS)
+                .errorReason(error)
+                .build();
     }
 }
@@ -0,0 +1,94 @@
+package banking.core.unit;
+
+import banking.core.service.concurrency.RetryingTransactionExecutor;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.sql.SQLException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+
+public class RetryingTransactionExecutorTest {
+    private PlatformTransactionManager transactionManager;
+    private SimpleMeterRegistry meterRegistry;
+    private RetryingTransactionExecutor executor;
+
+    @BeforeEach
+    void setUp() {
+        transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenAnswer(invocation -> new SimpleTransactionStatus());
+        meterRegistry = new SimpleMeterRegistry();
+
+        executor = new RetryingTransactionExecutor(transactionManager, meterRegistry);
+        ReflectionTestUtils.setField(executor, "isolation", Isolation.READ_COMMITTED);
+        ReflectionTestUtils.setField(executor, "maxAttempts", 3);
+        ReflectionTestUtils.setField(executor, "initialBackoffMs", 1L);
+        ReflectionTestUtils.setField(executor, "maxBackoffMs", 2L);
+    }
+
+    @Test
+    public void execute_usesConfiguredIsolation() {
+        assertEquals("ok", executor.execute("transfer", () -> "ok"));
+
+        verify(transactionManager).getTransaction(argThat(definition ->
+                definition.getIsolationLevel() == TransactionDefinition.ISOLATION_READ_COMMITTED));
+    }
+
+    @Test
+    public void execute_serializationFailure_retriesAndSucceeds() {
+        AtomicInteger calls = new AtomicInteger();
+
+        String result = executor.execute("transfer", () -> {
+            if (calls.incrementAndGet() < 3) {
+                throw transientFailure("40001");
+            }
+            return "ok";
+        });
+
+        assertEquals("ok", result);
+        assertEquals(3, calls.get());
+        assertEquals(2.0, meterRegistry.counter("banking.tx.retries", "operation", "transfer",
+                "reason", "serialization_failure").count());
+    }
+
+    @Test
+    public void execute_deadlock_abortsAfterMaxAttempts() {
+        AtomicInteger calls = new AtomicInteger();
+
+        assertThrows(CannotAcquireLockException.class, () -> executor.execute("transfer", () -> {
+            calls.incrementAndGet();
+            throw transientFailure("40P01");
+        }));
+
+        assertEquals(3, calls.get());
+        assertEquals(1.0, meterRegistry.counter("banking.tx.aborts", "operation", "transfer",
+                "reason", "deadlock").count());
+    }
+
+    @Test
+    public void execute_businessFailure_isNotRetried() {
+        AtomicInteger calls = new AtomicInteger();
+
+        assertThrows(IllegalStateException.class, () -> executor.execute("transfer", () -> {
+            calls.incrementAndGet();
+            throw new IllegalStateException("Insufficient funds");
+        }));
+
+        assertEquals(1, calls.get());
+    }
+
+    private static CannotAcquireLockException transientFailure(String sqlState) {
+        return new CannotAcquireLockException("conflict", new SQLException("conflict", sqlState));
+    }
+}
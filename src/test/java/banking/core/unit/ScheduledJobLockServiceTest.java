@@ -0,0 +1,108 @@
+package banking.core.unit;
+
+import banking.core.repository.ScheduledJobLockRepository;
+import banking.core.service.concurrency.RetryingTransactionExecutor;
+import banking.core.service.scheduler.ScheduledJobLockService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ScheduledJobLockServiceTest {
+    @Mock
+    private ScheduledJobLockRepository scheduledJobLockRepository;
+
+    @Mock
+    private RetryingTransactionExecutor retryingTransactionExecutor;
+
+    private ScheduledJobLockService scheduledJobLockService;
+    private String owner;
+
+    @BeforeEach
+    void setUp() {
+        scheduledJobLockService = new ScheduledJobLockService(scheduledJobLockRepository, retryingTransactionExecutor);
+        ReflectionTestUtils.setField(scheduledJobLockService, "leaseMs", 60000L);
+        ReflectionTestUtils.setField(scheduledJobLockService, "minHoldMs", 30000L);
+        ReflectionTestUtils.invokeMethod(scheduledJobLockService, "start");
+        owner = scheduledJobLockService.getOwner();
+        when(retryingTransactionExecutor.execute(eq("job-lock"), any()))
+                .thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(1).get());
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReflectionTestUtils.invokeMethod(scheduledJobLockService, "stop");
+    }
+
+    @Test
+    public void runExclusive_acquired_runsJobAndReleasesWithMinimumHold() {
+        when(scheduledJobLockRepository.tryAcquire("nightly", owner, 60000L)).thenReturn(1);
+        AtomicBoolean ran = new AtomicBoolean();
+
+        assertTrue(scheduledJobLockService.runExclusive("nightly", () -> ran.set(true)));
+
+        assertTrue(ran.get());
+        verify(scheduledJobLockRepository).release("nightly", owner, 30000L);
+        verify(scheduledJobLockRepository, never()).delete(any(), any());
+    }
+
+    @Test
+    public void runExclusive_heldElsewhere_skipsJob() {
+        when(scheduledJobLockRepository.tryAcquire("nightly", owner, 60000L)).thenReturn(0);
+        AtomicBoolean ran = new AtomicBoolean();
+
+        assertFalse(scheduledJobLockService.runExclusive("nightly", () -> ran.set(true)));
+
+        assertFalse(ran.get());
+        verify(scheduledJobLockRepository, never()).release(any(), any(), anyLong());
+    }
+
+    @Test
+    public void runExclusive_jobFails_stillReleasesLease() {
+        when(scheduledJobLockRepository.tryAcquire("nightly", owner, 60000L)).thenReturn(1);
+
+        assertThrows(IllegalStateException.class, () -> scheduledJobLockService.runExclusive("nightly", () -> {
+            throw new IllegalStateException("boom");
+        }));
+
+        verify(scheduledJobLockRepository).release("nightly", owner, 30000L);
+    }
+
+    @Test
+    public void callShard_acquired_returnsResultAndDropsLease() {
+        when(scheduledJobLockRepository.tryAcquire("job:3", owner, 60000L)).thenReturn(1);
+
+        assertEquals(Optional.of(42), scheduledJobLockService.callShard("job:3", () -> 42));
+
+        verify(scheduledJobLockRepository).delete("job:3", owner);
+    }
+
+    @Test
+    public void renewsLeaseWhileJobRuns() {
+        ReflectionTestUtils.setField(scheduledJobLockService, "leaseMs", 30L);
+        when(scheduledJobLockRepository.tryAcquire("long", owner, 30L)).thenReturn(1);
+        when(scheduledJobLockRepository.renew("long", owner, 30L)).thenReturn(1);
+
+        scheduledJobLockService.runExclusive("long", () -> {
+            try {
+                Thread.sleep(200);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+
+        verify(scheduledJobLockRepository, atLeast(2)).renew("long", owner, 30L);
+    }
+}
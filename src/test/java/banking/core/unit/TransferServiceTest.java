@@ -0,0 +1,139 @@
+package banking.core.unit;
+
+import banking.core.dto.requests.TransferRequest;
+import banking.core.error.exception.BankAccountNotFoundException;
+import banking.core.error.exception.TransferBusinessException;
+import banking.core.model.enums.Currency;
+import banking.core.model.enums.TransferExecutionMode;
+import banking.core.repository.BankAccountRepository;
+import banking.core.repository.TransactionRepository;
+import banking.core.repository.projection.AccountMetadata;
+import banking.core.repository.projection.TransferProcedureResult;
+import banking.core.service.BalanceStripeService;
+import banking.core.service.TransferService;
+import banking.core.service.cache.AccountMetadataCache;
+import banking.core.service.concurrency.RetryingTransactionExecutor;
+import banking.core.service.publisher.TransferOutboxPublisher;
+import banking.core.service.validator.TransferValidator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class TransferServiceTest {
+    @Mock
+    private BankAccountRepository bankAccountRepository;
+
+    @Mock
+    private TransactionRepository transactionRepository;
+
+    @Mock
+    private TransferValidator transferValidator;
+
+    @Mock
+    private TransferOutboxPublisher transferOutboxPublisher;
+
+    @Mock
+    private BalanceStripeService balanceStripeService;
+
+    @Mock
+    private RetryingTransactionExecutor retryingTransactionExecutor;
+
+    @Mock
+    private AccountMetadataCache accountMetadataCache;
+
+    @InjectMocks
+    private TransferService transferService;
+
+    private final UUID userId = UUID.randomUUID();
+    private final TransferRequest request = new TransferRequest(UUID.randomUUID(), UUID.randomUUID(),
+            new BigDecimal("10.00"));
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(transferService, "executionMode", TransferExecutionMode.STORED_PROCEDURE);
+        ReflectionTestUtils.setField(transferService, "topicTransfers", "banking.transfers");
+        lenient().when(retryingTransactionExecutor.execute(eq("transfer"), any()))
+                .thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(1).get());
+        lenient().when(accountMetadataCache.find(request.getFromAccountId()))
+                .thenReturn(Optional.of(metadata(request.getFromAccountId(), userId)));
+        lenient().when(accountMetadataCache.find(request.getToAccountId()))
+                .thenReturn(Optional.of(metadata(request.getToAccountId(), UUID.randomUUID())));
+    }
+
+    @Test
+    public void transfer_rejectedByCachedMetadata_neverStartsTransaction() {
+        doThrow(new TransferBusinessException("Bank Accounts must have same currency")).when(transferValidator)
+                .validateImmutableAttributes(eq(userId), any(AccountMetadata.class), any(AccountMetadata.class));
+
+        assertThrows(TransferBusinessException.class, () -> transferService.transfer(userId, request));
+        verifyNoInteractions(retryingTransactionExecutor, transactionRepository, bankAccountRepository);
+    }
+
+    @Test
+    public void transfer_unknownDestination_rejectedBeforeLocking() {
+        when(accountMetadataCache.find(request.getToAccountId())).thenReturn(Optional.empty());
+
+        assertThrows(BankAccountNotFoundException.class, () -> transferService.transfer(userId, request));
+        verifyNoInteractions(retryingTransactionExecutor, transactionRepository, bankAccountRepository);
+    }
+
+    private AccountMetadata metadata(UUID accountId, UUID ownerId) {
+        return new AccountMetadata(accountId, ownerId, Currency.EUR);
+    }
+
+    @Test
+    public void storedProcedure_completed_returnsTransactionId() {
+        UUID transactionId = UUID.randomUUID();
+        returnProcedureResult("COMPLETED", transactionId);
+
+        assertEquals(transactionId, transferService.transfer(userId, request).getTransactionId());
+        verifyNoInteractions(bankAccountRepository, transferOutboxPublisher);
+    }
+
+    @Test
+    public void storedProcedure_sourceNotFound_throwsNotFound() {
+        returnProcedureResult("SOURCE_NOT_FOUND", null);
+
+        assertThrows(BankAccountNotFoundException.class, () -> transferService.transfer(userId, request));
+    }
+
+    @Test
+    public void storedProcedure_businessRejection_throwsWithJpaPathMessage() {
+        returnProcedureResult("INSUFFICIENT_FUNDS", null);
+
+        var ex = assertThrows(TransferBusinessException.class, () -> transferService.transfer(userId, request));
+        assertEquals("Insufficient funds", ex.getMessage());
+    }
+
+    private void returnProcedureResult(String resultCode, UUID transactionId) {
+        TransferProcedureResult result = mock(TransferProcedureResult.class);
+        when(result.getResultCode()).thenReturn(resultCode);
+        lenient().when(result.getTransactionId()).thenReturn(transactionId);
+        when(transactionRepository.executeTransferProcedure(userId, request.getFromAccountId(),
+                request.getToAccountId(), request.getAmount(), "banking.transfers")).thenReturn(result);
+    }
+
+    @Test
+    public void compareLockOrder_followsPostgresUuidOrdering() {
+        UUID low = UUID.fromString("7fffffff-ffff-ffff-ffff-ffffffffffff");
+        UUID high = UUID.fromString("80000000-0000-0000-0000-000000000000");
+
+        assertTrue(low.compareTo(high) > 0);
+        assertTrue(TransferService.compareLockOrder(low, high) < 0);
+        assertEquals(0, TransferService.compareLockOrder(low, low));
+    }
+}
@@ -1,7 +1,12 @@
 package banking.core.unit;
 
 import banking.core.dto.requests.TransferRequest;
+import banking.core.error.exception.TransferBusinessException;
 import banking.core.error.exception.ValidationException;
+import banking.core.model.entity.BankAccount;
+import banking.core.model.enums.AccountStatus;
+import banking.core.model.enums.Currency;
+import banking.core.repository.projection.AccountMetadata;
 import banking.core.service.validator.TransferValidator;
 import jakarta.validation.Validation;
 import jakarta.validation.Validator;
@@ -50,4 +55,64 @@ public class TransferValidatorTest {
 
         assertTrue(exception.getErrors().stream().anyMatch(s -> s.toLowerCase().contains("positive")));
     }
+
+    @Test
+    public void validateAccounts_ok() {
+        var userId = UUID.randomUUID();
+        var source = createAccount(userId, AccountStatus.ACTIVE, Currency.EUR);
+        var destination = createAccount(UUID.randomUUID(), AccountStatus.ACTIVE, Currency.EUR);
+
+        assertDoesNotThrow(() -> transferValidator.validateAccounts(userId, source, destination));
+    }
+
+    @Test
+    public void validateAccounts_foreignSource_throws() {
+        var source = createAccount(UUID.randomUUID(), AccountStatus.ACTIVE, Currency.EUR);
+        var destination = createAccount(UUID.randomUUID(), AccountStatus.ACTIVE, Currency.EUR);
+
+        var exception = assertThrows(TransferBusinessException.class,
+                () -> transferValidator.validateAccounts(UUID.randomUUID(), source, destination));
+        assertTrue(exception.getMessage().contains("does not belong"));
+    }
+
+    @Test
+    public void validateAccounts_currencyMismatch_throws() {
+        var userId = UUID.randomUUID();
+        var source = createAccount(userId, AccountStatus.ACTIVE, Currency.EUR);
+        var destination = createAccount(UUID.randomUUID(), AccountStatus.ACTIVE, Currency.USD);
+
+        var exception = assertThrows(TransferBusinessException.class,
+                () -> transferValidator.validateAccounts(userId, source, destination));
+        assertTrue(exception.getMessage().contains("same currency"));
+    }
+
+    @Test
+    public void validateImmutableAttributes_ignoresPossiblyStaleStatus() {
+        var userId = UUID.randomUUID();
+        var source = createAccount(userId, AccountStatus.BLOCKED, Currency.EUR);
+        var destination = createAccount(UUID.randomUUID(), AccountStatus.CLOSED, Currency.EUR);
+
+        assertDoesNotThrow(() -> transferValidator.validateImmutableAttributes(userId,
+                AccountMetadata.from(source), AccountMetadata.from(destination)));
+    }
+
+    @Test
+    public void validateImmutableAttributes_currencyMismatch_throws() {
+        var userId = UUID.randomUUID();
+        var source = createAccount(userId, AccountStatus.ACTIVE, Currency.EUR);
+        var destination = createAccount(UUID.randomUUID(), AccountStatus.ACTIVE, Currency.USD);
+
+        var exception = assertThrows(TransferBusinessException.class, () -> transferValidator
+                .validateImmutableAttributes(userId, AccountMetadata.from(source), AccountMetadata.from(destination)));
+        assertTrue(exception.getMessage().contains("same currency"));
+    }
+
+    private BankAccount createAccount(UUID userId, AccountStatus status, Currency currency) {
+        return BankAccount.builder()
+                .id(UUID.randomUUID())
+                .userId(userId)
+                .status(status)
+                .currency(currency)
+                .build();
+    }
 }
@@ -6,6 +6,7 @@ import banking.core.dto.responses.BankAccountResponse;
 import banking.core.model.enums.AccountStatus;
 import banking.core.model.enums.Currency;
 import banking.core.service.BankAccountService;
+import banking.core.service.idempotency.IdempotencyService;
 import banking.core.service.publisher.SystemErrorPublisher;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
@@ -13,6 +14,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 
 import org.springframework.context.annotation.Import;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.oauth2.jwt.JwtDecoder;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
@@ -21,10 +23,13 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.UUID;
 
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.when;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
@@ -44,6 +49,9 @@ public class BankAccountControllerWebTest {
     @MockitoBean
     BankAccountService bankAccountService;
 
+    @MockitoBean
+    IdempotencyService idempotencyService;
+
     @MockitoBean
     SystemErrorPublisher systemErrorPublisher;
 
@@ -63,7 +71,7 @@ public class BankAccountControllerWebTest {
         var body = new CreateBankAccountRequest(Currency.EUR);
 
         var response = new BankAccountResponse(accountId, userId, "ACC-123", new BigDecimal("0.00"),
-                Currency.EUR, AccountStatus.ACTIVE, LocalDateTime.now());
+                BigDecimal.ZERO, Currency.EUR, AccountStatus.ACTIVE, LocalDateTime.now());
 
         when(bankAccountService.createBankAccount(eq(userId), any(CreateBankAccountRequest.class)))
                 .thenReturn(response);
@@ -77,4 +85,37 @@ public class BankAccountControllerWebTest {
                 .andExpect(jsonPath("$.userId").value(userId.toString()))
                 .andExpect(jsonPath("$.currency").value("EUR"));
     }
+
+    @Test
+    public void actuator_customerToken_isForbidden() throws Exception {
+        mockMvc.perform(get("/actuator/outbox")
+                        .with(jwt().jwt(j -> j.subject(UUID.randomUUID().toString()))))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get("/actuator/metrics")
+                        .with(jwt().jwt(j -> j.subject(UUID.randomUUID().toString()))))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    public void actuator_opsToken_passesSecurity() throws Exception {
+        mockMvc.perform(get("/actuator/outbox")
+                        .with(jwt().authorities(new SimpleGrantedAuthority("SCOPE_banking.ops"))))
+                .andExpect(result -> assertNotEquals(403, result.getResponse().getStatus()));
+    }
+
+    @Test
+    public void updateBalanceStripes_customerToken_isForbidden() throws Exception {
+        UUID userId = UUID.randomUUID();
+
+        mockMvc.perform(patch("/ops/accounts/{id}/stripes", UUID.randomUUID())
+                        .with(jwt().jwt(j -> j.subject(userId.toString())))
+                        .contentType("application/json")
+                        .content("{\"stripes\": 8}"))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(patch("/accounts/{id}/stripes", UUID.randomUUID())
+                        .with(jwt().jwt(j -> j.subject(userId.toString())))
+                        .contentType("application/json")
+                        .content("{\"stripes\": 8}"))
+                .andExpect(result -> assertNotEquals(200, result.getResponse().getStatus()));
+    }
 }
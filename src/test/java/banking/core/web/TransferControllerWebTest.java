@@ -1,11 +1,23 @@
 package banking.core.web;
 
 import banking.core.controller.TransferController;
+import banking.core.dto.requests.BatchTransferRequest;
 import banking.core.dto.requests.TransferRequest;
+import banking.core.dto.responses.AsyncTransferResponse;
+import banking.core.dto.responses.BatchTransferItemResponse;
+import banking.core.dto.responses.BatchTransferResponse;
 import banking.core.dto.responses.TransferResponse;
+import banking.core.error.exception.TransferNotFoundException;
+import banking.core.model.enums.AsyncTransferStatus;
+import banking.core.model.enums.BatchTransferItemStatus;
+import banking.core.model.enums.BatchTransferMode;
+import banking.core.service.AsyncTransferService;
+import banking.core.service.BatchTransferService;
 import banking.core.service.TransferService;
+import banking.core.service.idempotency.IdempotencyService;
 import banking.core.service.publisher.SystemErrorPublisher;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
@@ -15,12 +27,16 @@ import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.math.BigDecimal;
+import java.util.List;
 import java.util.UUID;
+import java.util.function.Supplier;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
@@ -40,9 +56,26 @@ public class TransferControllerWebTest {
     @MockitoBean
     TransferService transferService;
 
+    @MockitoBean
+    BatchTransferService batchTransferService;
+
+    @MockitoBean
+    IdempotencyService idempotencyService;
+
+    @MockitoBean
+    AsyncTransferService asyncTransferService;
+
     @MockitoBean
     SystemErrorPublisher systemErrorPublisher;
 
+    @BeforeEach
+    void setUp() {
+        when(idempotencyService.execute(any(), any(), any(), any(), any()))
+                .thenAnswer(invocation -> invocation.<Supplier<TransferResponse>>getArgument(4).get());
+        when(idempotencyService.execute(any(), any(), any(), any(), any(Class.class), any()))
+                .thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(5).get());
+    }
+
     @Test
     public void transfer_requiresAuth() throws Exception {
         var request = new TransferRequest(UUID.randomUUID(), UUID.randomUUID(), new BigDecimal("10.00"));
@@ -81,4 +114,137 @@ public class TransferControllerWebTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.transactionId").value(txId.toString()));
     }
+
+    @Test
+    public void transferBatch_emptyTransfers_returns400() throws Exception {
+        UUID userId = UUID.randomUUID();
+
+        var request = new BatchTransferRequest(BatchTransferMode.BEST_EFFORT, List.of());
+
+        mockMvc.perform(post("/transfers/batch")
+                        .with(jwt().jwt(j -> j.subject(userId.toString())))
+                        .contentType("application/json")
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void transferBatch_ok_returnsItemResults() throws Exception {
+        UUID userId = UUID.randomUUID();
+        UUID txId = UUID.randomUUID();
+
+        var request = new BatchTransferRequest(BatchTransferMode.BEST_EFFORT, List.of(
+                new TransferRequest(UUID.randomUUID(), UUID.randomUUID(), new BigDecimal("10.00")),
+                new TransferRequest(UUID.randomUUID(), UUID.randomUUID(), new BigDecimal("20.00"))));
+
+        when(batchTransferService.transferBatch(eq(userId), any(BatchTransferRequest.class)))
+                .thenReturn(new BatchTransferResponse(BatchTransferMode.BEST_EFFORT, 1, 1, List.of(
+                        new BatchTransferItemResponse(0, BatchTransferItemStatus.COMPLETED, txId, null),
+                        new BatchTransferItemResponse(1, BatchTransferItemStatus.FAILED, null,
+                                "Insufficient funds"))));
+
+        mockMvc.perform(post("/transfers/batch")
+                        .with(jwt().jwt(j -> j.subject(userId.toString())))
+                        .contentType("application/json")
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.completed").value(1))
+                .andExpect(jsonPath("$.results[0].transactionId").value(txId.toString()))
+                .andExpect(jsonPath("$.results[1].error").value("Insufficient funds"));
+    }
+
+    @Test
+    public void transfer_forwardsIdempotencyKey() throws Exception {
+        UUID userId = UUID.randomUUID();
+
+        var request = new TransferRequest(UUID.randomUUID(), UUID.randomUUID(), new BigDecimal("10.00"));
+
+        when(transferService.transfer(eq(userId), any(TransferRequest.class)))
+                .thenReturn(new TransferResponse(UUID.randomUUID()));
+
+        mockMvc.perform(post("/transfers")
+                        .with(jwt().jwt(j -> j.subject(userId.toString())))
+                        .header("Idempotency-Key", "payroll-2026-10-17-42")
+                        .contentType("application/json")
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk());
+
+        verify(idempotencyService).execute(eq(userId), eq("payroll-2026-10-17-42"), eq("TRANSFER"),
+                eq(List.of(request.getFromAccountId(), request.getToAccountId(), request.getAmount())), any());
+    }
+
+    @Test
+    public void transferBatch_forwardsIdempotencyKey() throws Exception {
+        UUID userId = UUID.randomUUID();
+
+        var transfer = new TransferRequest(UUID.randomUUID(), UUID.randomUUID(), new BigDecimal("10.00"));
+        var request = new BatchTransferRequest(BatchTransferMode.ALL_OR_NOTHING, List.of(transfer));
+
+        when(batchTransferService.transferBatch(eq(userId), any(BatchTransferRequest.class)))
+                .thenReturn(new BatchTransferResponse(BatchTransferMode.ALL_OR_NOTHING, 1, 0, List.of()));
+
+        mockMvc.perform(post("/transfers/batch")
+                        .with(jwt().jwt(j -> j.subject(userId.toString())))
+                        .header("Idempotency-Key", "batch-42")
+                        .contentType("application/json")
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk());
+
+        verify(idempotencyService).execute(eq(userId), eq("batch-42"), eq("TRANSFER_BATCH"),
+                eq(List.of(BatchTransferMode.ALL_OR_NOTHING, transfer.getFromAccountId(), transfer.getToAccountId(),
+                        transfer.getAmount())), eq(BatchTransferResponse.class), any());
+    }
+
+    @Test
+    public void transferAsync_forwardsIdempotencyKey() throws Exception {
+        UUID userId = UUID.randomUUID();
+
+        var request = new TransferRequest(UUID.randomUUID(), UUID.randomUUID(), new BigDecimal("10.00"));
+
+        when(asyncTransferService.submit(eq(userId), any(TransferRequest.class)))
+                .thenReturn(new AsyncTransferResponse(UUID.randomUUID(), AsyncTransferStatus.PENDING, null, null,
+                        null, null));
+
+        mockMvc.perform(post("/transfers/async")
+                        .with(jwt().jwt(j -> j.subject(userId.toString())))
+                        .header("Idempotency-Key", "async-42")
+                        .contentType("application/json")
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isAccepted());
+
+        verify(idempotencyService).execute(eq(userId), eq("async-42"), eq("TRANSFER_ASYNC"),
+                eq(List.of(request.getFromAccountId(), request.getToAccountId(), request.getAmount())),
+                eq(AsyncTransferResponse.class), any());
+    }
+
+    @Test
+    public void transferAsync_ok_returns202() throws Exception {
+        UUID userId = UUID.randomUUID();
+        UUID transferId = UUID.randomUUID();
+
+        var request = new TransferRequest(UUID.randomUUID(), UUID.randomUUID(), new BigDecimal("10.00"));
+
+        when(asyncTransferService.submit(eq(userId), any(TransferRequest.class)))
+                .thenReturn(new AsyncTransferResponse(transferId, AsyncTransferStatus.PENDING, null, null, null, null));
+
+        mockMvc.perform(post("/transfers/async")
+                        .with(jwt().jwt(j -> j.subject(userId.toString())))
+                        .contentType("application/json")
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.transferId").value(transferId.toString()))
+                .andExpect(jsonPath("$.status").value("PENDING"));
+    }
+
+    @Test
+    public void getTransfer_unknown_returns404() throws Exception {
+        UUID userId = UUID.randomUUID();
+        UUID transferId = UUID.randomUUID();
+
+        when(asyncTransferService.getStatus(userId, transferId)).thenThrow(new TransferNotFoundException(transferId));
+
+        mockMvc.perform(get("/transfers/" + transferId)
+                        .with(jwt().jwt(j -> j.subject(userId.toString()))))
+                .andExpect(status().isNotFound());
+    }
 }